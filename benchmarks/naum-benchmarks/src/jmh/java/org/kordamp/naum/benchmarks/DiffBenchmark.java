@@ -0,0 +1,110 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.benchmarks;
+
+import org.kordamp.naum.core.diff.ArtifactDiffer;
+import org.kordamp.naum.core.diff.Diff;
+import org.kordamp.naum.core.model.ClassInfo;
+import org.kordamp.naum.core.scanner.ClassScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.kordamp.naum.core.diff.ClassDiffer.classDiffer;
+
+/**
+ * Diffs the largest JDK classes pairwise and the whole fixture set as an artifact
+ * against a simulated next release.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DiffBenchmark {
+    private static final int LARGE_CLASSES = 20;
+
+    @State(Scope.Benchmark)
+    public static class Parallelism {
+        @Param({"1", "4"})
+        public int parallelism;
+    }
+
+    private List<ClassInfo> previous;
+    private List<ClassInfo> next;
+    private final List<ClassInfo[]> largePairs = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<byte[]> classFiles = JdkFixtures.classFiles();
+        previous = parse(classFiles);
+        next = parse(JdkFixtures.nextRelease(classFiles));
+
+        Map<String, ClassInfo> nextByName = new HashMap<>();
+        next.forEach(c -> nextByName.put(c.getName(), c));
+        previous.stream()
+            .sorted(Comparator.comparingInt(DiffBenchmark::memberCount).reversed())
+            .filter(c -> !c.hasSameContent(nextByName.get(c.getName())))
+            .limit(LARGE_CLASSES)
+            .forEach(c -> largePairs.add(new ClassInfo[]{c, nextByName.get(c.getName())}));
+    }
+
+    @Benchmark
+    public void diffLargeClasses(Blackhole blackhole) {
+        for (ClassInfo[] pair : largePairs) {
+            blackhole.consume(classDiffer(pair[0], pair[1]).diff());
+        }
+    }
+
+    @Benchmark
+    public List<Diff> diffArtifact(Parallelism parallelism) {
+        return ArtifactDiffer.artifactDiffer()
+            .previous(previous)
+            .next(next)
+            .parallelism(parallelism.parallelism)
+            .build()
+            .diff();
+    }
+
+    private static List<ClassInfo> parse(List<byte[]> classFiles) {
+        List<ClassInfo> classes = new ArrayList<>();
+        for (byte[] bytes : classFiles) {
+            classes.addAll(ClassScanner.parse(bytes));
+        }
+        return classes;
+    }
+
+    private static int memberCount(ClassInfo classInfo) {
+        return classInfo.getFields().size() + classInfo.getConstructors().size() + classInfo.getMethods().size();
+    }
+}
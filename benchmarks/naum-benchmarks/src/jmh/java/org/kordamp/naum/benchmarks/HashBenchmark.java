@@ -0,0 +1,84 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.benchmarks;
+
+import org.kordamp.naum.core.model.ClassInfo;
+import org.kordamp.naum.core.model.ContentHash;
+import org.kordamp.naum.core.model.ContentHasher;
+import org.kordamp.naum.core.model.ContentHashers;
+import org.kordamp.naum.core.model.NamedInfo;
+import org.kordamp.naum.core.scanner.ClassScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes content hashes for every element of the parsed JDK class graphs. Hashes
+ * are cached by the model, so elements are hashed directly instead of through
+ * {@code getContentHash}.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HashBenchmark {
+    private List<ClassInfo> classes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        classes = new ArrayList<>();
+        for (byte[] bytes : JdkFixtures.classFiles()) {
+            classes.addAll(ClassScanner.parse(bytes));
+        }
+    }
+
+    @Benchmark
+    public void hashClassGraphs(Blackhole blackhole) {
+        ContentHasher hasher = ContentHashers.newHasher();
+        for (ClassInfo classInfo : classes) {
+            hashAll(hasher, classInfo.getFields(), blackhole);
+            hashAll(hasher, classInfo.getConstructors(), blackhole);
+            hashAll(hasher, classInfo.getMethods(), blackhole);
+            blackhole.consume(hash(hasher, classInfo));
+        }
+    }
+
+    private static void hashAll(ContentHasher hasher, List<? extends NamedInfo<?>> elements, Blackhole blackhole) {
+        for (NamedInfo<?> element : elements) {
+            blackhole.consume(hash(hasher, element));
+        }
+    }
+
+    private static ContentHash hash(ContentHasher hasher, NamedInfo<?> element) {
+        hasher.reset();
+        element.hashContent(hasher);
+        return hasher.hash();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.benchmarks;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark fixtures taken from the class files of the running JDK, so they are
+ * available offline. A second, modified, set of class files can be derived from
+ * them to simulate the next release of an artifact.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+final class JdkFixtures {
+    static final String[] PACKAGES = {
+        "java/io",
+        "java/lang",
+        "java/nio",
+        "java/time",
+        "java/util",
+        "java/util/concurrent"
+    };
+
+    private JdkFixtures() {
+        // noop
+    }
+
+    static List<byte[]> classFiles() {
+        FileSystem jrt = FileSystems.getFileSystem(URI.create("jrt:/"));
+        List<byte[]> classes = new ArrayList<>();
+        for (String pkg : PACKAGES) {
+            Path directory = jrt.getPath("modules", "java.base", pkg);
+            try (Stream<Path> stream = Files.list(directory)) {
+                for (Path file : stream.filter(f -> f.toString().endsWith(".class"))
+                    .filter(f -> !f.getFileName().toString().equals("package-info.class"))
+                    .sorted()
+                    .collect(Collectors.toList())) {
+                    classes.add(Files.readAllBytes(file));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Simulates an API change: drops every 7th method and toggles {@code final} on
+     * every 5th field of every 3rd class. Other classes are returned unchanged.
+     */
+    static List<byte[]> nextRelease(List<byte[]> classFiles) {
+        List<byte[]> next = new ArrayList<>(classFiles.size());
+        for (int i = 0; i < classFiles.size(); i++) {
+            next.add(i % 3 == 0 ? mutate(classFiles.get(i)) : classFiles.get(i));
+        }
+        return next;
+    }
+
+    private static byte[] mutate(byte[] bytes) {
+        ClassReader reader = new ClassReader(bytes);
+        ClassWriter writer = new ClassWriter(reader, 0);
+        reader.accept(new ClassVisitor(Opcodes.ASM9, writer) {
+            private int methods;
+            private int fields;
+
+            @Override
+            public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+                if (++fields % 5 == 0) {
+                    access ^= Opcodes.ACC_FINAL;
+                }
+                return super.visitField(access, name, descriptor, signature, value);
+            }
+
+            @Override
+            public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                if (!"<init>".equals(name) && ++methods % 7 == 0) {
+                    return null;
+                }
+                return super.visitMethod(access, name, descriptor, signature, exceptions);
+            }
+        }, 0);
+        return writer.toByteArray();
+    }
+}
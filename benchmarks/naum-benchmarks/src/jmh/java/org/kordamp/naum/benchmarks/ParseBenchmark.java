@@ -0,0 +1,113 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.benchmarks;
+
+import org.kordamp.naum.core.model.ClassInfo;
+import org.kordamp.naum.core.processor.ApiFingerprint;
+import org.kordamp.naum.core.processor.ScanProfile;
+import org.kordamp.naum.core.scanner.ClassScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+/**
+ * Parses and fingerprints JDK class files one by one and scans them as a JAR.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParseBenchmark {
+    private List<byte[]> classFiles;
+    private Path jar;
+
+    @State(Scope.Benchmark)
+    public static class Scanner {
+        @Param({"1", "4"})
+        public int parallelism;
+
+        @Param({"EVERYTHING", "PUBLIC"})
+        public ScanProfile profile;
+
+        private ClassScanner scanner;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            scanner = ClassScanner.classScanner()
+                .parallelism(parallelism)
+                .profile(profile)
+                .build();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        classFiles = JdkFixtures.classFiles();
+        jar = Files.createTempFile("naum-benchmark", ".jar");
+        try (OutputStream out = Files.newOutputStream(jar); JarOutputStream jos = new JarOutputStream(out)) {
+            for (int i = 0; i < classFiles.size(); i++) {
+                jos.putNextEntry(new ZipEntry("fixture/C" + i + ".class"));
+                jos.write(classFiles.get(i));
+                jos.closeEntry();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(jar);
+    }
+
+    @Benchmark
+    public void parseClassFiles(Blackhole blackhole) {
+        for (byte[] bytes : classFiles) {
+            blackhole.consume(ClassScanner.parse(bytes));
+        }
+    }
+
+    @Benchmark
+    public void fingerprintClassFiles(Blackhole blackhole) {
+        for (byte[] bytes : classFiles) {
+            blackhole.consume(ApiFingerprint.of(bytes));
+        }
+    }
+
+    @Benchmark
+    public List<ClassInfo> scanJar(Scanner scanner) {
+        return scanner.scanner.scan(jar);
+    }
+}
@@ -24,7 +24,10 @@ module org.kordamp.naum.core {
     
     exports org.kordamp.naum.core;
     exports org.kordamp.naum.util;
+    exports org.kordamp.naum.core.cache;
     exports org.kordamp.naum.core.diff;
     exports org.kordamp.naum.core.model;
     exports org.kordamp.naum.core.processor;
+    exports org.kordamp.naum.core.scanner;
+    exports org.kordamp.naum.core.snapshot;
 }
\ No newline at end of file
@@ -0,0 +1,295 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.cache;
+
+import org.kordamp.naum.core.NaumException;
+import org.kordamp.naum.core.model.ClassInfo;
+import org.kordamp.naum.core.model.ContentHash;
+import org.kordamp.naum.core.model.ContentHasher;
+import org.kordamp.naum.core.model.ContentHashers;
+import org.kordamp.naum.core.processor.ScanProfile;
+import org.kordamp.naum.core.snapshot.Snapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Content addressed cache of parsed classes stored in a local directory. Entries are
+ * keyed either by the hash of raw class bytes or by the path, size and modification
+ * time of a whole archive, and are stored in the snapshot format.
+ * <p>
+ * The directory is bounded in size. Reading an entry refreshes its modification time,
+ * once the bound is exceeded the least recently used entries are evicted until the
+ * cache drops below 90% of its bound.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+public final class ClassInfoCache {
+    private static final String KEY_VERSION = "naum-cache-2";
+    private static final String EXTENSION = ".snapshot";
+    private static final long DEFAULT_MAX_SIZE = 256L * 1024 * 1024;
+
+    private final Path directory;
+    private final long maxSize;
+    private final AtomicLong size;
+    private final Object evictionLock = new Object();
+
+    private ClassInfoCache(Path directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.size = new AtomicLong(computeSize());
+    }
+
+    /**
+     * Key for a single class file, derived from its raw bytes.
+     */
+    public ContentHash keyOf(byte[] bytes, int offset, int length) {
+        return keyOf(ScanProfile.EVERYTHING, bytes, offset, length);
+    }
+
+    /**
+     * Key for a single class file parsed with the given profile, derived from its raw bytes.
+     */
+    public ContentHash keyOf(ScanProfile profile, byte[] bytes, int offset, int length) {
+        return salted('B', profile)
+            .putBytes(bytes, offset, length)
+            .hash();
+    }
+
+    /**
+     * Key for a whole archive, derived from its absolute path, size and modification time.
+     */
+    public ContentHash keyOf(Path archive) {
+        return keyOf(ScanProfile.EVERYTHING, archive);
+    }
+
+    /**
+     * Key for a whole archive parsed with the given profile, derived from its absolute path,
+     * size and modification time.
+     */
+    public ContentHash keyOf(ScanProfile profile, Path archive) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(archive, BasicFileAttributes.class);
+            return salted('A', profile)
+                .putString(archive.toAbsolutePath().normalize().toString())
+                .putLong(attributes.size())
+                .putLong(attributes.lastModifiedTime().toMillis())
+                .hash();
+        } catch (IOException e) {
+            throw new NaumException("Unexpected error reading attributes of " + archive, e);
+        }
+    }
+
+    /**
+     * @return the cached classes or {@code null} if there is no entry for the given key.
+     */
+    public List<ClassInfo> get(ContentHash key) {
+        Path file = fileOf(key);
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try (Snapshot snapshot = Snapshot.open(file)) {
+            List<ClassInfo> classes = new ArrayList<>(snapshot.getClasses());
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return classes;
+        } catch (NoSuchFileException e) {
+            // evicted concurrently
+            return null;
+        } catch (IOException | RuntimeException e) {
+            // unreadable entries are dropped and treated as misses
+            delete(file);
+            return null;
+        }
+    }
+
+    public void put(ContentHash key, List<ClassInfo> classes) {
+        Path file = fileOf(key);
+        try {
+            long previous = Files.exists(file) ? Files.size(file) : 0L;
+            Snapshot.write(file, classes);
+            if (size.addAndGet(Files.size(file) - previous) > maxSize) {
+                evict();
+            }
+        } catch (IOException | NaumException e) {
+            // caching is best effort, the caller already has the parsed classes
+        }
+    }
+
+    public void clear() {
+        synchronized (evictionLock) {
+            for (Path file : entries()) {
+                delete(file);
+            }
+            size.set(0L);
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public long getSize() {
+        return size.get();
+    }
+
+    private ContentHasher salted(char kind, ScanProfile profile) {
+        ContentHasher hasher = ContentHashers.newHasher();
+        return hasher.putString(KEY_VERSION)
+            .putString(hasher.getAlgorithm())
+            .putByte((byte) kind)
+            .putString(profile.name());
+    }
+
+    private Path fileOf(ContentHash key) {
+        String name = key.toString();
+        return directory.resolve(name.substring(0, 2)).resolve(name + EXTENSION);
+    }
+
+    private void evict() {
+        synchronized (evictionLock) {
+            if (size.get() <= maxSize) {
+                return;
+            }
+
+            List<Entry> entries = new ArrayList<>();
+            long total = 0L;
+            for (Path file : entries()) {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    entries.add(new Entry(file, attributes.size(), attributes.lastModifiedTime().toMillis()));
+                    total += attributes.size();
+                } catch (IOException ignored) {
+                    // gone already
+                }
+            }
+            entries.sort(Comparator.comparingLong(e -> e.lastModified));
+
+            long lowWatermark = maxSize / 10 * 9;
+            for (Entry entry : entries) {
+                if (total <= lowWatermark) {
+                    break;
+                }
+                if (delete(entry.file)) {
+                    total -= entry.size;
+                }
+            }
+            size.set(total);
+        }
+    }
+
+    private long computeSize() {
+        long total = 0L;
+        for (Path file : entries()) {
+            try {
+                total += Files.size(file);
+            } catch (IOException ignored) {
+                // gone already
+            }
+        }
+        return total;
+    }
+
+    private List<Path> entries() {
+        if (!Files.isDirectory(directory)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> stream = Files.walk(directory, 2)) {
+            return stream.filter(Files::isRegularFile)
+                .filter(file -> file.getFileName().toString().endsWith(EXTENSION))
+                .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new NaumException("Unexpected error reading " + directory, e);
+        }
+    }
+
+    private static boolean delete(Path file) {
+        try {
+            return Files.deleteIfExists(file);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static final class Entry {
+        private final Path file;
+        private final long size;
+        private final long lastModified;
+
+        private Entry(Path file, long size, long lastModified) {
+            this.file = file;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+
+    public static class ClassInfoCacheBuilder {
+        private Path directory;
+        private long maxSize = DEFAULT_MAX_SIZE;
+
+        public ClassInfoCache.ClassInfoCacheBuilder directory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        public ClassInfoCache.ClassInfoCacheBuilder maxSize(long maxSize) {
+            if (maxSize < 1) {
+                throw new IllegalArgumentException("maxSize must be greater than 0");
+            }
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        public ClassInfoCache build() {
+            requireNonNull(directory, "Argument 'directory' must not be null");
+            return new ClassInfoCache(this.directory, this.maxSize);
+        }
+
+        @Override
+        public String toString() {
+            return "ClassInfoCache.ClassInfoCacheBuilder(directory=" + this.directory + ", maxSize=" + this.maxSize + ")";
+        }
+    }
+
+    public static ClassInfoCache.ClassInfoCacheBuilder classInfoCache() {
+        return new ClassInfoCache.ClassInfoCacheBuilder();
+    }
+
+    @Override
+    public String toString() {
+        return "ClassInfoCache(directory=" + this.directory + ", maxSize=" + this.maxSize + ")";
+    }
+}
@@ -20,7 +20,6 @@ package org.kordamp.naum.core.diff;
 import org.kordamp.naum.core.model.AnnotatedInfo;
 import org.kordamp.naum.core.model.AnnotationInfo;
 
-import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
@@ -30,11 +29,11 @@ import java.util.Set;
  * @since 0.1.0
  */
 public abstract class AbstractDiffer<T extends AnnotatedInfo> implements Differ<T> {
-    protected void checkAnnotations(Collection<Diff> list, String keyPrefix) {
-        checkAnnotations(getPrevious(), getNext(), list, keyPrefix);
+    protected void checkAnnotations(DiffListener listener, String keyPrefix) {
+        checkAnnotations(getPrevious(), getNext(), listener, keyPrefix);
     }
 
-    protected void checkAnnotations(T previous, T next, Collection<Diff> list, String keyPrefix) {
+    protected void checkAnnotations(T previous, T next, DiffListener listener, String keyPrefix) {
         List<AnnotationInfo> p = previous.getAnnotations();
         List<AnnotationInfo> n = next.getAnnotations();
 
@@ -45,25 +44,29 @@ public abstract class AbstractDiffer<T extends AnnotatedInfo> implements Differ<
         added.removeAll(p);
 
         for (AnnotationInfo a : removed) {
-            list.add(Diff.diff()
-                .severity(Diff.Severity.ERROR)
-                .type(Diff.Type.REMOVED)
-                .messageKey(keyPrefix + ".annotation.removed")
-                .messageArg(getElementName())
-                .messageArg("@" + a.getName())
-                .build()
-            );
+            if (listener.onChange(Diff.Severity.ERROR)) {
+                listener.onDiff(Diff.diff()
+                    .severity(Diff.Severity.ERROR)
+                    .type(Diff.Type.REMOVED)
+                    .messageKey(keyPrefix + ".annotation.removed")
+                    .messageArg(getElementName())
+                    .messageArg("@" + a.getName())
+                    .build()
+                );
+            }
         }
 
         for (AnnotationInfo a : added) {
-            list.add(Diff.diff()
-                .severity(Diff.Severity.ERROR)
-                .type(Diff.Type.ADDED)
-                .messageKey(keyPrefix + ".annotation.added")
-                .messageArg(getElementName())
-                .messageArg("@" + a.getName())
-                .build()
-            );
+            if (listener.onChange(Diff.Severity.ERROR)) {
+                listener.onDiff(Diff.diff()
+                    .severity(Diff.Severity.ERROR)
+                    .type(Diff.Type.ADDED)
+                    .messageKey(keyPrefix + ".annotation.added")
+                    .messageArg(getElementName())
+                    .messageArg("@" + a.getName())
+                    .build()
+                );
+            }
         }
     }
 }
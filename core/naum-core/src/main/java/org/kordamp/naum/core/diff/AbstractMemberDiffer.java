@@ -19,8 +19,6 @@ package org.kordamp.naum.core.diff;
 
 import org.kordamp.naum.core.model.MemberInfo;
 
-import java.util.Collection;
-
 import static org.kordamp.naum.core.model.Modifiers.modifiersAsString;
 
 /**
@@ -28,18 +26,22 @@ import static org.kordamp.naum.core.model.Modifiers.modifiersAsString;
  * @since 0.1.0
  */
 public abstract class AbstractMemberDiffer<T extends MemberInfo> extends AbstractDiffer<T> {
-    protected void checkModifiers(Collection<Diff> list, String keyPrefix) {
-        checkModifiers(getPrevious(), getNext(), list, keyPrefix);
+    protected void checkModifiers(DiffListener listener, String keyPrefix) {
+        checkModifiers(getPrevious(), getNext(), listener, keyPrefix);
+    }
+
+    protected <M extends MemberInfo> void checkModifiers(M previous, M next, DiffListener listener, String keyPrefix) {
+        checkModifiers(getElementName(), previous, next, listener, keyPrefix);
     }
 
-    protected <M extends MemberInfo> void checkModifiers(M previous, M next, Collection<Diff> list, String keyPrefix) {
-        if (getPrevious().getModifiers() != getNext().getModifiers()) {
-            list.add(
+    protected <M extends MemberInfo> void checkModifiers(String elementName, M previous, M next, DiffListener listener, String keyPrefix) {
+        if (previous.getModifiers() != next.getModifiers() && listener.onChange(Diff.Severity.ERROR)) {
+            listener.onDiff(
                 Diff.diff()
                     .severity(Diff.Severity.ERROR)
                     .type(Diff.Type.MODIFIED)
                     .messageKey(keyPrefix + ".modifiers.modified")
-                    .messageArg(getElementName())
+                    .messageArg(elementName)
                     .messageArg(modifiersAsString(previous.getModifiers()))
                     .messageArg(previous.getModifiers())
                     .messageArg(modifiersAsString(next.getModifiers()))
@@ -20,11 +20,8 @@ package org.kordamp.naum.core.diff;
 import org.kordamp.naum.core.model.AnnotationInfo;
 import org.kordamp.naum.core.model.AnnotationValue;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.LinkedHashSet;
-import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
@@ -45,20 +42,16 @@ public class AnnotationDiffer implements Differ<AnnotationInfo> {
     private final AnnotationInfo next;
 
     @Override
-    public Collection<Diff> diff() {
-        if (previous.getContentHash().equals(next.getContentHash())) {
-            return Collections.emptyList();
+    public void diff(DiffListener listener) {
+        if (previous.hasSameContent(next)) {
+            return;
         }
 
-        List<Diff> list = new ArrayList<>();
-
         // 1. values
-        checkValues(list);
-
-        return list;
+        checkValues(listener);
     }
 
-    private void checkValues(Collection<Diff> list) {
+    private void checkValues(DiffListener listener) {
         Set<String> prevKeySet = previous.getValues().keySet();
         Set<String> nextKeySet = next.getValues().keySet();
 
@@ -72,32 +65,36 @@ public class AnnotationDiffer implements Differ<AnnotationInfo> {
         sameKeys.retainAll(prevKeySet);
 
         for (String key : removedKeys) {
-            list.add(Diff.diff()
-                .severity(Diff.Severity.ERROR)
-                .type(Diff.Type.REMOVED)
-                .messageKey(KEY_ANNOTATION_VALUE_REMOVED)
-                .messageArg(getElementName())
-                .messageArg(key)
-                .build()
-            );
+            if (listener.onChange(Diff.Severity.ERROR)) {
+                listener.onDiff(Diff.diff()
+                    .severity(Diff.Severity.ERROR)
+                    .type(Diff.Type.REMOVED)
+                    .messageKey(KEY_ANNOTATION_VALUE_REMOVED)
+                    .messageArg(getElementName())
+                    .messageArg(key)
+                    .build()
+                );
+            }
         }
 
         for (String key : addedKeys) {
-            list.add(Diff.diff()
-                .severity(Diff.Severity.ERROR)
-                .type(Diff.Type.ADDED)
-                .messageKey(KEY_ANNOTATION_VALUE_ADDED)
-                .messageArg(getElementName())
-                .messageArg(key)
-                .build()
-            );
+            if (listener.onChange(Diff.Severity.ERROR)) {
+                listener.onDiff(Diff.diff()
+                    .severity(Diff.Severity.ERROR)
+                    .type(Diff.Type.ADDED)
+                    .messageKey(KEY_ANNOTATION_VALUE_ADDED)
+                    .messageArg(getElementName())
+                    .messageArg(key)
+                    .build()
+                );
+            }
         }
 
         for (String key : sameKeys) {
             AnnotationValue prevValue = previous.getValues().get(key);
             AnnotationValue nextValue = next.getValues().get(key);
-            if (!Objects.equals(prevValue, nextValue)) {
-                list.add(
+            if (!Objects.equals(prevValue, nextValue) && listener.onChange(Diff.Severity.ERROR)) {
+                listener.onDiff(
                     Diff.diff()
                         .severity(Diff.Severity.ERROR)
                         .type(Diff.Type.MODIFIED)
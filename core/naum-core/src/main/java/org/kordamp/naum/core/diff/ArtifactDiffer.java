@@ -0,0 +1,315 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.diff;
+
+import org.kordamp.naum.core.model.ClassIndex;
+import org.kordamp.naum.core.model.ClassInfo;
+import org.kordamp.naum.core.model.ContentHash;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static java.util.Objects.requireNonNull;
+import static org.kordamp.naum.core.diff.ClassDiffer.classDiffer;
+
+/**
+ * Diffs two whole artifacts, given as the classes each one contains. Classes are
+ * matched by name; classes with the same content hash are skipped without being
+ * materialized, the remaining pairs are handed to {@code ClassDiffer} in parallel. Results are reported in
+ * class name order regardless of parallelism.
+ * <p>
+ * Classes whose content hashes differ are compared by API fingerprint when both indexes
+ * provide one, on the worker diffing the class. Diffing two {@code RawClassIndex} instances
+ * compares class-file bytes first, then fingerprints; classes are only parsed when their
+ * API differs.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+public class ArtifactDiffer {
+    public static final String KEY_ARTIFACT_CLASS_REMOVED = "artifact.class.removed";
+    public static final String KEY_ARTIFACT_CLASS_ADDED = "artifact.class.added";
+
+    private static final int SPLIT_THRESHOLD = 8;
+
+    private final ClassIndex previous;
+    private final ClassIndex next;
+    private final int parallelism;
+
+    private ArtifactDiffer(ClassIndex previous, ClassIndex next, int parallelism) {
+        this.previous = previous;
+        this.next = next;
+        this.parallelism = parallelism;
+    }
+
+    public List<Diff> diff() {
+        List<Diff> list = new ArrayList<>();
+        diff(DiffListener.collecting(list));
+        return list;
+    }
+
+    /**
+     * Reports diffs to the given listener in class name order. Changed classes are
+     * diffed in windows, only the results of the current window are held in memory.
+     */
+    public void diff(DiffListener listener) {
+        List<String> p = previous.getClassNames();
+        List<String> n = next.getClassNames();
+        boolean comparableHashes = previous.getHashAlgorithm().equals(next.getHashAlgorithm());
+        int window = parallelism * SPLIT_THRESHOLD * 4;
+
+        // both sides are name ordered, merge them
+        List<Collection<Diff>> results = new ArrayList<>();
+        List<String> changed = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        ForkJoinPool pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+        try {
+            int i = 0;
+            int j = 0;
+            while ((i < p.size() || j < n.size()) && !listener.isDone()) {
+                int c = i == p.size() ? 1 : j == n.size() ? -1 : p.get(i).compareTo(n.get(j));
+                if (c < 0) {
+                    String name = p.get(i++);
+                    if (listener.onChange(Diff.Severity.ERROR)) {
+                        emit(classDiff(Diff.Type.REMOVED, KEY_ARTIFACT_CLASS_REMOVED, name), results, listener);
+                    }
+                } else if (c > 0) {
+                    String name = n.get(j++);
+                    if (listener.onChange(Diff.Severity.ERROR)) {
+                        emit(classDiff(Diff.Type.ADDED, KEY_ARTIFACT_CLASS_ADDED, name), results, listener);
+                    }
+                } else {
+                    String name = p.get(i++);
+                    j++;
+                    if (hasSameContent(name, comparableHashes)) {
+                        continue;
+                    }
+                    if (parallelism == 1) {
+                        if (!hasSameApi(name)) {
+                            classDiffer(previous.getClassInfo(name), next.getClassInfo(name)).diff(listener);
+                        }
+                        continue;
+                    }
+                    changed.add(name);
+                    slots.add(results.size());
+                    results.add(Collections.emptyList());
+                    if (changed.size() == window) {
+                        flush(pool, changed, slots, results, listener);
+                    }
+                }
+            }
+            flush(pool, changed, slots, results, listener);
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static void emit(Diff diff, List<Collection<Diff>> results, DiffListener listener) {
+        if (results.isEmpty()) {
+            listener.onDiff(diff);
+        } else {
+            // keep name order behind the pending window
+            results.add(Collections.singletonList(diff));
+        }
+    }
+
+    private void flush(ForkJoinPool pool, List<String> changed, List<Integer> slots, List<Collection<Diff>> results, DiffListener listener) {
+        if (listener.isDone()) {
+            return;
+        }
+        if (pool != null && changed.size() > 1) {
+            pool.invoke(new ClassDiffTask(this, listener, changed, slots, results, 0, changed.size()));
+        } else {
+            new ClassDiffTask(this, listener, changed, slots, results, 0, changed.size()).diffRange();
+        }
+
+        for (Collection<Diff> diffs : results) {
+            for (Diff diff : diffs) {
+                if (listener.isDone()) {
+                    return;
+                }
+                listener.onDiff(diff);
+            }
+        }
+        changed.clear();
+        slots.clear();
+        results.clear();
+    }
+
+    private boolean hasSameContent(String className, boolean comparableHashes) {
+        if (comparableHashes) {
+            return previous.getContentHash(className).equals(next.getContentHash(className));
+        }
+        return previous.getClassInfo(className).hasSameContent(next.getClassInfo(className));
+    }
+
+    private boolean hasSameApi(String className) {
+        ContentHash fingerprint = previous.getApiFingerprint(className);
+        return fingerprint != null && fingerprint.equals(next.getApiFingerprint(className));
+    }
+
+    /**
+     * Diffs a single class on a worker thread. Diffs are buffered for in-order delivery,
+     * everything else is answered by the given listener.
+     */
+    private Collection<Diff> diffClass(String className, DiffListener listener) {
+        if (hasSameApi(className)) {
+            return Collections.emptyList();
+        }
+
+        List<Diff> diffs = new ArrayList<>();
+        classDiffer(previous.getClassInfo(className), next.getClassInfo(className)).diff(new DiffListener() {
+            @Override
+            public void onDiff(Diff diff) {
+                diffs.add(diff);
+            }
+
+            @Override
+            public boolean accepts(Diff.Severity severity) {
+                return listener.accepts(severity);
+            }
+
+            @Override
+            public boolean onChange(Diff.Severity severity) {
+                return listener.onChange(severity);
+            }
+
+            @Override
+            public boolean isDone() {
+                return listener.isDone();
+            }
+        });
+        return diffs;
+    }
+
+    static Diff classDiff(Diff.Type type, String key, String name) {
+        return Diff.diff()
+            .severity(Diff.Severity.ERROR)
+            .type(type)
+            .messageKey(key)
+            .messageArg(name)
+            .build();
+    }
+
+    private static class ClassDiffTask extends RecursiveAction {
+        private final ArtifactDiffer differ;
+        private final DiffListener listener;
+        private final List<String> classNames;
+        private final List<Integer> slots;
+        private final List<Collection<Diff>> results;
+        private final int from;
+        private final int to;
+
+        private ClassDiffTask(ArtifactDiffer differ, DiffListener listener, List<String> classNames, List<Integer> slots, List<Collection<Diff>> results, int from, int to) {
+            this.differ = differ;
+            this.listener = listener;
+            this.classNames = classNames;
+            this.slots = slots;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                diffRange();
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new ClassDiffTask(differ, listener, classNames, slots, results, from, middle),
+                new ClassDiffTask(differ, listener, classNames, slots, results, middle, to));
+        }
+
+        private void diffRange() {
+            for (int i = from; i < to && !listener.isDone(); i++) {
+                // each slot is written by exactly one task
+                results.set(slots.get(i), differ.diffClass(classNames.get(i), listener));
+            }
+        }
+    }
+
+    public ClassIndex getPrevious() {
+        return this.previous;
+    }
+
+    public ClassIndex getNext() {
+        return this.next;
+    }
+
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    public static class ArtifactDifferBuilder {
+        private ClassIndex previous = ClassIndex.of(Collections.emptyList());
+        private ClassIndex next = ClassIndex.of(Collections.emptyList());
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        public ArtifactDiffer.ArtifactDifferBuilder previous(Collection<ClassInfo> previous) {
+            return previous(ClassIndex.of(requireNonNull(previous, "Argument 'previous' must not be null")));
+        }
+
+        public ArtifactDiffer.ArtifactDifferBuilder previous(ClassIndex previous) {
+            this.previous = requireNonNull(previous, "Argument 'previous' must not be null");
+            return this;
+        }
+
+        public ArtifactDiffer.ArtifactDifferBuilder next(Collection<ClassInfo> next) {
+            return next(ClassIndex.of(requireNonNull(next, "Argument 'next' must not be null")));
+        }
+
+        public ArtifactDiffer.ArtifactDifferBuilder next(ClassIndex next) {
+            this.next = requireNonNull(next, "Argument 'next' must not be null");
+            return this;
+        }
+
+        public ArtifactDiffer.ArtifactDifferBuilder parallelism(int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("parallelism must be greater than 0");
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        public ArtifactDiffer build() {
+            return new ArtifactDiffer(this.previous, this.next, this.parallelism);
+        }
+
+        @Override
+        public String toString() {
+            return "ArtifactDiffer.ArtifactDifferBuilder(previous=" + this.previous.getClassNames().size() + " classes, next=" + this.next.getClassNames().size() + " classes, parallelism=" + this.parallelism + ")";
+        }
+    }
+
+    public static ArtifactDiffer.ArtifactDifferBuilder artifactDiffer() {
+        return new ArtifactDiffer.ArtifactDifferBuilder();
+    }
+
+    @Override
+    public String toString() {
+        return "ArtifactDiffer(previous=" + this.previous.getClassNames().size() + " classes, next=" + this.next.getClassNames().size() + " classes, parallelism=" + this.parallelism + ")";
+    }
+}
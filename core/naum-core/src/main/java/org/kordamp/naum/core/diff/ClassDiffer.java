@@ -18,20 +18,25 @@
 package org.kordamp.naum.core.diff;
 
 import org.kordamp.naum.core.model.ClassInfo;
+import org.kordamp.naum.core.model.ConstructorInfo;
+import org.kordamp.naum.core.model.ContentHash;
+import org.kordamp.naum.core.model.FieldInfo;
 import org.kordamp.naum.core.model.InnerClassInfo;
+import org.kordamp.naum.core.model.MemberInfo;
+import org.kordamp.naum.core.model.MethodInfo;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import static java.util.Arrays.asList;
-import static java.util.function.Function.identity;
-import static java.util.stream.Collectors.toMap;
+import static org.kordamp.naum.core.diff.SetDifference.setDifference;
 
 /**
  * @author Andres Almiray
@@ -44,57 +49,81 @@ public class ClassDiffer extends AbstractMemberDiffer<ClassInfo> {
     public static final String KEY_CLASS_INTERFACE_ADDED = "class.interface.added";
     public static final String KEY_CLASS_INNERCLASS_REMOVED = "class.innerclass.removed";
     public static final String KEY_CLASS_INNERCLASS_ADDED = "class.innerclass.added";
+    public static final String KEY_INNERCLASS_MODIFIERS_MODIFIED = "innerclass.modifiers.modified";
     public static final String KEY_CLASS_MODIFIERS_MODIFIED = "class.modifiers.modified";
     public static final String KEY_CLASS_TYPE_MODIFIED = "class.type.modified";
     public static final String KEY_CLASS_ANNOTATION_REMOVED = "class.annotation.removed";
     public static final String KEY_CLASS_ANNOTATION_ADDED = "class.annotation.added";
+    public static final String KEY_CLASS_CONSTRUCTOR_REMOVED = "class.constructor.removed";
+    public static final String KEY_CLASS_CONSTRUCTOR_ADDED = "class.constructor.added";
+    public static final String KEY_CLASS_FIELD_REMOVED = "class.field.removed";
+    public static final String KEY_CLASS_FIELD_ADDED = "class.field.added";
+    public static final String KEY_CLASS_METHOD_REMOVED = "class.method.removed";
+    public static final String KEY_CLASS_METHOD_ADDED = "class.method.added";
 
     private final ClassInfo previous;
     private final ClassInfo next;
 
     @Override
-    public Collection<Diff> diff() {
-        if (previous.getContentHash().equals(next.getContentHash())) {
-            return Collections.emptyList();
+    public void diff(DiffListener listener) {
+        if (previous.hasSameContent(next)) {
+            return;
         }
 
-        List<Diff> list = new ArrayList<>();
-
         // 0. type => class | interface | enum | annotation
-        checkType(list);
+        checkType(listener);
 
         // 1. version
-        checkVersion(list);
+        checkVersion(listener);
 
         // 2. modifiers
-        checkModifiers(list, "class");
+        checkModifiers(listener, "class");
 
         // 3. superclass
-        checkSuperclass(list);
+        checkSuperclass(listener);
 
         // 4. interfaces
-        checkInterfaces(list);
+        checkInterfaces(listener);
 
         // 5. type parameters
 
         // 6. annotations
-        checkAnnotations(list, "class");
+        checkAnnotations(listener, "class");
+        if (listener.isDone()) {
+            return;
+        }
 
         // 7. constructors
+        checkMembers(listener, previous.getConstructors(), next.getConstructors(),
+            this::constructorSignature,
+            (p, n) -> ConstructorDiffer.constructorDiffer(memberName(p), p, n), "constructor");
+        if (listener.isDone()) {
+            return;
+        }
 
         // 8. fields
+        checkMembers(listener, previous.getFields(), next.getFields(),
+            FieldInfo::getName,
+            (p, n) -> FieldDiffer.fieldDiffer(memberName(p), p, n), "field");
+        if (listener.isDone()) {
+            return;
+        }
 
         // 9. methods
+        checkMembers(listener, previous.getMethods(), next.getMethods(),
+            this::methodSignature,
+            (p, n) -> MethodDiffer.methodDiffer(memberName(p), p, n), "method");
+        if (listener.isDone()) {
+            return;
+        }
 
         // 10. inner classes
-        checkInnerClasses(list);
-
-        return list;
+        checkInnerClasses(listener);
     }
 
-    private void checkType(Collection<Diff> list) {
-        if (previous.getType() != next.getType()) {
-            list.add(
+    private void checkType(DiffListener listener) {
+        if (previous.getType() != next.getType() && listener.onChange(Diff.Severity.ERROR)) {
+            listener.onDiff(
                 Diff.diff()
                     .severity(Diff.Severity.ERROR)
                     .type(Diff.Type.MODIFIED)
@@ -106,9 +135,12 @@ public class ClassDiffer extends AbstractMemberDiffer<ClassInfo> {
         }
     }
 
-    private void checkVersion(Collection<Diff> list) {
-        if (previous.getVersion() != next.getVersion()) {
-            list.add(
+    private void checkVersion(DiffListener listener) {
+        // the only check below ERROR, skipped entirely when not accepted
+        if (listener.accepts(Diff.Severity.WARNING) &&
+            previous.getVersion() != next.getVersion() &&
+            listener.onChange(Diff.Severity.WARNING)) {
+            listener.onDiff(
                 Diff.diff()
                     .severity(Diff.Severity.WARNING)
                     .type(Diff.Type.MODIFIED)
@@ -120,9 +152,9 @@ public class ClassDiffer extends AbstractMemberDiffer<ClassInfo> {
         }
     }
 
-    private void checkSuperclass(Collection<Diff> list) {
-        if (!previous.getSuperclass().equals(next.getSuperclass())) {
-            list.add(
+    private void checkSuperclass(DiffListener listener) {
+        if (!previous.getSuperclass().equals(next.getSuperclass()) && listener.onChange(Diff.Severity.ERROR)) {
+            listener.onDiff(
                 Diff.diff()
                     .severity(Diff.Severity.ERROR)
                     .type(Diff.Type.MODIFIED)
@@ -134,103 +166,187 @@ public class ClassDiffer extends AbstractMemberDiffer<ClassInfo> {
         }
     }
 
-    private void checkInterfaces(Collection<Diff> list) {
+    private void checkInterfaces(DiffListener listener) {
         if (!Arrays.equals(previous.getInterfaces(), next.getInterfaces())) {
-            List<String> p = new ArrayList<>(asList(previous.getInterfaces()));
-            List<String> n = new ArrayList<>(asList(next.getInterfaces()));
-
-            List<String> c = new ArrayList<>();
-            for (String i : p) {
-                if (n.contains(i)) {
-                    c.add(i);
+            SetDifference<String> d = setDifference(asList(previous.getInterfaces()), asList(next.getInterfaces()));
+
+            for (String i : d.getRemoved()) {
+                if (listener.onChange(Diff.Severity.ERROR)) {
+                    listener.onDiff(
+                        Diff.diff()
+                            .severity(Diff.Severity.ERROR)
+                            .type(Diff.Type.REMOVED)
+                            .messageKey(KEY_CLASS_INTERFACE_REMOVED)
+                            .messageArg(getElementName())
+                            .messageArg(i)
+                            .build());
+                }
+            }
+            for (String i : d.getAdded()) {
+                if (listener.onChange(Diff.Severity.ERROR)) {
+                    listener.onDiff(
+                        Diff.diff()
+                            .severity(Diff.Severity.ERROR)
+                            .type(Diff.Type.ADDED)
+                            .messageKey(KEY_CLASS_INTERFACE_ADDED)
+                            .messageArg(getElementName())
+                            .messageArg(i)
+                            .build());
                 }
             }
+        }
+    }
 
-            p.removeAll(c);
-            n.removeAll(c);
+    /**
+     * Pairs members in linear time. Members with the same content hash are unchanged
+     * and skipped; the remaining ones are paired by signature and handed to the
+     * member differ. Unpaired members were either removed or added.
+     */
+    private <M extends MemberInfo<M>> void checkMembers(DiffListener listener,
+                                                        List<M> previousMembers,
+                                                        List<M> nextMembers,
+                                                        Function<M, String> signature,
+                                                        BiFunction<M, M, ? extends Differ<M>> differ,
+                                                        String keyPrefix) {
+        if (previousMembers.isEmpty() && nextMembers.isEmpty()) {
+            return;
+        }
 
-            // anything left in p was removed
-            for (String i : p) {
-                list.add(
-                    Diff.diff()
-                        .severity(Diff.Severity.ERROR)
-                        .type(Diff.Type.REMOVED)
-                        .messageKey(KEY_CLASS_INTERFACE_REMOVED)
-                        .messageArg(getElementName())
-                        .messageArg(i)
-                        .build());
+        boolean[] matched = new boolean[nextMembers.size()];
+
+        // 1. skip members with identical content
+        Map<ContentHash, Deque<Integer>> byHash = new HashMap<>(nextMembers.size() * 2);
+        for (int i = 0; i < nextMembers.size(); i++) {
+            byHash.computeIfAbsent(nextMembers.get(i).getContentHash(), k -> new ArrayDeque<>(1)).add(i);
+        }
+
+        List<M> unmatched = new ArrayList<>();
+        int unchanged = 0;
+        for (M member : previousMembers) {
+            Deque<Integer> candidates = byHash.get(member.getContentHash());
+            if (candidates != null && !candidates.isEmpty()) {
+                matched[candidates.poll()] = true;
+                unchanged++;
+            } else {
+                unmatched.add(member);
+            }
+        }
+
+        if (unmatched.isEmpty() && unchanged == nextMembers.size()) {
+            return;
+        }
+
+        // 2. pair the remaining members by signature
+        Map<String, Deque<Integer>> bySignature = new HashMap<>();
+        for (int i = 0; i < nextMembers.size(); i++) {
+            if (!matched[i]) {
+                bySignature.computeIfAbsent(signature.apply(nextMembers.get(i)), k -> new ArrayDeque<>(1)).add(i);
             }
-            // anything left in n was added
-            for (String i : n) {
-                list.add(
+        }
+
+        for (M member : unmatched) {
+            if (listener.isDone()) {
+                return;
+            }
+            Deque<Integer> candidates = bySignature.get(signature.apply(member));
+            if (candidates != null && !candidates.isEmpty()) {
+                int index = candidates.poll();
+                matched[index] = true;
+                differ.apply(member, nextMembers.get(index)).diff(listener);
+            } else {
+                // anything unpaired in previous was removed
+                if (listener.onChange(Diff.Severity.ERROR)) {
+                    listener.onDiff(
+                        Diff.diff()
+                            .severity(Diff.Severity.ERROR)
+                            .type(Diff.Type.REMOVED)
+                            .messageKey("class." + keyPrefix + ".removed")
+                            .messageArg(getElementName())
+                            .messageArg(signature.apply(member))
+                            .build());
+                }
+            }
+        }
+
+        // anything unpaired in next was added
+        for (int i = 0; i < nextMembers.size() && !listener.isDone(); i++) {
+            if (!matched[i] && listener.onChange(Diff.Severity.ERROR)) {
+                listener.onDiff(
                     Diff.diff()
                         .severity(Diff.Severity.ERROR)
                         .type(Diff.Type.ADDED)
-                        .messageKey(KEY_CLASS_INTERFACE_ADDED)
+                        .messageKey("class." + keyPrefix + ".added")
                         .messageArg(getElementName())
-                        .messageArg(i)
+                        .messageArg(signature.apply(nextMembers.get(i)))
                         .build());
             }
         }
     }
 
-    private void checkInnerClasses(final Collection<Diff> list) {
-        Map<String, InnerClassInfo> p = innerClassesAsMap(getPrevious().getClasses());
-        Map<String, InnerClassInfo> n = innerClassesAsMap(getNext().getClasses());
+    private String constructorSignature(ConstructorInfo constructor) {
+        String name = getElementName();
+        return name.substring(name.lastIndexOf('.') + 1) + "(" + constructor.getArgumentTypes() + ")";
+    }
+
+    private String methodSignature(MethodInfo method) {
+        return method.getName() + "(" + method.getArgumentTypes() + ")";
+    }
 
-        // 1. remove equal elements
-        Set<String> hashes = new HashSet<>(p.keySet());
-        hashes.forEach(hash -> {
-            if (n.containsKey(hash)) {
-                p.remove(hash);
-                n.remove(hash);
-            }
-        });
-
-        // search for p.name == n.name
-        // matches mean updates were made to that element
-        hashes = new HashSet<>(p.keySet());
-        hashes.forEach(hash -> {
-            InnerClassInfo pic = p.get(hash);
-            n.values().stream()
-                .filter(it -> it.getName().equals(pic.getName()))
-                .findAny()
-                .ifPresent(nic -> {
-                    p.remove(hash);
-                    n.remove(nic.getContentHash());
-                    checkModifiers(getPrevious(), getNext(), list, "innerclass");
-                });
-        });
+    /**
+     * Names a member after its owning class so that member diffs can be traced back
+     * to it, e.g. {@code p.A(int)}, {@code p.A#foo} and {@code p.A#bar(int)}.
+     */
+    private String memberName(ConstructorInfo constructor) {
+        return getElementName() + "(" + constructor.getArgumentTypes() + ")";
+    }
+
+    private String memberName(FieldInfo field) {
+        return getElementName() + "#" + field.getName();
+    }
+
+    private String memberName(MethodInfo method) {
+        return getElementName() + "#" + methodSignature(method);
+    }
+
+    private void checkInnerClasses(DiffListener listener) {
+        // 1. skip equal elements
+        SetDifference<InnerClassInfo> d = setDifference(previous.getClasses(), next.getClasses(), InnerClassInfo::getContentHash);
+        if (d.isEmpty()) {
+            return;
+        }
+
+        // 2. p.name == n.name means updates were made to that element
+        SetDifference<InnerClassInfo> u = setDifference(d.getRemoved(), d.getAdded(), InnerClassInfo::getName);
+        u.forEachCommon((pic, nic) -> checkModifiers(pic.getName(), pic, nic, listener, "innerclass"));
 
         // anything left in p was removed
-        for (InnerClassInfo c : p.values()) {
-            list.add(
-                Diff.diff()
-                    .severity(Diff.Severity.ERROR)
-                    .type(Diff.Type.REMOVED)
-                    .messageKey(KEY_CLASS_INNERCLASS_REMOVED)
-                    .messageArg(getElementName())
-                    .messageArg(c)
-                    .build());
+        for (InnerClassInfo c : u.getRemoved()) {
+            if (listener.onChange(Diff.Severity.ERROR)) {
+                listener.onDiff(
+                    Diff.diff()
+                        .severity(Diff.Severity.ERROR)
+                        .type(Diff.Type.REMOVED)
+                        .messageKey(KEY_CLASS_INNERCLASS_REMOVED)
+                        .messageArg(getElementName())
+                        .messageArg(c)
+                        .build());
+            }
         }
         // anything left in n was added
-        for (InnerClassInfo c : n.values()) {
-            list.add(
-                Diff.diff()
-                    .severity(Diff.Severity.ERROR)
-                    .type(Diff.Type.ADDED)
-                    .messageKey(KEY_CLASS_INNERCLASS_ADDED)
-                    .messageArg(getElementName())
-                    .messageArg(c)
-                    .build());
+        for (InnerClassInfo c : u.getAdded()) {
+            if (listener.onChange(Diff.Severity.ERROR)) {
+                listener.onDiff(
+                    Diff.diff()
+                        .severity(Diff.Severity.ERROR)
+                        .type(Diff.Type.ADDED)
+                        .messageKey(KEY_CLASS_INNERCLASS_ADDED)
+                        .messageArg(getElementName())
+                        .messageArg(c)
+                        .build());
+            }
         }
     }
 
-    protected Map<String, InnerClassInfo> innerClassesAsMap(List<InnerClassInfo> innerClasses) {
-        return innerClasses.stream()
-            .collect(toMap(InnerClassInfo::getContentHash, identity()));
-    }
-
     private ClassDiffer(final ClassInfo previous, final ClassInfo next) {
         this.previous = previous;
         this.next = next;
@@ -0,0 +1,94 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.diff;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link DiffListener} that only answers whether any change at or above a
+ * severity threshold exists. Checks below the threshold are skipped, no
+ * {@code Diff} is ever built, and diffing stops at the first ERROR.
+ * Instances are thread-safe and single use.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+public final class CompatibilityGate implements DiffListener {
+    private final Diff.Severity threshold;
+    private final AtomicReference<Diff.Severity> severity = new AtomicReference<>();
+
+    private CompatibilityGate(Diff.Severity threshold) {
+        this.threshold = threshold;
+    }
+
+    public static CompatibilityGate compatibilityGate() {
+        return compatibilityGate(Diff.Severity.ERROR);
+    }
+
+    public static CompatibilityGate compatibilityGate(Diff.Severity threshold) {
+        return new CompatibilityGate(requireNonNull(threshold, "Argument 'threshold' must not be null"));
+    }
+
+    @Override
+    public void onDiff(Diff diff) {
+        // never requested, see onChange
+    }
+
+    @Override
+    public boolean accepts(Diff.Severity severity) {
+        return severity.compareTo(threshold) >= 0;
+    }
+
+    @Override
+    public boolean onChange(Diff.Severity severity) {
+        if (accepts(severity)) {
+            this.severity.accumulateAndGet(severity, (a, b) -> a == null || b.compareTo(a) > 0 ? b : a);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isDone() {
+        return severity.get() == Diff.Severity.ERROR;
+    }
+
+    /**
+     * @return {@code true} if no change at or above the threshold was found.
+     */
+    public boolean isPassed() {
+        return severity.get() == null;
+    }
+
+    /**
+     * @return the highest severity found at or above the threshold, {@code null} if none.
+     */
+    public Diff.Severity getSeverity() {
+        return severity.get();
+    }
+
+    public Diff.Severity getThreshold() {
+        return threshold;
+    }
+
+    @Override
+    public String toString() {
+        return "CompatibilityGate(threshold=" + threshold + ", severity=" + severity.get() + ")";
+    }
+}
@@ -19,13 +19,10 @@ package org.kordamp.naum.core.diff;
 
 import org.kordamp.naum.core.model.ConstructorInfo;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
 
 import static java.util.Arrays.asList;
+import static org.kordamp.naum.core.diff.SetDifference.setDifference;
 
 /**
  * @author Andres Almiray
@@ -38,76 +35,76 @@ public class ConstructorDiffer extends AbstractMemberDiffer<ConstructorInfo> {
     public static final String KEY_CONSTRUCTOR_ANNOTATION_REMOVED = "constructor.annotation.removed";
     public static final String KEY_CONSTRUCTOR_ANNOTATION_ADDED = "constructor.annotation.added";
 
+    private final String elementName;
     private final ConstructorInfo previous;
     private final ConstructorInfo next;
 
     @Override
-    public Collection<Diff> diff() {
-        if (previous.getContentHash().equals(next.getContentHash())) {
-            return Collections.emptyList();
+    public void diff(DiffListener listener) {
+        if (previous.hasSameContent(next)) {
+            return;
         }
 
-        List<Diff> list = new ArrayList<>();
-
         // 1. modifiers
-        checkModifiers(list, "constructor");
+        checkModifiers(listener, "constructor");
 
         // 2. arguments
 
         // 3. exceptions
-        checkExceptions(list);
+        checkExceptions(listener);
 
         // 4. annotations
-        checkAnnotations(list, "constructor");
-
-        return list;
+        checkAnnotations(listener, "constructor");
     }
 
-    private void checkExceptions(Collection<Diff> list) {
+    private void checkExceptions(DiffListener listener) {
         if (!Arrays.equals(previous.getExceptions(), next.getExceptions())) {
-            List<String> p = new ArrayList<>(asList(previous.getExceptions()));
-            List<String> n = new ArrayList<>(asList(next.getExceptions()));
-
-            List<String> c = new ArrayList<>();
-            for (String i : p) {
-                if (n.contains(i)) {
-                    c.add(i);
+            SetDifference<String> d = setDifference(asList(previous.getExceptions()), asList(next.getExceptions()));
+
+            for (String e : d.getRemoved()) {
+                if (listener.onChange(Diff.Severity.ERROR)) {
+                    listener.onDiff(
+                        Diff.diff()
+                            .severity(Diff.Severity.ERROR)
+                            .type(Diff.Type.REMOVED)
+                            .messageKey(KEY_CONSTRUCTOR_EXCEPTION_REMOVED)
+                            .messageArg(getElementName())
+                            .messageArg(e)
+                            .build());
                 }
             }
-
-            p.removeAll(c);
-            n.removeAll(c);
-
-            // anything left in p was removed
-            for (String e : p) {
-                list.add(
-                    Diff.diff()
-                        .severity(Diff.Severity.ERROR)
-                        .type(Diff.Type.REMOVED)
-                        .messageKey(KEY_CONSTRUCTOR_EXCEPTION_REMOVED)
-                        .messageArg(e)
-                        .build());
-            }
-            // anything left in n was added
-            for (String e : n) {
-                list.add(
-                    Diff.diff()
-                        .severity(Diff.Severity.ERROR)
-                        .type(Diff.Type.ADDED)
-                        .messageKey(KEY_CONSTRUCTOR_EXCEPTION_ADDED)
-                        .messageArg(e)
-                        .build());
+            for (String e : d.getAdded()) {
+                if (listener.onChange(Diff.Severity.ERROR)) {
+                    listener.onDiff(
+                        Diff.diff()
+                            .severity(Diff.Severity.ERROR)
+                            .type(Diff.Type.ADDED)
+                            .messageKey(KEY_CONSTRUCTOR_EXCEPTION_ADDED)
+                            .messageArg(getElementName())
+                            .messageArg(e)
+                            .build());
+                }
             }
         }
     }
 
-    private ConstructorDiffer(final ConstructorInfo previous, final ConstructorInfo next) {
+    private ConstructorDiffer(final String elementName, final ConstructorInfo previous, final ConstructorInfo next) {
+        this.elementName = elementName;
         this.previous = previous;
         this.next = next;
     }
 
     public static ConstructorDiffer constructorDiffer(final ConstructorInfo previous, final ConstructorInfo next) {
-        return new ConstructorDiffer(previous, next);
+        return new ConstructorDiffer(null, previous, next);
+    }
+
+    public static ConstructorDiffer constructorDiffer(final String elementName, final ConstructorInfo previous, final ConstructorInfo next) {
+        return new ConstructorDiffer(elementName, previous, next);
+    }
+
+    @Override
+    public String getElementName() {
+        return elementName != null ? elementName : previous.getName();
     }
 
     public ConstructorInfo getPrevious() {
@@ -120,7 +117,7 @@ public class ConstructorDiffer extends AbstractMemberDiffer<ConstructorInfo> {
 
     @Override
     public String toString() {
-        return "ConstructorDiffer(previous=" + this.getPrevious() + ", next=" + this.getNext() + ")";
+        return "ConstructorDiffer(elementName=" + this.elementName + ", previous=" + this.getPrevious() + ", next=" + this.getNext() + ")";
     }
 
     @Override
@@ -130,6 +127,9 @@ public class ConstructorDiffer extends AbstractMemberDiffer<ConstructorInfo> {
         final ConstructorDiffer other = (ConstructorDiffer) o;
         if (!other.canEqual((Object) this)) return false;
         if (!super.equals(o)) return false;
+        final Object this$elementName = this.elementName;
+        final Object other$elementName = other.elementName;
+        if (this$elementName == null ? other$elementName != null : !this$elementName.equals(other$elementName)) return false;
         final Object this$previous = this.getPrevious();
         final Object other$previous = other.getPrevious();
         if (this$previous == null ? other$previous != null : !this$previous.equals(other$previous)) return false;
@@ -147,6 +147,8 @@ public class ConstructorDiffer extends AbstractMemberDiffer<ConstructorInfo> {
     public int hashCode() {
         final int PRIME = 59;
         int result = super.hashCode();
+        final Object $elementName = this.elementName;
+        result = result * PRIME + ($elementName == null ? 43 : $elementName.hashCode());
         final Object $previous = this.getPrevious();
         result = result * PRIME + ($previous == null ? 43 : $previous.hashCode());
         final Object $next = this.getNext();
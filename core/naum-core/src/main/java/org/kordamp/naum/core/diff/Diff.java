@@ -17,8 +17,10 @@
  */
 package org.kordamp.naum.core.diff;
 
+import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.ResourceBundle;
 
 /**
  * @author Andres Almiray
@@ -40,7 +42,7 @@ public class Diff {
     private final Severity severity;
     private final Type type;
     private final String messageKey;
-    private final List<Object> messageArgs = new ArrayList<>();
+    private final List<Object> messageArgs;
 
     public static Diff create(Severity severity, Type type, String messageKey, List<Object> messageArgs) {
         Diff diff = new Diff(severity, type, messageKey);
@@ -50,6 +52,18 @@ public class Diff {
         return diff;
     }
 
+    /**
+     * Formats the message of this diff with its arguments.
+     */
+    public String getMessage() {
+        Object[] args = new Object[messageArgs.size()];
+        for (int i = 0; i < args.length; i++) {
+            // plain strings, numbers must not be grouped
+            args[i] = String.valueOf(messageArgs.get(i));
+        }
+        return MessageFormat.format(Messages.BUNDLE.getString(messageKey), args);
+    }
+
     public String asString() {
         return "Diff{" + "severity=" + severity +
             ", type=" + type +
@@ -111,7 +125,8 @@ public class Diff {
             default:
                 messageArgs = java.util.Collections.unmodifiableList(new java.util.ArrayList<Object>(this.messageArgs));
             }
-            return Diff.create(this.severity, this.type, this.messageKey, messageArgs);
+            // messageArgs is already an immutable copy, no need to copy it again
+            return new Diff(this.severity, this.type, this.messageKey, messageArgs);
         }
 
         @Override
@@ -125,9 +140,14 @@ public class Diff {
     }
 
     public Diff(final Severity severity, final Type type, final String messageKey) {
+        this(severity, type, messageKey, new ArrayList<>());
+    }
+
+    private Diff(final Severity severity, final Type type, final String messageKey, final List<Object> messageArgs) {
         this.severity = severity;
         this.type = type;
         this.messageKey = messageKey;
+        this.messageArgs = messageArgs;
     }
 
     public Severity getSeverity() {
@@ -190,4 +210,8 @@ public class Diff {
     public String toString() {
         return "Diff(severity=" + this.getSeverity() + ", type=" + this.getType() + ", messageKey=" + this.getMessageKey() + ", messageArgs=" + this.getMessageArgs() + ")";
     }
+
+    private static final class Messages {
+        private static final ResourceBundle BUNDLE = ResourceBundle.getBundle("org.kordamp.naum.core.diff.Messages");
+    }
 }
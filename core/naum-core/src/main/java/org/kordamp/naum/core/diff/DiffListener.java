@@ -0,0 +1,105 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.diff;
+
+import java.util.Collection;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Receives diffs as soon as a differ finds them. Differs poll {@link #isDone()}
+ * between checks and stop once it returns {@code true}.
+ * <p>
+ * Every change is announced through {@link #onChange(Diff.Severity)} before its
+ * {@code Diff} is built, listeners that only need a verdict can decline the
+ * message and skip building it. Checks whose severity is not {@link #accepts(Diff.Severity) accepted}
+ * are skipped. {@code ArtifactDiffer} may call these two methods and {@code isDone()}
+ * from worker threads; {@code onDiff} is always called in order from the calling thread.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+@FunctionalInterface
+public interface DiffListener {
+    void onDiff(Diff diff);
+
+    /**
+     * @return {@code false} to skip checks that only report changes of the given severity.
+     */
+    default boolean accepts(Diff.Severity severity) {
+        return true;
+    }
+
+    /**
+     * Called when a change of the given severity has been found.
+     *
+     * @return {@code true} to have the {@code Diff} built and passed to {@link #onDiff(Diff)}.
+     */
+    default boolean onChange(Diff.Severity severity) {
+        return true;
+    }
+
+    /**
+     * @return {@code true} if no further diffs are wanted.
+     */
+    default boolean isDone() {
+        return false;
+    }
+
+    /**
+     * Adds every diff to the given collection.
+     */
+    static DiffListener collecting(Collection<? super Diff> diffs) {
+        requireNonNull(diffs, "Argument 'diffs' must not be null");
+        return diffs::add;
+    }
+
+    /**
+     * Forwards diffs to the given listener until the first diff with
+     * {@code Diff.Severity.ERROR} has been forwarded.
+     */
+    static DiffListener untilFirstError(DiffListener delegate) {
+        requireNonNull(delegate, "Argument 'delegate' must not be null");
+        return new DiffListener() {
+            private volatile boolean done;
+
+            @Override
+            public void onDiff(Diff diff) {
+                if (!done) {
+                    delegate.onDiff(diff);
+                    done = diff.getSeverity() == Diff.Severity.ERROR;
+                }
+            }
+
+            @Override
+            public boolean accepts(Diff.Severity severity) {
+                return delegate.accepts(severity);
+            }
+
+            @Override
+            public boolean onChange(Diff.Severity severity) {
+                return !done && delegate.onChange(severity);
+            }
+
+            @Override
+            public boolean isDone() {
+                return done || delegate.isDone();
+            }
+        };
+    }
+}
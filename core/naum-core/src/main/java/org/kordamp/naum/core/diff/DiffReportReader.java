@@ -0,0 +1,309 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.diff;
+
+import org.kordamp.naum.core.NaumException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads reports written by {@link DiffReportWriter} one line at a time. Integral numbers
+ * are read back as {@code Integer} or {@code Long}, other numbers as {@code Double}.
+ * Unknown fields are ignored, blank lines are skipped.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+public final class DiffReportReader implements Closeable {
+    private final BufferedReader in;
+    private long lineNumber;
+
+    private DiffReportReader(InputStream in) {
+        this.in = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    public static DiffReportReader reportReader(InputStream in) {
+        return new DiffReportReader(requireNonNull(in, "Argument 'in' must not be null"));
+    }
+
+    /**
+     * @return the next diff or {@code null} at the end of the report.
+     */
+    public Diff read() throws IOException {
+        String line;
+        do {
+            line = in.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.trim().isEmpty());
+
+        return new LineParser(line, lineNumber).parse();
+    }
+
+    /**
+     * Reports every remaining diff to the given listener, until it is done.
+     */
+    public void readAll(DiffListener listener) throws IOException {
+        Diff diff;
+        while (!listener.isDone() && (diff = read()) != null) {
+            listener.onDiff(diff);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private static final class LineParser {
+        private final String s;
+        private final long lineNumber;
+        private int i;
+
+        private LineParser(String s, long lineNumber) {
+            this.s = s;
+            this.lineNumber = lineNumber;
+        }
+
+        private Diff parse() {
+            Diff.Severity severity = null;
+            Diff.Type type = null;
+            String messageKey = null;
+            List<Object> messageArgs = null;
+
+            expect('{');
+            if (!consume('}')) {
+                do {
+                    String name = parseString();
+                    expect(':');
+                    Object value = parseValue();
+                    try {
+                        switch (name) {
+                            case "severity":
+                                severity = value != null ? Diff.Severity.valueOf((String) value) : null;
+                                break;
+                            case "type":
+                                type = value != null ? Diff.Type.valueOf((String) value) : null;
+                                break;
+                            case "messageKey":
+                                messageKey = (String) value;
+                                break;
+                            case "messageArgs":
+                                @SuppressWarnings("unchecked")
+                                List<Object> args = (List<Object>) value;
+                                messageArgs = args;
+                                break;
+                            default:
+                                // ignored
+                        }
+                    } catch (ClassCastException | IllegalArgumentException e) {
+                        throw error("invalid value for " + name);
+                    }
+                } while (consume(','));
+                expect('}');
+            }
+            skipWhitespace();
+            if (i != s.length()) {
+                throw error("unexpected trailing content");
+            }
+
+            return Diff.create(severity, type, messageKey, messageArgs);
+        }
+
+        private Object parseValue() {
+            skipWhitespace();
+            if (i == s.length()) {
+                throw error("unexpected end of line");
+            }
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                    return parseString();
+                case '[':
+                    return parseArray();
+                case '{':
+                    skipObject();
+                    return null;
+                case 't':
+                    literal("true");
+                    return Boolean.TRUE;
+                case 'f':
+                    literal("false");
+                    return Boolean.FALSE;
+                case 'n':
+                    literal("null");
+                    return null;
+                default:
+                    return parseNumber();
+            }
+        }
+
+        private List<Object> parseArray() {
+            expect('[');
+            List<Object> values = new ArrayList<>();
+            if (consume(']')) {
+                return values;
+            }
+            do {
+                values.add(parseValue());
+            } while (consume(','));
+            expect(']');
+            return values;
+        }
+
+        private void skipObject() {
+            expect('{');
+            if (consume('}')) {
+                return;
+            }
+            do {
+                parseString();
+                expect(':');
+                parseValue();
+            } while (consume(','));
+            expect('}');
+        }
+
+        private String parseString() {
+            expect('"');
+            StringBuilder b = new StringBuilder();
+            while (i < s.length()) {
+                char c = s.charAt(i++);
+                if (c == '"') {
+                    return b.toString();
+                }
+                if (c != '\\') {
+                    b.append(c);
+                    continue;
+                }
+                if (i == s.length()) {
+                    break;
+                }
+                char e = s.charAt(i++);
+                switch (e) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                        b.append(e);
+                        break;
+                    case 'b':
+                        b.append('\b');
+                        break;
+                    case 'f':
+                        b.append('\f');
+                        break;
+                    case 'n':
+                        b.append('\n');
+                        break;
+                    case 'r':
+                        b.append('\r');
+                        break;
+                    case 't':
+                        b.append('\t');
+                        break;
+                    case 'u':
+                        if (i + 4 > s.length()) {
+                            throw error("truncated unicode escape");
+                        }
+                        try {
+                            b.append((char) Integer.parseInt(s.substring(i, i + 4), 16));
+                        } catch (NumberFormatException x) {
+                            throw error("invalid unicode escape");
+                        }
+                        i += 4;
+                        break;
+                    default:
+                        throw error("invalid escape \\" + e);
+                }
+            }
+            throw error("unterminated string");
+        }
+
+        private Number parseNumber() {
+            int start = i;
+            boolean integral = true;
+            while (i < s.length()) {
+                char c = s.charAt(i);
+                if (c == '.' || c == 'e' || c == 'E') {
+                    integral = false;
+                } else if (!(c == '-' || c == '+' || (c >= '0' && c <= '9'))) {
+                    break;
+                }
+                i++;
+            }
+            String number = s.substring(start, i);
+            try {
+                if (integral) {
+                    long value = Long.parseLong(number);
+                    return value == (int) value ? (Number) (int) value : (Number) value;
+                }
+                return Double.parseDouble(number);
+            } catch (NumberFormatException e) {
+                throw error("invalid value '" + number + "'");
+            }
+        }
+
+        private void literal(String literal) {
+            if (!s.startsWith(literal, i)) {
+                throw error("invalid literal");
+            }
+            i += literal.length();
+        }
+
+        private boolean consume(char c) {
+            skipWhitespace();
+            if (i < s.length() && s.charAt(i) == c) {
+                i++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!consume(c)) {
+                throw error("expected '" + c + "'");
+            }
+        }
+
+        private void skipWhitespace() {
+            while (i < s.length() && Character.isWhitespace(s.charAt(i))) {
+                i++;
+            }
+        }
+
+        private NaumException error(String message) {
+            return new NaumException("Malformed diff report at line " + lineNumber + ", column " + (i + 1) + ": " + message);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DiffReportReader(line=" + lineNumber + ")";
+    }
+}
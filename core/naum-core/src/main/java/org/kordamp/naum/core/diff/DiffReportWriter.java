@@ -0,0 +1,238 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.diff;
+
+import org.kordamp.naum.core.NaumException;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes diffs as NDJSON, one object per line with {@code severity}, {@code type},
+ * {@code messageKey} and {@code messageArgs}. Lines are UTF-8 encoded into a fixed size
+ * buffer that is drained to the stream whenever it fills up, no matter how many diffs
+ * are written. Integral, floating point and boolean arguments are written as JSON
+ * literals, every other argument as a string.
+ * <p>
+ * Being a {@link DiffListener}, a writer can be handed to any differ directly.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ * @see DiffReportReader
+ */
+public final class DiffReportWriter implements DiffListener, Flushable, Closeable {
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final int MIN_BUFFER_SIZE = 16;
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private final StringBuilder line = new StringBuilder(256);
+    private int position;
+    private long count;
+
+    private DiffReportWriter(OutputStream out, int bufferSize) {
+        this.out = out;
+        this.buffer = new byte[bufferSize];
+    }
+
+    public static DiffReportWriter reportWriter(OutputStream out) {
+        return reportWriter(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    public static DiffReportWriter reportWriter(OutputStream out, int bufferSize) {
+        requireNonNull(out, "Argument 'out' must not be null");
+        if (bufferSize < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("bufferSize must be at least " + MIN_BUFFER_SIZE);
+        }
+        return new DiffReportWriter(out, bufferSize);
+    }
+
+    /**
+     * Formats a single diff as a JSON object, without a line terminator.
+     */
+    public static String toJson(Diff diff) {
+        StringBuilder b = new StringBuilder(128);
+        appendJson(b, diff);
+        return b.toString();
+    }
+
+    /**
+     * Number of diffs written so far.
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    @Override
+    public void onDiff(Diff diff) {
+        try {
+            write(diff);
+        } catch (IOException e) {
+            throw new NaumException("Unexpected error writing diff report", e);
+        }
+    }
+
+    public synchronized void write(Diff diff) throws IOException {
+        line.setLength(0);
+        appendJson(line, diff);
+        line.append('\n');
+        encode(line);
+        count++;
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void encode(CharSequence s) throws IOException {
+        for (int i = 0, length = s.length(); i < length; i++) {
+            if (position + 4 > buffer.length) {
+                drain();
+            }
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | c >> 6);
+                buffer[position++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buffer[position++] = (byte) (0xF0 | cp >> 18);
+                buffer[position++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                buffer[position++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                buffer[position++] = (byte) (0x80 | cp & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                // unpaired surrogates were escaped, never reached
+                buffer[position++] = (byte) '?';
+            } else {
+                buffer[position++] = (byte) (0xE0 | c >> 12);
+                buffer[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buffer[position++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+    }
+
+    private void drain() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private static void appendJson(StringBuilder b, Diff diff) {
+        b.append("{\"severity\":");
+        appendString(b, diff.getSeverity() != null ? diff.getSeverity().name() : null);
+        b.append(",\"type\":");
+        appendString(b, diff.getType() != null ? diff.getType().name() : null);
+        b.append(",\"messageKey\":");
+        appendString(b, diff.getMessageKey());
+        b.append(",\"messageArgs\":[");
+        boolean first = true;
+        for (Object arg : diff.getMessageArgs()) {
+            if (!first) {
+                b.append(',');
+            }
+            first = false;
+            appendValue(b, arg);
+        }
+        b.append("]}");
+    }
+
+    private static void appendValue(StringBuilder b, Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte ||
+            value instanceof Boolean) {
+            b.append(value);
+        } else if ((value instanceof Double && Double.isFinite((Double) value)) ||
+            (value instanceof Float && Float.isFinite((Float) value))) {
+            b.append(value);
+        } else {
+            appendString(b, value != null ? String.valueOf(value) : null);
+        }
+    }
+
+    private static void appendString(StringBuilder b, String s) {
+        if (s == null) {
+            b.append("null");
+            return;
+        }
+
+        b.append('"');
+        for (int i = 0, length = s.length(); i < length; i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                    b.append("\\\"");
+                    break;
+                case '\\':
+                    b.append("\\\\");
+                    break;
+                case '\n':
+                    b.append("\\n");
+                    break;
+                case '\r':
+                    b.append("\\r");
+                    break;
+                case '\t':
+                    b.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || isUnpairedSurrogate(s, i)) {
+                        appendEscape(b, c);
+                    } else {
+                        b.append(c);
+                    }
+            }
+        }
+        b.append('"');
+    }
+
+    private static boolean isUnpairedSurrogate(String s, int i) {
+        char c = s.charAt(i);
+        if (Character.isHighSurrogate(c)) {
+            return i + 1 == s.length() || !Character.isLowSurrogate(s.charAt(i + 1));
+        }
+        return Character.isLowSurrogate(c) && (i == 0 || !Character.isHighSurrogate(s.charAt(i - 1)));
+    }
+
+    private static void appendEscape(StringBuilder b, char c) {
+        b.append("\\u");
+        for (int shift = 12; shift >= 0; shift -= 4) {
+            b.append(Character.forDigit(c >> shift & 0xF, 16));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DiffReportWriter(bufferSize=" + buffer.length + ", count=" + count + ")";
+    }
+}
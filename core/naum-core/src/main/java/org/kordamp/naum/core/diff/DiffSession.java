@@ -0,0 +1,250 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.diff;
+
+import org.kordamp.naum.core.model.ClassIndex;
+import org.kordamp.naum.core.model.ClassInfo;
+import org.kordamp.naum.core.scanner.IncrementalScanner;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static java.util.Arrays.asList;
+import static java.util.Objects.requireNonNull;
+import static org.kordamp.naum.core.diff.ArtifactDiffer.KEY_ARTIFACT_CLASS_ADDED;
+import static org.kordamp.naum.core.diff.ArtifactDiffer.KEY_ARTIFACT_CLASS_REMOVED;
+import static org.kordamp.naum.core.diff.ArtifactDiffer.classDiff;
+import static org.kordamp.naum.core.diff.ClassDiffer.classDiffer;
+import static org.kordamp.naum.core.scanner.IncrementalScanner.incrementalScanner;
+
+/**
+ * Diffs a changing set of roots against a fixed baseline, over and over. Class files are
+ * scanned incrementally and the diffs of every class are remembered, only classes whose
+ * files changed since the previous run are diffed again. Results are the same as an
+ * {@code ArtifactDiffer} run against a full scan of the roots.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+public final class DiffSession {
+    private static final int SPLIT_THRESHOLD = 8;
+
+    private final ClassIndex baseline;
+    private final IncrementalScanner scanner;
+    private Map<String, List<Diff>> classDiffs = new HashMap<>();
+    private int diffedCount;
+
+    private DiffSession(ClassIndex baseline, int parallelism) {
+        this.baseline = baseline;
+        this.scanner = incrementalScanner().parallelism(parallelism).build();
+    }
+
+    public ClassIndex getBaseline() {
+        return baseline;
+    }
+
+    public IncrementalScanner getScanner() {
+        return scanner;
+    }
+
+    /**
+     * Number of classes diffed against the baseline by the last run.
+     */
+    public synchronized int getDiffedCount() {
+        return diffedCount;
+    }
+
+    public List<Diff> diff(Path... roots) {
+        return diff(asList(roots));
+    }
+
+    public List<Diff> diff(Collection<Path> roots) {
+        List<Diff> list = new ArrayList<>();
+        diff(roots, DiffListener.collecting(list));
+        return list;
+    }
+
+    /**
+     * Rescans the given roots and reports diffs to the given listener in class name order.
+     */
+    public synchronized void diff(Collection<Path> roots, DiffListener listener) {
+        ClassIndex current = ClassIndex.of(scanner.scan(roots));
+        Set<String> changed = scanner.getChangedClassNames();
+        List<String> p = baseline.getClassNames();
+        List<String> n = current.getClassNames();
+
+        // classes present on both sides, diffs are reused unless their files changed
+        Map<String, List<Diff>> next = new HashMap<>(n.size() * 2);
+        List<String> pending = new ArrayList<>();
+        for (String name : n) {
+            if (!baseline.contains(name)) {
+                continue;
+            }
+            List<Diff> diffs = classDiffs.get(name);
+            if (diffs != null && !changed.contains(name)) {
+                next.put(name, diffs);
+            } else {
+                pending.add(name);
+            }
+        }
+        diffPending(current, pending, next);
+        classDiffs = next;
+        diffedCount = pending.size();
+
+        int i = 0;
+        int j = 0;
+        while ((i < p.size() || j < n.size()) && !listener.isDone()) {
+            int c = i == p.size() ? 1 : j == n.size() ? -1 : p.get(i).compareTo(n.get(j));
+            if (c < 0) {
+                String name = p.get(i++);
+                if (listener.onChange(Diff.Severity.ERROR)) {
+                    listener.onDiff(classDiff(Diff.Type.REMOVED, KEY_ARTIFACT_CLASS_REMOVED, name));
+                }
+            } else if (c > 0) {
+                String name = n.get(j++);
+                if (listener.onChange(Diff.Severity.ERROR)) {
+                    listener.onDiff(classDiff(Diff.Type.ADDED, KEY_ARTIFACT_CLASS_ADDED, name));
+                }
+            } else {
+                j++;
+                for (Diff diff : next.get(p.get(i++))) {
+                    if (listener.isDone()) {
+                        break;
+                    }
+                    if (listener.accepts(diff.getSeverity()) && listener.onChange(diff.getSeverity())) {
+                        listener.onDiff(diff);
+                    }
+                }
+            }
+        }
+    }
+
+    private void diffPending(ClassIndex current, List<String> pending, Map<String, List<Diff>> results) {
+        List<List<Diff>> diffs = new ArrayList<>(Collections.nCopies(pending.size(), null));
+        int parallelism = scanner.getParallelism();
+        if (parallelism > 1 && pending.size() > SPLIT_THRESHOLD) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.invoke(new ClassDiffTask(current, pending, diffs, 0, pending.size()));
+            } finally {
+                pool.shutdown();
+            }
+        } else {
+            new ClassDiffTask(current, pending, diffs, 0, pending.size()).diffRange();
+        }
+
+        for (int i = 0; i < pending.size(); i++) {
+            results.put(pending.get(i), diffs.get(i));
+        }
+    }
+
+    private List<Diff> diffClass(ClassIndex current, String className) {
+        boolean comparableHashes = baseline.getHashAlgorithm().equals(current.getHashAlgorithm());
+        if (comparableHashes ? baseline.getContentHash(className).equals(current.getContentHash(className)) :
+            baseline.getClassInfo(className).hasSameContent(current.getClassInfo(className))) {
+            return Collections.emptyList();
+        }
+
+        List<Diff> diffs = new ArrayList<>();
+        classDiffer(baseline.getClassInfo(className), current.getClassInfo(className)).diff(DiffListener.collecting(diffs));
+        return diffs.isEmpty() ? Collections.emptyList() : diffs;
+    }
+
+    private class ClassDiffTask extends RecursiveAction {
+        private final ClassIndex current;
+        private final List<String> classNames;
+        private final List<List<Diff>> results;
+        private final int from;
+        private final int to;
+
+        private ClassDiffTask(ClassIndex current, List<String> classNames, List<List<Diff>> results, int from, int to) {
+            this.current = current;
+            this.classNames = classNames;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                diffRange();
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new ClassDiffTask(current, classNames, results, from, middle),
+                new ClassDiffTask(current, classNames, results, middle, to));
+        }
+
+        private void diffRange() {
+            for (int i = from; i < to; i++) {
+                // each slot is written by exactly one task
+                results.set(i, diffClass(current, classNames.get(i)));
+            }
+        }
+    }
+
+    public static class DiffSessionBuilder {
+        private ClassIndex baseline = ClassIndex.of(Collections.emptyList());
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        public DiffSession.DiffSessionBuilder baseline(Collection<ClassInfo> baseline) {
+            return baseline(ClassIndex.of(requireNonNull(baseline, "Argument 'baseline' must not be null")));
+        }
+
+        public DiffSession.DiffSessionBuilder baseline(ClassIndex baseline) {
+            this.baseline = requireNonNull(baseline, "Argument 'baseline' must not be null");
+            return this;
+        }
+
+        public DiffSession.DiffSessionBuilder parallelism(int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("parallelism must be greater than 0");
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        public DiffSession build() {
+            return new DiffSession(this.baseline, this.parallelism);
+        }
+
+        @Override
+        public String toString() {
+            return "DiffSession.DiffSessionBuilder(baseline=" + this.baseline.getClassNames().size() + " classes, parallelism=" + this.parallelism + ")";
+        }
+    }
+
+    public static DiffSession.DiffSessionBuilder diffSession() {
+        return new DiffSession.DiffSessionBuilder();
+    }
+
+    @Override
+    public String toString() {
+        return "DiffSession(baseline=" + this.baseline.getClassNames().size() + " classes, parallelism=" + this.scanner.getParallelism() + ")";
+    }
+}
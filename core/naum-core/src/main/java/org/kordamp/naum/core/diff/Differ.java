@@ -19,7 +19,9 @@ package org.kordamp.naum.core.diff;
 
 import org.kordamp.naum.core.model.NamedInfo;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * @author Andres Almiray
@@ -30,7 +32,16 @@ public interface Differ<T extends NamedInfo> {
 
     T getNext();
 
-    Collection<Diff> diff();
+    /**
+     * Reports every change between previous and next to the given listener, in order.
+     */
+    void diff(DiffListener listener);
+
+    default Collection<Diff> diff() {
+        List<Diff> list = new ArrayList<>();
+        diff(DiffListener.collecting(list));
+        return list;
+    }
 
     default String getElementName() {
         return getPrevious().getName();
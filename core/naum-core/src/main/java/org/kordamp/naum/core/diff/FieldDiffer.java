@@ -19,11 +19,6 @@ package org.kordamp.naum.core.diff;
 
 import org.kordamp.naum.core.model.FieldInfo;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
-
 /**
  * @author Andres Almiray
  * @author Jochen Theodorou
@@ -36,30 +31,27 @@ public class FieldDiffer extends AbstractMemberDiffer<FieldInfo> {
     public static final String KEY_FIELD_ANNOTATION_REMOVED = "field.annotation.removed";
     public static final String KEY_FIELD_ANNOTATION_ADDED = "field.annotation.added";
 
+    private final String elementName;
     private final FieldInfo previous;
     private final FieldInfo next;
 
     @Override
-    public Collection<Diff> diff() {
-        if (previous.getContentHash().equals(next.getContentHash())) {
-            return Collections.emptyList();
+    public void diff(DiffListener listener) {
+        if (previous.hasSameContent(next)) {
+            return;
         }
 
-        List<Diff> list = new ArrayList<>();
-
         // 1. modifiers
-        checkModifiers(list, "field");
+        checkModifiers(listener, "field");
 
         // 2. type
-        checkType(list);
+        checkType(listener);
 
         // 3. value
-        checkValue(list);
+        checkValue(listener);
 
         // 4. annotations
-        checkAnnotations(list, "field");
-
-        return list;
+        checkAnnotations(listener, "field");
     }
 
     private boolean isEquals(Object a, Object b) {
@@ -72,9 +64,9 @@ public class FieldDiffer extends AbstractMemberDiffer<FieldInfo> {
         return a.equals(b);
     }
 
-    private void checkValue(List<Diff> list) {
-        if (!isEquals(previous.getValue(), next.getValue())) {
-            list.add(
+    private void checkValue(DiffListener listener) {
+        if (!isEquals(previous.getValue(), next.getValue()) && listener.onChange(Diff.Severity.ERROR)) {
+            listener.onDiff(
                 Diff.diff()
                     .severity(Diff.Severity.ERROR)
                     .type(Diff.Type.MODIFIED)
@@ -86,9 +78,9 @@ public class FieldDiffer extends AbstractMemberDiffer<FieldInfo> {
         }
     }
 
-    private void checkType(List<Diff> list) {
-        if (!previous.getType().equals(next.getType())) {
-            list.add(
+    private void checkType(DiffListener listener) {
+        if (!previous.getType().equals(next.getType()) && listener.onChange(Diff.Severity.ERROR)) {
+            listener.onDiff(
                 Diff.diff()
                     .severity(Diff.Severity.ERROR)
                     .type(Diff.Type.MODIFIED)
@@ -100,13 +92,23 @@ public class FieldDiffer extends AbstractMemberDiffer<FieldInfo> {
         }
     }
 
-    private FieldDiffer(final FieldInfo previous, final FieldInfo next) {
+    private FieldDiffer(final String elementName, final FieldInfo previous, final FieldInfo next) {
+        this.elementName = elementName;
         this.previous = previous;
         this.next = next;
     }
 
     public static FieldDiffer fieldDiffer(final FieldInfo previous, final FieldInfo next) {
-        return new FieldDiffer(previous, next);
+        return new FieldDiffer(null, previous, next);
+    }
+
+    public static FieldDiffer fieldDiffer(final String elementName, final FieldInfo previous, final FieldInfo next) {
+        return new FieldDiffer(elementName, previous, next);
+    }
+
+    @Override
+    public String getElementName() {
+        return elementName != null ? elementName : previous.getName();
     }
 
     public FieldInfo getPrevious() {
@@ -119,7 +121,7 @@ public class FieldDiffer extends AbstractMemberDiffer<FieldInfo> {
 
     @Override
     public String toString() {
-        return "FieldDiffer(previous=" + this.getPrevious() + ", next=" + this.getNext() + ")";
+        return "FieldDiffer(elementName=" + this.elementName + ", previous=" + this.getPrevious() + ", next=" + this.getNext() + ")";
     }
 
     @Override
@@ -129,6 +131,9 @@ public class FieldDiffer extends AbstractMemberDiffer<FieldInfo> {
         final FieldDiffer other = (FieldDiffer) o;
         if (!other.canEqual((Object) this)) return false;
         if (!super.equals(o)) return false;
+        final Object this$elementName = this.elementName;
+        final Object other$elementName = other.elementName;
+        if (this$elementName == null ? other$elementName != null : !this$elementName.equals(other$elementName)) return false;
         final Object this$previous = this.getPrevious();
         final Object other$previous = other.getPrevious();
         if (this$previous == null ? other$previous != null : !this$previous.equals(other$previous)) return false;
@@ -146,6 +151,8 @@ public class FieldDiffer extends AbstractMemberDiffer<FieldInfo> {
     public int hashCode() {
         final int PRIME = 59;
         int result = super.hashCode();
+        final Object $elementName = this.elementName;
+        result = result * PRIME + ($elementName == null ? 43 : $elementName.hashCode());
         final Object $previous = this.getPrevious();
         result = result * PRIME + ($previous == null ? 43 : $previous.hashCode());
         final Object $next = this.getNext();
@@ -19,13 +19,10 @@ package org.kordamp.naum.core.diff;
 
 import org.kordamp.naum.core.model.MethodInfo;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
 
 import static java.util.Arrays.asList;
+import static org.kordamp.naum.core.diff.SetDifference.setDifference;
 
 /**
  * @author Andres Almiray
@@ -39,39 +36,36 @@ public class MethodDiffer extends AbstractMemberDiffer<MethodInfo> {
     public static final String KEY_METHOD_ANNOTATION_REMOVED = "method.annotation.removed";
     public static final String KEY_METHOD_ANNOTATION_ADDED = "method.annotation.added";
 
+    private final String elementName;
     private final MethodInfo previous;
     private final MethodInfo next;
 
     @Override
-    public Collection<Diff> diff() {
-        if (previous.getContentHash().equals(next.getContentHash())) {
-            return Collections.emptyList();
+    public void diff(DiffListener listener) {
+        if (previous.hasSameContent(next)) {
+            return;
         }
 
-        List<Diff> list = new ArrayList<>();
-
         // 1. modifiers
-        checkModifiers(list, "method");
+        checkModifiers(listener, "method");
 
         // 2. type
-        checkReturnType(list);
+        checkReturnType(listener);
 
         // 3. type parameters
 
         // 4. arguments
 
         // 5. exceptions
-        checkExceptions(list);
+        checkExceptions(listener);
 
         // 6. annotations
-        checkAnnotations(list, "method");
-
-        return list;
+        checkAnnotations(listener, "method");
     }
 
-    private void checkReturnType(List<Diff> list) {
-        if (!previous.getReturnType().equals(next.getReturnType())) {
-            list.add(
+    private void checkReturnType(DiffListener listener) {
+        if (!previous.getReturnType().equals(next.getReturnType()) && listener.onChange(Diff.Severity.ERROR)) {
+            listener.onDiff(
                 Diff.diff()
                     .severity(Diff.Severity.ERROR)
                     .type(Diff.Type.MODIFIED)
@@ -83,53 +77,54 @@ public class MethodDiffer extends AbstractMemberDiffer<MethodInfo> {
         }
     }
 
-    private void checkExceptions(Collection<Diff> list) {
+    private void checkExceptions(DiffListener listener) {
         if (!Arrays.equals(previous.getExceptions(), next.getExceptions())) {
-            List<String> p = new ArrayList<>(asList(previous.getExceptions()));
-            List<String> n = new ArrayList<>(asList(next.getExceptions()));
-
-            List<String> c = new ArrayList<>();
-            for (String i : p) {
-                if (n.contains(i)) {
-                    c.add(i);
+            SetDifference<String> d = setDifference(asList(previous.getExceptions()), asList(next.getExceptions()));
+
+            for (String e : d.getRemoved()) {
+                if (listener.onChange(Diff.Severity.ERROR)) {
+                    listener.onDiff(
+                        Diff.diff()
+                            .severity(Diff.Severity.ERROR)
+                            .type(Diff.Type.REMOVED)
+                            .messageKey(KEY_METHOD_EXCEPTION_REMOVED)
+                            .messageArg(getElementName())
+                            .messageArg(e)
+                            .build());
                 }
             }
-
-            p.removeAll(c);
-            n.removeAll(c);
-
-            // anything left in p was removed
-            for (String e : p) {
-                list.add(
-                    Diff.diff()
-                        .severity(Diff.Severity.ERROR)
-                        .type(Diff.Type.REMOVED)
-                        .messageKey(KEY_METHOD_EXCEPTION_REMOVED)
-                        .messageArg(getElementName())
-                        .messageArg(e)
-                        .build());
-            }
-            // anything left in n was added
-            for (String e : n) {
-                list.add(
-                    Diff.diff()
-                        .severity(Diff.Severity.ERROR)
-                        .type(Diff.Type.ADDED)
-                        .messageKey(KEY_METHOD_EXCEPTION_ADDED)
-                        .messageArg(getElementName())
-                        .messageArg(e)
-                        .build());
+            for (String e : d.getAdded()) {
+                if (listener.onChange(Diff.Severity.ERROR)) {
+                    listener.onDiff(
+                        Diff.diff()
+                            .severity(Diff.Severity.ERROR)
+                            .type(Diff.Type.ADDED)
+                            .messageKey(KEY_METHOD_EXCEPTION_ADDED)
+                            .messageArg(getElementName())
+                            .messageArg(e)
+                            .build());
+                }
             }
         }
     }
 
-    private MethodDiffer(final MethodInfo previous, final MethodInfo next) {
+    private MethodDiffer(final String elementName, final MethodInfo previous, final MethodInfo next) {
+        this.elementName = elementName;
         this.previous = previous;
         this.next = next;
     }
 
     public static MethodDiffer methodDiffer(final MethodInfo previous, final MethodInfo next) {
-        return new MethodDiffer(previous, next);
+        return new MethodDiffer(null, previous, next);
+    }
+
+    public static MethodDiffer methodDiffer(final String elementName, final MethodInfo previous, final MethodInfo next) {
+        return new MethodDiffer(elementName, previous, next);
+    }
+
+    @Override
+    public String getElementName() {
+        return elementName != null ? elementName : previous.getName();
     }
 
     public MethodInfo getPrevious() {
@@ -142,7 +137,7 @@ public class MethodDiffer extends AbstractMemberDiffer<MethodInfo> {
 
     @Override
     public String toString() {
-        return "MethodDiffer(previous=" + this.getPrevious() + ", next=" + this.getNext() + ")";
+        return "MethodDiffer(elementName=" + this.elementName + ", previous=" + this.getPrevious() + ", next=" + this.getNext() + ")";
     }
 
     @Override
@@ -152,6 +147,9 @@ public class MethodDiffer extends AbstractMemberDiffer<MethodInfo> {
         final MethodDiffer other = (MethodDiffer) o;
         if (!other.canEqual((Object) this)) return false;
         if (!super.equals(o)) return false;
+        final Object this$elementName = this.elementName;
+        final Object other$elementName = other.elementName;
+        if (this$elementName == null ? other$elementName != null : !this$elementName.equals(other$elementName)) return false;
         final Object this$previous = this.getPrevious();
         final Object other$previous = other.getPrevious();
         if (this$previous == null ? other$previous != null : !this$previous.equals(other$previous)) return false;
@@ -169,6 +167,8 @@ public class MethodDiffer extends AbstractMemberDiffer<MethodInfo> {
     public int hashCode() {
         final int PRIME = 59;
         int result = super.hashCode();
+        final Object $elementName = this.elementName;
+        result = result * PRIME + ($elementName == null ? 43 : $elementName.hashCode());
         final Object $previous = this.getPrevious();
         result = result * PRIME + ($previous == null ? 43 : $previous.hashCode());
         final Object $next = this.getNext();
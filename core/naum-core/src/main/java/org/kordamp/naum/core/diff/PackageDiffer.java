@@ -0,0 +1,190 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.diff;
+
+import org.kordamp.naum.core.model.ApiTree;
+import org.kordamp.naum.core.model.ClassIndex;
+import org.kordamp.naum.core.model.ClassInfo;
+import org.kordamp.naum.core.model.ContentHash;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+import static org.kordamp.naum.core.diff.ArtifactDiffer.KEY_ARTIFACT_CLASS_ADDED;
+import static org.kordamp.naum.core.diff.ArtifactDiffer.KEY_ARTIFACT_CLASS_REMOVED;
+import static org.kordamp.naum.core.diff.ClassDiffer.classDiffer;
+
+/**
+ * Diffs two artifacts by walking their {@link ApiTree}s. Nothing is visited when the
+ * artifact hashes match; otherwise only packages whose hashes differ are descended into,
+ * and only classes whose content hashes differ within them are diffed. Work is
+ * proportional to what changed, not to the size of the artifacts.
+ * <p>
+ * Reports the same diffs as {@code ArtifactDiffer}, in package name order and then in
+ * class name order.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+public class PackageDiffer {
+    private final ApiTree previous;
+    private final ApiTree next;
+
+    private PackageDiffer(ApiTree previous, ApiTree next) {
+        this.previous = previous;
+        this.next = next;
+    }
+
+    public List<Diff> diff() {
+        List<Diff> list = new ArrayList<>();
+        diff(DiffListener.collecting(list));
+        return list;
+    }
+
+    public void diff(DiffListener listener) {
+        if (previous.hasSameContent(next)) {
+            return;
+        }
+
+        List<ApiTree.PackageNode> p = previous.getPackages();
+        List<ApiTree.PackageNode> n = next.getPackages();
+        int i = 0;
+        int j = 0;
+        while ((i < p.size() || j < n.size()) && !listener.isDone()) {
+            int c = i == p.size() ? 1 : j == n.size() ? -1 : p.get(i).getName().compareTo(n.get(j).getName());
+            if (c < 0) {
+                reportAll(p.get(i++), Diff.Type.REMOVED, KEY_ARTIFACT_CLASS_REMOVED, listener);
+            } else if (c > 0) {
+                reportAll(n.get(j++), Diff.Type.ADDED, KEY_ARTIFACT_CLASS_ADDED, listener);
+            } else {
+                ApiTree.PackageNode pp = p.get(i++);
+                ApiTree.PackageNode np = n.get(j++);
+                if (!pp.getHash().equals(np.getHash())) {
+                    diffPackage(pp, np, listener);
+                }
+            }
+        }
+    }
+
+    private void diffPackage(ApiTree.PackageNode previousPackage, ApiTree.PackageNode nextPackage, DiffListener listener) {
+        ClassIndex pi = previous.getIndex();
+        ClassIndex ni = next.getIndex();
+        boolean comparableHashes = pi.getHashAlgorithm().equals(ni.getHashAlgorithm());
+
+        List<String> p = previousPackage.getClassNames();
+        List<String> n = nextPackage.getClassNames();
+        int i = 0;
+        int j = 0;
+        while ((i < p.size() || j < n.size()) && !listener.isDone()) {
+            int c = i == p.size() ? 1 : j == n.size() ? -1 : p.get(i).compareTo(n.get(j));
+            if (c < 0) {
+                report(p.get(i++), Diff.Type.REMOVED, KEY_ARTIFACT_CLASS_REMOVED, listener);
+            } else if (c > 0) {
+                report(n.get(j++), Diff.Type.ADDED, KEY_ARTIFACT_CLASS_ADDED, listener);
+            } else {
+                String name = p.get(i++);
+                j++;
+                if (comparableHashes && pi.getContentHash(name).equals(ni.getContentHash(name))) {
+                    continue;
+                }
+                ContentHash fingerprint = pi.getApiFingerprint(name);
+                if (fingerprint != null && fingerprint.equals(ni.getApiFingerprint(name))) {
+                    continue;
+                }
+                classDiffer(pi.getClassInfo(name), ni.getClassInfo(name)).diff(listener);
+            }
+        }
+    }
+
+    private static void reportAll(ApiTree.PackageNode node, Diff.Type type, String key, DiffListener listener) {
+        for (String className : node.getClassNames()) {
+            if (listener.isDone()) {
+                return;
+            }
+            report(className, type, key, listener);
+        }
+    }
+
+    private static void report(String className, Diff.Type type, String key, DiffListener listener) {
+        if (listener.onChange(Diff.Severity.ERROR)) {
+            listener.onDiff(ArtifactDiffer.classDiff(type, key, className));
+        }
+    }
+
+    public ApiTree getPrevious() {
+        return this.previous;
+    }
+
+    public ApiTree getNext() {
+        return this.next;
+    }
+
+    public static class PackageDifferBuilder {
+        private ApiTree previous;
+        private ApiTree next;
+
+        public PackageDiffer.PackageDifferBuilder previous(Collection<ClassInfo> previous) {
+            return previous(ApiTree.of(requireNonNull(previous, "Argument 'previous' must not be null")));
+        }
+
+        public PackageDiffer.PackageDifferBuilder previous(ClassIndex previous) {
+            return previous(ApiTree.of(requireNonNull(previous, "Argument 'previous' must not be null")));
+        }
+
+        public PackageDiffer.PackageDifferBuilder previous(ApiTree previous) {
+            this.previous = requireNonNull(previous, "Argument 'previous' must not be null");
+            return this;
+        }
+
+        public PackageDiffer.PackageDifferBuilder next(Collection<ClassInfo> next) {
+            return next(ApiTree.of(requireNonNull(next, "Argument 'next' must not be null")));
+        }
+
+        public PackageDiffer.PackageDifferBuilder next(ClassIndex next) {
+            return next(ApiTree.of(requireNonNull(next, "Argument 'next' must not be null")));
+        }
+
+        public PackageDiffer.PackageDifferBuilder next(ApiTree next) {
+            this.next = requireNonNull(next, "Argument 'next' must not be null");
+            return this;
+        }
+
+        public PackageDiffer build() {
+            return new PackageDiffer(
+                this.previous != null ? this.previous : ApiTree.of(Collections.emptyList()),
+                this.next != null ? this.next : ApiTree.of(Collections.emptyList()));
+        }
+
+        @Override
+        public String toString() {
+            return "PackageDiffer.PackageDifferBuilder(previous=" + this.previous + ", next=" + this.next + ")";
+        }
+    }
+
+    public static PackageDiffer.PackageDifferBuilder packageDiffer() {
+        return new PackageDiffer.PackageDifferBuilder();
+    }
+
+    @Override
+    public String toString() {
+        return "PackageDiffer(previous=" + this.previous + ", next=" + this.next + ")";
+    }
+}
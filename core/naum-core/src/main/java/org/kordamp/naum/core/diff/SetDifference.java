@@ -0,0 +1,131 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.diff;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Hashed difference between two collections, computed in a single pass over each side.
+ * Removed and common elements keep the iteration order of the previous collection,
+ * added elements keep the iteration order of the next collection.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+public final class SetDifference<T> {
+    private final List<T> removed;
+    private final List<T> added;
+    private final List<T> commonPrevious;
+    private final List<T> commonNext;
+
+    private SetDifference(List<T> removed, List<T> added, List<T> commonPrevious, List<T> commonNext) {
+        this.removed = removed;
+        this.added = added;
+        this.commonPrevious = commonPrevious;
+        this.commonNext = commonNext;
+    }
+
+    public static <T> SetDifference<T> setDifference(Collection<? extends T> previous, Collection<? extends T> next) {
+        return setDifference(previous, next, Function.identity());
+    }
+
+    /**
+     * Elements are matched when their keys are equal. Duplicate keys are paired in
+     * iteration order.
+     */
+    public static <T, K> SetDifference<T> setDifference(Collection<? extends T> previous, Collection<? extends T> next, Function<? super T, ? extends K> key) {
+        requireNonNull(previous, "Argument 'previous' must not be null");
+        requireNonNull(next, "Argument 'next' must not be null");
+        requireNonNull(key, "Argument 'key' must not be null");
+
+        List<T> nextElements = new ArrayList<>(next);
+        Map<K, Deque<Integer>> index = new HashMap<>(nextElements.size() * 2);
+        for (int i = 0; i < nextElements.size(); i++) {
+            index.computeIfAbsent(key.apply(nextElements.get(i)), k -> new ArrayDeque<>(1)).add(i);
+        }
+
+        boolean[] matched = new boolean[nextElements.size()];
+        List<T> removed = new ArrayList<>();
+        List<T> commonPrevious = new ArrayList<>();
+        List<T> commonNext = new ArrayList<>();
+        for (T element : previous) {
+            Deque<Integer> candidates = index.get(key.apply(element));
+            if (candidates != null && !candidates.isEmpty()) {
+                int i = candidates.poll();
+                matched[i] = true;
+                commonPrevious.add(element);
+                commonNext.add(nextElements.get(i));
+            } else {
+                removed.add(element);
+            }
+        }
+
+        List<T> added = new ArrayList<>(nextElements.size() - commonNext.size());
+        for (int i = 0; i < matched.length; i++) {
+            if (!matched[i]) {
+                added.add(nextElements.get(i));
+            }
+        }
+
+        return new SetDifference<>(removed, added, commonPrevious, commonNext);
+    }
+
+    public boolean isEmpty() {
+        return removed.isEmpty() && added.isEmpty();
+    }
+
+    public List<T> getRemoved() {
+        return Collections.unmodifiableList(removed);
+    }
+
+    public List<T> getAdded() {
+        return Collections.unmodifiableList(added);
+    }
+
+    /**
+     * Common elements as found in the previous collection.
+     */
+    public List<T> getCommon() {
+        return Collections.unmodifiableList(commonPrevious);
+    }
+
+    /**
+     * Visits every matched pair, previous element first.
+     */
+    public void forEachCommon(BiConsumer<? super T, ? super T> consumer) {
+        for (int i = 0; i < commonPrevious.size(); i++) {
+            consumer.accept(commonPrevious.get(i), commonNext.get(i));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SetDifference(removed=" + removed + ", added=" + added + ", common=" + commonPrevious + ")";
+    }
+}
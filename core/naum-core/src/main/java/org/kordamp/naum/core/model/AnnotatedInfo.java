@@ -26,18 +26,79 @@ import java.util.List;
  * @since 0.1.0
  */
 public abstract class AnnotatedInfo<S extends AnnotatedInfo<S>> extends NamedInfo<S> {
-    private final List<AnnotationInfo> annotations = new ArrayList<>();
+    private List<AnnotationInfo> annotations = new ArrayList<>();
+    private boolean annotationsSorted = true;
+    private boolean frozen;
 
     protected AnnotatedInfo(String name) {
         super(name);
     }
 
     public S addToAnnotations(AnnotationInfo annotation) {
-        annotations.add(annotation);
-        Collections.sort(annotations);
+        requireNotFrozen();
+        annotationsSorted = append(annotations, annotation, annotationsSorted);
         return self();
     }
 
+    /**
+     * Sorts all collected children once and makes them immutable. No further
+     * elements may be added afterwards.
+     */
+    public S freeze() {
+        if (!frozen) {
+            annotations = freeze(annotations, !annotationsSorted);
+            annotationsSorted = true;
+            frozen = true;
+        }
+        return self();
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    protected void requireNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException(getName() + " is frozen");
+        }
+    }
+
+    /**
+     * Appends an element without sorting. Returns whether the list is still sorted.
+     */
+    protected static <E extends NamedInfo<E>> boolean append(List<E> list, E element, boolean sorted) {
+        boolean stillSorted = sorted && (list.isEmpty() || list.get(list.size() - 1).compareTo(element) <= 0);
+        list.add(element);
+        return stillSorted;
+    }
+
+    /**
+     * Children in sorted order. Frozen lists are returned as they are; the list of an
+     * instance that is still being built is left untouched, so concurrent readers never
+     * race on it.
+     */
+    protected <E extends NamedInfo<E>> List<E> sorted(List<E> list, boolean sorted) {
+        if (frozen) {
+            return list;
+        }
+        if (sorted) {
+            return Collections.unmodifiableList(list);
+        }
+        List<E> copy = new ArrayList<>(list);
+        Collections.sort(copy);
+        return Collections.unmodifiableList(copy);
+    }
+
+    protected static <E extends NamedInfo<E>> List<E> freeze(List<E> list, boolean sort) {
+        if (list.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (sort) {
+            Collections.sort(list);
+        }
+        return Collections.unmodifiableList(new ArrayList<>(list));
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (o == this) return true;
@@ -70,6 +131,6 @@ public abstract class AnnotatedInfo<S extends AnnotatedInfo<S>> extends NamedInf
     }
 
     public List<AnnotationInfo> getAnnotations() {
-        return this.annotations;
+        return sorted(annotations, annotationsSorted);
     }
 }
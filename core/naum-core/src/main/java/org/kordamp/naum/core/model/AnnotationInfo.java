@@ -107,6 +107,44 @@ public class AnnotationInfo extends NamedInfo<AnnotationInfo> implements Annotat
         return b.toString();
     }
 
+    @Override
+    public void hashContent(ContentHasher hasher) {
+        hasher.putByte((byte) 'A')
+            .putString(getName())
+            .putInt(values.size());
+
+        final List<String> keys = new ArrayList<>(values.keySet());
+        Collections.sort(keys);
+        for (String key : keys) {
+            hasher.putString(key);
+            hashValue(hasher, values.get(key));
+        }
+    }
+
+    private static void hashValue(ContentHasher hasher, AnnotationValue value) {
+        if (value instanceof AnnotationInfo) {
+            hasher.putByte((byte) '@')
+                .putHash(((AnnotationInfo) value).getContentHash());
+        } else if (value instanceof ArrayValue) {
+            List<AnnotationValue> elements = ((ArrayValue) value).getValue();
+            hasher.putByte((byte) '[')
+                .putInt(elements.size());
+            for (AnnotationValue element : elements) {
+                hashValue(hasher, element);
+            }
+        } else if (value instanceof EnumValue) {
+            hasher.putByte((byte) 'E')
+                .putString(value.getType())
+                .putString(((EnumValue) value).getValue());
+        } else if (value != null) {
+            hasher.putByte((byte) 'S')
+                .putString(value.getType())
+                .putString(String.valueOf(value.getValue()));
+        } else {
+            hasher.putByte((byte) 0);
+        }
+    }
+
     public String asString() {
         StringBuilder b = new StringBuilder("@")
             .append(getName());
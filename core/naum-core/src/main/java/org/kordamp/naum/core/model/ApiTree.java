@@ -0,0 +1,167 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Merkle tree over the classes of an artifact: artifact, then packages, then classes.
+ * Class leaves are the content hashes of the index, which already combine the hashes
+ * of every member. Package and artifact hashes are computed once, when the tree is built,
+ * without materializing any class.
+ * <p>
+ * Two artifacts have the same API when their root hashes match. Hashes of trees built
+ * over indexes with different hash algorithms never match.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+public final class ApiTree {
+    private final ClassIndex index;
+    private final List<PackageNode> packages;
+    private final Map<String, PackageNode> packagesByName;
+    private final ContentHash hash;
+
+    private ApiTree(ClassIndex index) {
+        this.index = index;
+
+        List<PackageNode> packages = new ArrayList<>();
+        Map<String, List<String>> classNames = new HashMap<>();
+        for (String className : index.getClassNames()) {
+            classNames.computeIfAbsent(packageOf(className), k -> new ArrayList<>()).add(className);
+        }
+        ContentHasher hasher = ContentHashers.newHasher();
+        for (Map.Entry<String, List<String>> e : classNames.entrySet()) {
+            packages.add(new PackageNode(e.getKey(), Collections.unmodifiableList(e.getValue()), hasher.reset(), index));
+        }
+        packages.sort((a, b) -> a.name.compareTo(b.name));
+        this.packages = Collections.unmodifiableList(packages);
+        this.packagesByName = new HashMap<>(packages.size() * 2);
+        for (PackageNode node : packages) {
+            packagesByName.put(node.name, node);
+        }
+
+        hasher.reset()
+            .putByte((byte) 'T')
+            .putString(index.getHashAlgorithm())
+            .putInt(packages.size());
+        for (PackageNode node : packages) {
+            hasher.putString(node.name)
+                .putHash(node.hash);
+        }
+        this.hash = hasher.hash();
+    }
+
+    public static ApiTree of(ClassIndex index) {
+        return new ApiTree(requireNonNull(index, "Argument 'index' must not be null"));
+    }
+
+    public static ApiTree of(Collection<ClassInfo> classes) {
+        return of(ClassIndex.of(requireNonNull(classes, "Argument 'classes' must not be null")));
+    }
+
+    /**
+     * Package of the given class name, the empty string for the default package.
+     */
+    public static String packageOf(String className) {
+        int i = className.lastIndexOf('.');
+        return i < 0 ? "" : className.substring(0, i);
+    }
+
+    public ClassIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * The API fingerprint of the whole artifact.
+     */
+    public ContentHash getHash() {
+        return hash;
+    }
+
+    /**
+     * Packages in ascending name order.
+     */
+    public List<PackageNode> getPackages() {
+        return packages;
+    }
+
+    /**
+     * @return the named package or {@code null} if no class of this tree belongs to it.
+     */
+    public PackageNode getPackage(String packageName) {
+        return packagesByName.get(packageName);
+    }
+
+    public boolean hasSameContent(ApiTree other) {
+        return hash.equals(other.hash);
+    }
+
+    @Override
+    public String toString() {
+        return "ApiTree(hash=" + this.hash + ", packages=" + this.packages.size() + ", classes=" + this.index.getClassNames().size() + ")";
+    }
+
+    /**
+     * A package and the names of its classes, in ascending order. Its hash combines the
+     * name and content hash of every class.
+     */
+    public static final class PackageNode {
+        private final String name;
+        private final List<String> classNames;
+        private final ContentHash hash;
+
+        private PackageNode(String name, List<String> classNames, ContentHasher hasher, ClassIndex index) {
+            this.name = name;
+            this.classNames = classNames;
+
+            hasher.putByte((byte) 'P')
+                .putString(name)
+                .putInt(classNames.size());
+            for (String className : classNames) {
+                hasher.putString(className)
+                    .putHash(index.getContentHash(className));
+            }
+            this.hash = hasher.hash();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public List<String> getClassNames() {
+            return classNames;
+        }
+
+        public ContentHash getHash() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return "ApiTree.PackageNode(name=" + this.name + ", classes=" + this.classNames.size() + ", hash=" + this.hash + ")";
+        }
+    }
+}
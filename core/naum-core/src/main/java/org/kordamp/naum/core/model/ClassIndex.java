@@ -0,0 +1,71 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.model;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read-only, name ordered view over the classes of an artifact. Implementations may
+ * keep classes in a serialized form and only materialize them on request; content
+ * hashes are available without materializing.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+public interface ClassIndex {
+    /**
+     * Class names in ascending order, without duplicates.
+     */
+    List<String> getClassNames();
+
+    /**
+     * @return the content hash of the named class or {@code null} if the class is not part of this index.
+     */
+    ContentHash getContentHash(String className);
+
+    /**
+     * @return the named class or {@code null} if the class is not part of this index.
+     */
+    ClassInfo getClassInfo(String className);
+
+    /**
+     * Name of the algorithm used to compute content hashes. Hashes of two indexes are
+     * only comparable when their algorithms match.
+     */
+    String getHashAlgorithm();
+
+    /**
+     * Fingerprint of the API of the named class, see {@code ApiFingerprint}. Classes with
+     * matching fingerprints have the same API; fingerprints are comparable across indexes
+     * that support them.
+     *
+     * @return the fingerprint of the named class or {@code null} if it is not available.
+     */
+    default ContentHash getApiFingerprint(String className) {
+        return null;
+    }
+
+    default boolean contains(String className) {
+        return getContentHash(className) != null;
+    }
+
+    static ClassIndex of(Collection<ClassInfo> classes) {
+        return new InMemoryClassIndex(classes);
+    }
+}
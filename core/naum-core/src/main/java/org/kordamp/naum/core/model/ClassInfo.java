@@ -42,17 +42,35 @@ public class ClassInfo extends MemberInfo<ClassInfo> {
     private final String typeParameters;
     private final String superclass;
     private final String[] interfaces;
-    private final List<FieldInfo> fields = new ArrayList<>();
-    private final List<ConstructorInfo> constructors = new ArrayList<>();
-    private final List<MethodInfo> methods = new ArrayList<>();
-    private final List<InnerClassInfo> classes = new ArrayList<>();
+    private List<FieldInfo> fields = new ArrayList<>();
+    private List<ConstructorInfo> constructors = new ArrayList<>();
+    private List<MethodInfo> methods = new ArrayList<>();
+    private List<InnerClassInfo> classes = new ArrayList<>();
+    private boolean fieldsSorted = true;
+    private boolean constructorsSorted = true;
+    private boolean methodsSorted = true;
+    private boolean classesSorted = true;
     private final Type type;
 
     public enum Type {
-        CLASS,
-        INTERFACE,
-        ENUM,
-        ANNOTATION
+        CLASS(0),
+        INTERFACE(ACC_INTERFACE + ACC_ABSTRACT),
+        ENUM(ACC_ENUM + ACC_FINAL + ACC_SYNCHRONIZED),
+        ANNOTATION(ACC_INTERFACE + ACC_ABSTRACT + ACC_ANNOTATION);
+
+        private final int modifiers;
+
+        Type(int modifiers) {
+            this.modifiers = modifiers;
+        }
+
+        /**
+         * Access flags implied by this type. {@code ClassInfo} strips them from its modifiers,
+         * add them back to recover the original access flags of a class.
+         */
+        public int getModifiers() {
+            return modifiers;
+        }
     }
 
     private ClassInfo(String name, Type type, int version, int modifiers, String typeParameters, String superclass, String[] interfaces) {
@@ -86,14 +104,12 @@ public class ClassInfo extends MemberInfo<ClassInfo> {
         Type type = Type.CLASS;
         if (Modifiers.isEnum(modifiers)) {
             type = Type.ENUM;
-            modifiers = modifiers - (ACC_ENUM + ACC_FINAL + ACC_SYNCHRONIZED);
         } else if (Modifiers.isAnnotation(modifiers)) {
             type = Type.ANNOTATION;
-            modifiers = modifiers - (ACC_INTERFACE + ACC_ABSTRACT + ACC_ANNOTATION);
         } else if (Modifiers.isInterface(modifiers)) {
             type = Type.INTERFACE;
-            modifiers = modifiers - (ACC_INTERFACE + ACC_ABSTRACT);
         }
+        modifiers = modifiers - type.getModifiers();
 
         return new ClassInfo(name.replace('/', '.'), type, version, modifiers, typeParameters, superclass.replace('/', '.'), array);
     }
@@ -152,31 +168,50 @@ public class ClassInfo extends MemberInfo<ClassInfo> {
     }
 
     public ClassInfo addToFields(FieldInfo field) {
-        fields.add(field);
-        if (!isEnum()) {
-            Collections.sort(fields);
+        requireNotFrozen();
+        if (isEnum()) {
+            // enum constants keep their declaration order
+            fields.add(field);
+        } else {
+            fieldsSorted = append(fields, field, fieldsSorted);
         }
         return this;
     }
 
     public ClassInfo addToConstructors(ConstructorInfo constructor) {
-        constructors.add(constructor);
-        Collections.sort(constructors);
+        requireNotFrozen();
+        constructorsSorted = append(constructors, constructor, constructorsSorted);
         return this;
     }
 
     public ClassInfo addToMethods(MethodInfo method) {
-        methods.add(method);
-        Collections.sort(methods);
+        requireNotFrozen();
+        methodsSorted = append(methods, method, methodsSorted);
         return this;
     }
 
     public ClassInfo addToClasses(InnerClassInfo klass) {
-        classes.add(klass);
-        Collections.sort(classes);
+        requireNotFrozen();
+        classesSorted = append(classes, klass, classesSorted);
         return this;
     }
 
+    @Override
+    public ClassInfo freeze() {
+        if (!isFrozen()) {
+            fields = freeze(fields, !fieldsSorted);
+            constructors = freeze(constructors, !constructorsSorted);
+            methods = freeze(methods, !methodsSorted);
+            classes = freeze(classes, !classesSorted);
+            fieldsSorted = constructorsSorted = methodsSorted = classesSorted = true;
+            fields.forEach(FieldInfo::freeze);
+            constructors.forEach(ConstructorInfo::freeze);
+            methods.forEach(MethodInfo::freeze);
+            classes.forEach(InnerClassInfo::freeze);
+        }
+        return super.freeze();
+    }
+
     @Override
     public String getContent() {
         StringBuilder b = new StringBuilder("C{N=")
@@ -196,16 +231,7 @@ public class ClassInfo extends MemberInfo<ClassInfo> {
             .append("#D=")
             .append(getModifiers());
 
-        if (!getAnnotations().isEmpty()) {
-            b.append("#A=[");
-            for (int i = 0; i < getAnnotations().size(); i++) {
-                if (i != 0) {
-                    b.append(",");
-                }
-                b.append(getAnnotations().get(i).getContent());
-            }
-            b.append("]");
-        }
+        appendContent(b, "#A=[", getAnnotations());
 
         if (interfaces.length > 0) {
             b.append("#I=[");
@@ -218,53 +244,47 @@ public class ClassInfo extends MemberInfo<ClassInfo> {
             b.append("]");
         }
 
-        if (!getFields().isEmpty()) {
-            b.append("#F=[");
-            for (int i = 0; i < getFields().size(); i++) {
-                if (i != 0) {
-                    b.append(",");
-                }
-                b.append(getFields().get(i).getContent());
-            }
-            b.append("]");
-        }
+        appendContent(b, "#F=[", getFields());
 
-        if (!getConstructors().isEmpty()) {
-            b.append("#CT=[");
-            for (int i = 0; i < getConstructors().size(); i++) {
-                if (i != 0) {
-                    b.append(",");
-                }
-                b.append(getConstructors().get(i).getContent());
-            }
-            b.append("]");
-        }
+        appendContent(b, "#CT=[", getConstructors());
 
-        if (!getMethods().isEmpty()) {
-            b.append("#M=[");
-            for (int i = 0; i < getMethods().size(); i++) {
-                if (i != 0) {
-                    b.append(",");
-                }
-                b.append(getMethods().get(i).getContent());
-            }
-            b.append("]");
-        }
+        appendContent(b, "#M=[", getMethods());
 
-        if (!getClasses().isEmpty()) {
-            b.append("#IC=[");
-            for (int i = 0; i < getClasses().size(); i++) {
+        appendContent(b, "#IC=[", getClasses());
+
+        b.append("}");
+
+        return b.toString();
+    }
+
+    private static void appendContent(StringBuilder b, String key, List<? extends NamedInfo<?>> elements) {
+        if (!elements.isEmpty()) {
+            b.append(key);
+            for (int i = 0; i < elements.size(); i++) {
                 if (i != 0) {
                     b.append(",");
                 }
-                b.append(getClasses().get(i).getContent());
+                b.append(elements.get(i).getContent());
             }
             b.append("]");
         }
+    }
 
-        b.append("}");
-
-        return b.toString();
+    @Override
+    public void hashContent(ContentHasher hasher) {
+        hasher.putByte((byte) 'C')
+            .putString(getName())
+            .putInt(type.ordinal())
+            .putInt(version)
+            .putString(typeParameters)
+            .putString(superclass)
+            .putInt(getModifiers());
+        hashAll(hasher, getAnnotations());
+        hashAll(hasher, interfaces);
+        hashAll(hasher, getFields());
+        hashAll(hasher, getConstructors());
+        hashAll(hasher, getMethods());
+        hashAll(hasher, getClasses());
     }
 
     public static class ClassInfoBuilder {
@@ -368,19 +388,19 @@ public class ClassInfo extends MemberInfo<ClassInfo> {
     }
 
     public List<FieldInfo> getFields() {
-        return this.fields;
+        return sorted(fields, fieldsSorted);
     }
 
     public List<ConstructorInfo> getConstructors() {
-        return this.constructors;
+        return sorted(constructors, constructorsSorted);
     }
 
     public List<MethodInfo> getMethods() {
-        return this.methods;
+        return sorted(methods, methodsSorted);
     }
 
     public List<InnerClassInfo> getClasses() {
-        return this.classes;
+        return sorted(classes, classesSorted);
     }
 
     public Type getType() {
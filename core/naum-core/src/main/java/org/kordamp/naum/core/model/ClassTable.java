@@ -0,0 +1,758 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Immutable, column oriented {@link ClassIndex}. Every attribute of classes and
+ * members is kept in a primitive array indexed by row, names and types are ids
+ * into a shared symbol array and children are {@code [start, end)} ranges into
+ * the member columns. Annotations are rare and are kept as frozen objects.
+ * <p>
+ * Rows are exposed through flyweight views that mirror the accessors of
+ * {@link ClassInfo} and its members; {@link #getClassInfo(String)} materializes
+ * a regular {@code ClassInfo} for the differs.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+public final class ClassTable implements ClassIndex {
+    private static final int NONE = -1;
+    private static final ClassInfo.Type[] TYPES = ClassInfo.Type.values();
+
+    private final String algorithm;
+    private final String[] symbols;
+    private final AnnotationInfo[] annotations;
+    private final int[] exceptions;
+    private final int[] interfaces;
+
+    // classes, sorted by name
+    private final int[] classNames;
+    private final byte[] classTypes;
+    private final int[] classVersions;
+    private final int[] classModifiers;
+    private final int[] classTypeParameters;
+    private final int[] classSuperclasses;
+    private final long[] classHashHigh;
+    private final long[] classHashLow;
+    private final int[] classInterfaces;
+    private final int[] classAnnotations;
+    private final int[] classFields;
+    private final int[] classConstructors;
+    private final int[] classMethods;
+    private final int[] classInnerClasses;
+
+    private final int[] fieldNames;
+    private final int[] fieldModifiers;
+    private final int[] fieldTypes;
+    private final Object[] fieldValues;
+    private final int[] fieldAnnotations;
+
+    private final int[] constructorModifiers;
+    private final int[] constructorArguments;
+    private final int[] constructorExceptions;
+    private final int[] constructorAnnotations;
+
+    private final int[] methodNames;
+    private final int[] methodModifiers;
+    private final int[] methodGenericTypes;
+    private final int[] methodReturnTypes;
+    private final int[] methodArguments;
+    private final int[] methodExceptions;
+    private final int[] methodAnnotations;
+
+    private final int[] innerClassNames;
+    private final int[] innerClassModifiers;
+    private final int[] innerClassAnnotations;
+
+    private final List<String> names;
+
+    private ClassTable(Builder b) {
+        this.algorithm = b.algorithm;
+        this.symbols = b.symbols.toArray(new String[0]);
+        this.annotations = b.annotations.toArray(new AnnotationInfo[0]);
+        this.exceptions = b.exceptions.toArray();
+        this.interfaces = b.interfaces.toArray();
+        this.classNames = b.classNames;
+        this.classTypes = b.classTypes;
+        this.classVersions = b.classVersions;
+        this.classModifiers = b.classModifiers;
+        this.classTypeParameters = b.classTypeParameters;
+        this.classSuperclasses = b.classSuperclasses;
+        this.classHashHigh = b.classHashHigh;
+        this.classHashLow = b.classHashLow;
+        this.classInterfaces = b.classInterfaces;
+        this.classAnnotations = b.classAnnotations;
+        this.classFields = b.classFields;
+        this.classConstructors = b.classConstructors;
+        this.classMethods = b.classMethods;
+        this.classInnerClasses = b.classInnerClasses;
+        this.fieldNames = b.fieldNames;
+        this.fieldModifiers = b.fieldModifiers;
+        this.fieldTypes = b.fieldTypes;
+        this.fieldValues = b.fieldValues;
+        this.fieldAnnotations = b.fieldAnnotations;
+        this.constructorModifiers = b.constructorModifiers;
+        this.constructorArguments = b.constructorArguments;
+        this.constructorExceptions = b.constructorExceptions;
+        this.constructorAnnotations = b.constructorAnnotations;
+        this.methodNames = b.methodNames;
+        this.methodModifiers = b.methodModifiers;
+        this.methodGenericTypes = b.methodGenericTypes;
+        this.methodReturnTypes = b.methodReturnTypes;
+        this.methodArguments = b.methodArguments;
+        this.methodExceptions = b.methodExceptions;
+        this.methodAnnotations = b.methodAnnotations;
+        this.innerClassNames = b.innerClassNames;
+        this.innerClassModifiers = b.innerClassModifiers;
+        this.innerClassAnnotations = b.innerClassAnnotations;
+        this.names = range(0, classNames.length, row -> symbols[classNames[row]]);
+    }
+
+    /**
+     * Copies the given classes into a new table. When several classes share a name
+     * the first occurrence wins, same as {@link ClassIndex#of(Collection)}.
+     */
+    public static ClassTable of(Collection<ClassInfo> classes) {
+        Map<String, ClassInfo> unique = new HashMap<>(classes.size() * 2);
+        for (ClassInfo classInfo : classes) {
+            unique.putIfAbsent(classInfo.getName(), classInfo);
+        }
+        List<ClassInfo> sorted = new ArrayList<>(unique.values());
+        sorted.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return new Builder(sorted).build();
+    }
+
+    public int size() {
+        return classNames.length;
+    }
+
+    @Override
+    public List<String> getClassNames() {
+        return names;
+    }
+
+    @Override
+    public ContentHash getContentHash(String className) {
+        int row = rowOf(className);
+        return row < 0 ? null : ContentHash.of(classHashHigh[row], classHashLow[row]);
+    }
+
+    @Override
+    public ClassInfo getClassInfo(String className) {
+        int row = rowOf(className);
+        return row < 0 ? null : new ClassView(row).toClassInfo();
+    }
+
+    @Override
+    public boolean contains(String className) {
+        return rowOf(className) >= 0;
+    }
+
+    @Override
+    public String getHashAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * @return a view over the named class or {@code null} if the class is not part of this table.
+     */
+    public ClassView getClassView(String className) {
+        int row = rowOf(className);
+        return row < 0 ? null : new ClassView(row);
+    }
+
+    /**
+     * Views over all classes, in name order.
+     */
+    public List<ClassView> getClassViews() {
+        return range(0, classNames.length, ClassView::new);
+    }
+
+    @Override
+    public String toString() {
+        return "ClassTable(classes=" + classNames.length + ", symbols=" + symbols.length + ")";
+    }
+
+    private int rowOf(String className) {
+        int low = 0;
+        int high = classNames.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int cmp = symbols[classNames[middle]].compareTo(className);
+            if (cmp < 0) {
+                low = middle + 1;
+            } else if (cmp > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private String symbol(int id) {
+        return id == NONE ? null : symbols[id];
+    }
+
+    private String[] symbols(int[] ids, int from, int to) {
+        String[] values = new String[to - from];
+        for (int i = from; i < to; i++) {
+            values[i - from] = symbols[ids[i]];
+        }
+        return values;
+    }
+
+    private List<AnnotationInfo> annotations(int[] ranges, int index) {
+        return Collections.unmodifiableList(Arrays.asList(annotations).subList(ranges[index], ranges[index + 1]));
+    }
+
+    private static <V> List<V> range(int from, int to, IntFunction<V> factory) {
+        return new AbstractList<V>() {
+            @Override
+            public V get(int index) {
+                if (index < 0 || index >= to - from) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + (to - from));
+                }
+                return factory.apply(from + index);
+            }
+
+            @Override
+            public int size() {
+                return to - from;
+            }
+        };
+    }
+
+    /**
+     * Flyweight view over a single class row.
+     */
+    public final class ClassView {
+        private final int row;
+
+        private ClassView(int row) {
+            this.row = row;
+        }
+
+        public String getName() {
+            return symbols[classNames[row]];
+        }
+
+        public ClassInfo.Type getType() {
+            return TYPES[classTypes[row]];
+        }
+
+        public boolean isClass() {
+            return getType() == ClassInfo.Type.CLASS;
+        }
+
+        public boolean isInterface() {
+            return getType() == ClassInfo.Type.INTERFACE;
+        }
+
+        public boolean isEnum() {
+            return getType() == ClassInfo.Type.ENUM;
+        }
+
+        public boolean isAnnotation() {
+            return getType() == ClassInfo.Type.ANNOTATION;
+        }
+
+        public int getVersion() {
+            return classVersions[row];
+        }
+
+        public int getModifiers() {
+            return classModifiers[row];
+        }
+
+        public String getTypeParameters() {
+            return symbol(classTypeParameters[row]);
+        }
+
+        public String getSuperclass() {
+            return symbol(classSuperclasses[row]);
+        }
+
+        public String[] getInterfaces() {
+            return symbols(interfaces, classInterfaces[row], classInterfaces[row + 1]);
+        }
+
+        public ContentHash getContentHash() {
+            return ContentHash.of(classHashHigh[row], classHashLow[row]);
+        }
+
+        public List<AnnotationInfo> getAnnotations() {
+            return annotations(classAnnotations, row);
+        }
+
+        public List<FieldView> getFields() {
+            return range(classFields[row], classFields[row + 1], FieldView::new);
+        }
+
+        public List<ConstructorView> getConstructors() {
+            return range(classConstructors[row], classConstructors[row + 1], ConstructorView::new);
+        }
+
+        public List<MethodView> getMethods() {
+            return range(classMethods[row], classMethods[row + 1], MethodView::new);
+        }
+
+        public List<InnerClassView> getClasses() {
+            return range(classInnerClasses[row], classInnerClasses[row + 1], InnerClassView::new);
+        }
+
+        /**
+         * Materializes this row as a frozen {@code ClassInfo}.
+         */
+        public ClassInfo toClassInfo() {
+            ClassInfo classInfo = ClassInfo.classInfo()
+                .name(getName())
+                .version(getVersion())
+                .modifiers(getModifiers() + getType().getModifiers())
+                .typeParameters(getTypeParameters())
+                .superclass(getSuperclass())
+                .interfaces(getInterfaces())
+                .build();
+            getAnnotations().forEach(classInfo::addToAnnotations);
+            for (FieldView field : getFields()) {
+                classInfo.addToFields(field.toFieldInfo());
+            }
+            for (ConstructorView constructor : getConstructors()) {
+                classInfo.addToConstructors(constructor.toConstructorInfo());
+            }
+            for (MethodView method : getMethods()) {
+                classInfo.addToMethods(method.toMethodInfo());
+            }
+            for (InnerClassView innerClass : getClasses()) {
+                classInfo.addToClasses(innerClass.toInnerClassInfo());
+            }
+            return classInfo.freeze();
+        }
+
+        @Override
+        public String toString() {
+            return "ClassView(name=" + getName() + ")";
+        }
+    }
+
+    public final class FieldView {
+        private final int index;
+
+        private FieldView(int index) {
+            this.index = index;
+        }
+
+        public String getName() {
+            return symbols[fieldNames[index]];
+        }
+
+        public int getModifiers() {
+            return fieldModifiers[index];
+        }
+
+        public String getType() {
+            return symbol(fieldTypes[index]);
+        }
+
+        public Object getValue() {
+            return fieldValues[index];
+        }
+
+        public List<AnnotationInfo> getAnnotations() {
+            return annotations(fieldAnnotations, index);
+        }
+
+        public FieldInfo toFieldInfo() {
+            FieldInfo field = FieldInfo.fieldInfo()
+                .name(getName())
+                .modifiers(getModifiers())
+                .type(getType())
+                .value(getValue())
+                .build();
+            getAnnotations().forEach(field::addToAnnotations);
+            return field;
+        }
+
+        @Override
+        public String toString() {
+            return "FieldView(name=" + getName() + ")";
+        }
+    }
+
+    public final class ConstructorView {
+        private final int index;
+
+        private ConstructorView(int index) {
+            this.index = index;
+        }
+
+        public int getModifiers() {
+            return constructorModifiers[index];
+        }
+
+        public String getArgumentTypes() {
+            return symbol(constructorArguments[index]);
+        }
+
+        public String[] getExceptions() {
+            return symbols(exceptions, constructorExceptions[index], constructorExceptions[index + 1]);
+        }
+
+        public List<AnnotationInfo> getAnnotations() {
+            return annotations(constructorAnnotations, index);
+        }
+
+        public ConstructorInfo toConstructorInfo() {
+            ConstructorInfo constructor = ConstructorInfo.constructorInfo()
+                .modifiers(getModifiers())
+                .argumentTypes(getArgumentTypes())
+                .exceptions(getExceptions())
+                .build();
+            getAnnotations().forEach(constructor::addToAnnotations);
+            return constructor;
+        }
+
+        @Override
+        public String toString() {
+            return "ConstructorView(argumentTypes=" + getArgumentTypes() + ")";
+        }
+    }
+
+    public final class MethodView {
+        private final int index;
+
+        private MethodView(int index) {
+            this.index = index;
+        }
+
+        public String getName() {
+            return symbols[methodNames[index]];
+        }
+
+        public int getModifiers() {
+            return methodModifiers[index];
+        }
+
+        public String getGenericTypes() {
+            return symbol(methodGenericTypes[index]);
+        }
+
+        public String getReturnType() {
+            return symbol(methodReturnTypes[index]);
+        }
+
+        public String getArgumentTypes() {
+            return symbol(methodArguments[index]);
+        }
+
+        public String[] getExceptions() {
+            return symbols(exceptions, methodExceptions[index], methodExceptions[index + 1]);
+        }
+
+        public List<AnnotationInfo> getAnnotations() {
+            return annotations(methodAnnotations, index);
+        }
+
+        public MethodInfo toMethodInfo() {
+            MethodInfo method = MethodInfo.methodInfo()
+                .name(getName())
+                .modifiers(getModifiers())
+                .genericTypes(getGenericTypes())
+                .returnType(getReturnType())
+                .argumentTypes(getArgumentTypes())
+                .exceptions(getExceptions())
+                .build();
+            getAnnotations().forEach(method::addToAnnotations);
+            return method;
+        }
+
+        @Override
+        public String toString() {
+            return "MethodView(name=" + getName() + ")";
+        }
+    }
+
+    public final class InnerClassView {
+        private final int index;
+
+        private InnerClassView(int index) {
+            this.index = index;
+        }
+
+        public String getName() {
+            return symbols[innerClassNames[index]];
+        }
+
+        public int getModifiers() {
+            return innerClassModifiers[index];
+        }
+
+        public List<AnnotationInfo> getAnnotations() {
+            return annotations(innerClassAnnotations, index);
+        }
+
+        public InnerClassInfo toInnerClassInfo() {
+            InnerClassInfo innerClass = InnerClassInfo.innerClassInfo()
+                .name(getName())
+                .modifiers(getModifiers())
+                .build();
+            getAnnotations().forEach(innerClass::addToAnnotations);
+            return innerClass;
+        }
+
+        @Override
+        public String toString() {
+            return "InnerClassView(name=" + getName() + ")";
+        }
+    }
+
+    /**
+     * Sizes every column up front from the source classes, then fills them.
+     */
+    private static final class Builder {
+        private final String algorithm = ContentHashers.newHasher().getAlgorithm();
+        private final Map<String, Integer> symbolIds = new HashMap<>();
+        private final List<String> symbols = new ArrayList<>();
+        private final List<AnnotationInfo> annotations = new ArrayList<>();
+        private final IntColumn exceptions = new IntColumn();
+        private final IntColumn interfaces = new IntColumn();
+
+        private final int[] classNames;
+        private final byte[] classTypes;
+        private final int[] classVersions;
+        private final int[] classModifiers;
+        private final int[] classTypeParameters;
+        private final int[] classSuperclasses;
+        private final long[] classHashHigh;
+        private final long[] classHashLow;
+        private final int[] classInterfaces;
+        private final int[] classAnnotations;
+        private final int[] classFields;
+        private final int[] classConstructors;
+        private final int[] classMethods;
+        private final int[] classInnerClasses;
+
+        private final int[] fieldNames;
+        private final int[] fieldModifiers;
+        private final int[] fieldTypes;
+        private final Object[] fieldValues;
+        private final int[] fieldAnnotations;
+
+        private final int[] constructorModifiers;
+        private final int[] constructorArguments;
+        private final int[] constructorExceptions;
+        private final int[] constructorAnnotations;
+
+        private final int[] methodNames;
+        private final int[] methodModifiers;
+        private final int[] methodGenericTypes;
+        private final int[] methodReturnTypes;
+        private final int[] methodArguments;
+        private final int[] methodExceptions;
+        private final int[] methodAnnotations;
+
+        private final int[] innerClassNames;
+        private final int[] innerClassModifiers;
+        private final int[] innerClassAnnotations;
+
+        private Builder(List<ClassInfo> classes) {
+            int classCount = classes.size();
+            int fieldCount = 0;
+            int constructorCount = 0;
+            int methodCount = 0;
+            int innerClassCount = 0;
+            for (ClassInfo classInfo : classes) {
+                fieldCount += classInfo.getFields().size();
+                constructorCount += classInfo.getConstructors().size();
+                methodCount += classInfo.getMethods().size();
+                innerClassCount += classInfo.getClasses().size();
+            }
+
+            classNames = new int[classCount];
+            classTypes = new byte[classCount];
+            classVersions = new int[classCount];
+            classModifiers = new int[classCount];
+            classTypeParameters = new int[classCount];
+            classSuperclasses = new int[classCount];
+            classHashHigh = new long[classCount];
+            classHashLow = new long[classCount];
+            classInterfaces = new int[classCount + 1];
+            classAnnotations = new int[classCount + 1];
+            classFields = new int[classCount + 1];
+            classConstructors = new int[classCount + 1];
+            classMethods = new int[classCount + 1];
+            classInnerClasses = new int[classCount + 1];
+
+            fieldNames = new int[fieldCount];
+            fieldModifiers = new int[fieldCount];
+            fieldTypes = new int[fieldCount];
+            fieldValues = new Object[fieldCount];
+            fieldAnnotations = new int[fieldCount + 1];
+
+            constructorModifiers = new int[constructorCount];
+            constructorArguments = new int[constructorCount];
+            constructorExceptions = new int[constructorCount + 1];
+            constructorAnnotations = new int[constructorCount + 1];
+
+            methodNames = new int[methodCount];
+            methodModifiers = new int[methodCount];
+            methodGenericTypes = new int[methodCount];
+            methodReturnTypes = new int[methodCount];
+            methodArguments = new int[methodCount];
+            methodExceptions = new int[methodCount + 1];
+            methodAnnotations = new int[methodCount + 1];
+
+            innerClassNames = new int[innerClassCount];
+            innerClassModifiers = new int[innerClassCount];
+            innerClassAnnotations = new int[innerClassCount + 1];
+
+            // one pass per kind keeps the annotation and exception ranges of each kind contiguous
+            for (int row = 0; row < classCount; row++) {
+                ClassInfo classInfo = classes.get(row);
+                ContentHash hash = classInfo.getContentHash();
+                classNames[row] = id(classInfo.getName());
+                classTypes[row] = (byte) classInfo.getType().ordinal();
+                classVersions[row] = classInfo.getVersion();
+                classModifiers[row] = classInfo.getModifiers();
+                classTypeParameters[row] = id(classInfo.getTypeParameters());
+                classSuperclasses[row] = id(classInfo.getSuperclass());
+                classHashHigh[row] = hash.getHigh();
+                classHashLow[row] = hash.getLow();
+                for (String iface : classInfo.getInterfaces()) {
+                    interfaces.add(id(iface));
+                }
+                classInterfaces[row + 1] = interfaces.size();
+                classAnnotations[row + 1] = addAnnotations(classInfo);
+            }
+
+            int field = 0;
+            fieldAnnotations[0] = annotations.size();
+            for (int row = 0; row < classCount; row++) {
+                for (FieldInfo f : classes.get(row).getFields()) {
+                    fieldNames[field] = id(f.getName());
+                    fieldModifiers[field] = f.getModifiers();
+                    fieldTypes[field] = id(f.getType());
+                    fieldValues[field] = f.getValue();
+                    fieldAnnotations[++field] = addAnnotations(f);
+                }
+                classFields[row + 1] = field;
+            }
+
+            int constructor = 0;
+            constructorAnnotations[0] = annotations.size();
+            constructorExceptions[0] = exceptions.size();
+            for (int row = 0; row < classCount; row++) {
+                for (ConstructorInfo c : classes.get(row).getConstructors()) {
+                    constructorModifiers[constructor] = c.getModifiers();
+                    constructorArguments[constructor] = id(c.getArgumentTypes());
+                    constructorAnnotations[constructor + 1] = addAnnotations(c);
+                    constructorExceptions[++constructor] = addExceptions(c.getExceptions());
+                }
+                classConstructors[row + 1] = constructor;
+            }
+
+            int method = 0;
+            methodAnnotations[0] = annotations.size();
+            methodExceptions[0] = exceptions.size();
+            for (int row = 0; row < classCount; row++) {
+                for (MethodInfo m : classes.get(row).getMethods()) {
+                    methodNames[method] = id(m.getName());
+                    methodModifiers[method] = m.getModifiers();
+                    methodGenericTypes[method] = id(m.getGenericTypes());
+                    methodReturnTypes[method] = id(m.getReturnType());
+                    methodArguments[method] = id(m.getArgumentTypes());
+                    methodAnnotations[method + 1] = addAnnotations(m);
+                    methodExceptions[++method] = addExceptions(m.getExceptions());
+                }
+                classMethods[row + 1] = method;
+            }
+
+            int innerClass = 0;
+            innerClassAnnotations[0] = annotations.size();
+            for (int row = 0; row < classCount; row++) {
+                for (InnerClassInfo i : classes.get(row).getClasses()) {
+                    innerClassNames[innerClass] = id(i.getName());
+                    innerClassModifiers[innerClass] = i.getModifiers();
+                    innerClassAnnotations[++innerClass] = addAnnotations(i);
+                }
+                classInnerClasses[row + 1] = innerClass;
+            }
+        }
+
+        private ClassTable build() {
+            return new ClassTable(this);
+        }
+
+        private int id(String symbol) {
+            if (symbol == null) {
+                return NONE;
+            }
+            Integer id = symbolIds.get(symbol);
+            if (id == null) {
+                id = symbols.size();
+                symbols.add(symbol);
+                symbolIds.put(symbol, id);
+            }
+            return id;
+        }
+
+        private int addAnnotations(AnnotatedInfo<?> element) {
+            for (AnnotationInfo annotation : element.getAnnotations()) {
+                annotations.add(annotation);
+            }
+            return annotations.size();
+        }
+
+        private int addExceptions(String[] values) {
+            for (String value : values) {
+                exceptions.add(id(value));
+            }
+            return exceptions.size();
+        }
+    }
+
+    private static final class IntColumn {
+        private int[] values = new int[64];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
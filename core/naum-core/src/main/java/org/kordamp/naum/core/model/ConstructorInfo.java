@@ -82,6 +82,14 @@ public class ConstructorInfo extends MemberInfo<ConstructorInfo> {
         return b.toString();
     }
 
+    @Override
+    public void hashContent(ContentHasher hasher) {
+        hasher.putByte((byte) 'K')
+            .putInt(getModifiers());
+        hashAll(hasher, getAnnotations());
+        hasher.putString(argumentTypes);
+        hashAll(hasher, exceptions);
+    }
 
     public static class ConstructorInfoBuilder {
         private int modifiers;
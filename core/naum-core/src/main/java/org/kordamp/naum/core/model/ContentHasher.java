@@ -0,0 +1,55 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.model;
+
+/**
+ * Streaming hash function used to compute content hashes of model elements.
+ * Implementations are not thread-safe.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+public interface ContentHasher {
+    String getAlgorithm();
+
+    ContentHasher putByte(byte value);
+
+    ContentHasher putInt(int value);
+
+    ContentHasher putLong(long value);
+
+    ContentHasher putBytes(byte[] bytes, int offset, int length);
+
+    /**
+     * Adds the length and characters of the given value. {@code null} is
+     * distinguishable from the empty string.
+     */
+    ContentHasher putString(CharSequence value);
+
+    default ContentHasher putBoolean(boolean value) {
+        return putByte(value ? (byte) 1 : (byte) 0);
+    }
+
+    default ContentHasher putHash(ContentHash hash) {
+        return putLong(hash.getHigh()).putLong(hash.getLow());
+    }
+
+    ContentHash hash();
+
+    ContentHasher reset();
+}
@@ -0,0 +1,49 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.model;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Provides the {@code ContentHasher} used by model elements. The factory may be
+ * replaced, but only before any content hash has been computed, as hashes are
+ * cached by each element.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+public final class ContentHashers {
+    private static volatile Supplier<? extends ContentHasher> factory = Murmur3ContentHasher::new;
+
+    private ContentHashers() {
+        // noop
+    }
+
+    public static ContentHasher newHasher() {
+        return factory.get();
+    }
+
+    public static void setFactory(Supplier<? extends ContentHasher> factory) {
+        ContentHashers.factory = Objects.requireNonNull(factory, "factory");
+    }
+
+    public static void resetFactory() {
+        factory = Murmur3ContentHasher::new;
+    }
+}
@@ -65,6 +65,16 @@ public class FieldInfo extends MemberInfo<FieldInfo> {
         return b.toString();
     }
 
+    @Override
+    public void hashContent(ContentHasher hasher) {
+        hasher.putByte((byte) 'F')
+            .putString(getName())
+            .putString(type)
+            .putInt(getModifiers());
+        hashAll(hasher, getAnnotations());
+        hasher.putString(isClassConstant() && null != value ? String.valueOf(value) : null);
+    }
+
     public boolean isClassConstant() {
         return Modifiers.isStatic(getModifiers()) && Modifiers.isFinal(getModifiers());
     }
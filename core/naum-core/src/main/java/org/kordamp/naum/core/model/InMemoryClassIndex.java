@@ -0,0 +1,78 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+final class InMemoryClassIndex implements ClassIndex {
+    private final Map<String, ClassInfo> classes;
+    private final List<String> names;
+    private final String algorithm;
+
+    InMemoryClassIndex(Collection<ClassInfo> classes) {
+        this.classes = new HashMap<>(classes.size() * 2);
+        for (ClassInfo classInfo : classes) {
+            // first occurrence wins, same as a classpath lookup
+            this.classes.putIfAbsent(classInfo.getName(), classInfo);
+        }
+        List<String> names = new ArrayList<>(this.classes.keySet());
+        Collections.sort(names);
+        this.names = Collections.unmodifiableList(names);
+        this.algorithm = ContentHashers.newHasher().getAlgorithm();
+    }
+
+    @Override
+    public List<String> getClassNames() {
+        return names;
+    }
+
+    @Override
+    public ContentHash getContentHash(String className) {
+        ClassInfo classInfo = classes.get(className);
+        return classInfo != null ? classInfo.getContentHash() : null;
+    }
+
+    @Override
+    public ClassInfo getClassInfo(String className) {
+        return classes.get(className);
+    }
+
+    @Override
+    public boolean contains(String className) {
+        return classes.containsKey(className);
+    }
+
+    @Override
+    public String getHashAlgorithm() {
+        return algorithm;
+    }
+
+    @Override
+    public String toString() {
+        return "InMemoryClassIndex(classes=" + names.size() + ")";
+    }
+}
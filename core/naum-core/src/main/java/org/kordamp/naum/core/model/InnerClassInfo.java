@@ -38,6 +38,13 @@ public class InnerClassInfo extends MemberInfo<InnerClassInfo> {
             getModifiers();
     }
 
+    @Override
+    public void hashContent(ContentHasher hasher) {
+        hasher.putByte((byte) 'I')
+            .putString(getName())
+            .putInt(getModifiers());
+    }
+
     public static class InnerClassInfoBuilder {
         private String name;
         private int modifiers;
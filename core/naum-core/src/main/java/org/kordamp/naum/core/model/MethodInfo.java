@@ -99,6 +99,18 @@ public class MethodInfo extends MemberInfo<MethodInfo> {
         return b.toString();
     }
 
+    @Override
+    public void hashContent(ContentHasher hasher) {
+        hasher.putByte((byte) 'M')
+            .putString(getName())
+            .putString(genericTypes)
+            .putString(returnType)
+            .putInt(getModifiers());
+        hashAll(hasher, getAnnotations());
+        hasher.putString(argumentTypes);
+        hashAll(hasher, exceptions);
+    }
+
     public static class MethodInfoBuilder {
         private String name;
         private int modifiers;
@@ -0,0 +1,247 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.model;
+
+/**
+ * Streaming implementation of MurmurHash3 x64 128-bit. Values are consumed as
+ * little-endian bytes, thus the result is the same as hashing the equivalent
+ * byte sequence in one go.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+public final class Murmur3ContentHasher implements ContentHasher {
+    public static final String ALGORITHM = "murmur3-128";
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private final long seed;
+    private long h1;
+    private long h2;
+    private long k1;
+    private long k2;
+    private int buffered;
+    private long length;
+
+    public Murmur3ContentHasher() {
+        this(0);
+    }
+
+    public Murmur3ContentHasher(long seed) {
+        this.seed = seed;
+        reset();
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return ALGORITHM;
+    }
+
+    @Override
+    public ContentHasher reset() {
+        h1 = seed;
+        h2 = seed;
+        k1 = 0;
+        k2 = 0;
+        buffered = 0;
+        length = 0;
+        return this;
+    }
+
+    @Override
+    public ContentHasher putByte(byte value) {
+        long b = value & 0xFFL;
+        if (buffered < 8) {
+            k1 |= b << (buffered << 3);
+        } else {
+            k2 |= b << ((buffered - 8) << 3);
+        }
+        length++;
+        if (++buffered == 16) {
+            mix();
+        }
+        return this;
+    }
+
+    @Override
+    public ContentHasher putInt(int value) {
+        if (buffered == 0 || buffered == 8) {
+            putAligned(value & 0xFFFFFFFFL, 4);
+        } else if (buffered == 4) {
+            k1 |= (value & 0xFFFFFFFFL) << 32;
+            buffered = 8;
+            length += 4;
+        } else if (buffered == 12) {
+            k2 |= (value & 0xFFFFFFFFL) << 32;
+            buffered = 16;
+            length += 4;
+            mix();
+        } else {
+            for (int i = 0; i < 4; i++) {
+                putByte((byte) (value >>> (i << 3)));
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public ContentHasher putLong(long value) {
+        if (buffered == 0) {
+            k1 = value;
+            buffered = 8;
+            length += 8;
+        } else if (buffered == 8) {
+            k2 = value;
+            buffered = 16;
+            length += 8;
+            mix();
+        } else {
+            for (int i = 0; i < 8; i++) {
+                putByte((byte) (value >>> (i << 3)));
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public ContentHasher putBytes(byte[] bytes, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        while (i < end && buffered != 0) {
+            putByte(bytes[i++]);
+        }
+        while (end - i >= 16) {
+            k1 = getLong(bytes, i);
+            k2 = getLong(bytes, i + 8);
+            this.length += 16;
+            buffered = 16;
+            mix();
+            i += 16;
+        }
+        while (i < end) {
+            putByte(bytes[i++]);
+        }
+        return this;
+    }
+
+    @Override
+    public ContentHasher putString(CharSequence value) {
+        if (value == null) {
+            return putInt(-1);
+        }
+
+        int size = value.length();
+        putInt(size);
+        int i = 0;
+        for (; i + 4 <= size; i += 4) {
+            putLong((long) value.charAt(i) |
+                (long) value.charAt(i + 1) << 16 |
+                (long) value.charAt(i + 2) << 32 |
+                (long) value.charAt(i + 3) << 48);
+        }
+        for (; i < size; i++) {
+            char c = value.charAt(i);
+            putByte((byte) c);
+            putByte((byte) (c >>> 8));
+        }
+        return this;
+    }
+
+    @Override
+    public ContentHash hash() {
+        long a = h1;
+        long b = h2;
+
+        if (buffered > 8) {
+            long k = k2 * C2;
+            k = Long.rotateLeft(k, 33);
+            k *= C1;
+            b ^= k;
+        }
+        if (buffered > 0) {
+            long k = k1 * C1;
+            k = Long.rotateLeft(k, 31);
+            k *= C2;
+            a ^= k;
+        }
+
+        a ^= length;
+        b ^= length;
+        a += b;
+        b += a;
+        a = fmix(a);
+        b = fmix(b);
+        a += b;
+        b += a;
+
+        return new ContentHash(a, b);
+    }
+
+    private void putAligned(long value, int size) {
+        if (buffered == 0) {
+            k1 = value;
+        } else {
+            k2 = value;
+        }
+        buffered += size;
+        length += size;
+    }
+
+    private void mix() {
+        long k = k1 * C1;
+        k = Long.rotateLeft(k, 31);
+        k *= C2;
+        h1 ^= k;
+        h1 = Long.rotateLeft(h1, 27);
+        h1 += h2;
+        h1 = h1 * 5 + 0x52dce729;
+
+        k = k2 * C2;
+        k = Long.rotateLeft(k, 33);
+        k *= C1;
+        h2 ^= k;
+        h2 = Long.rotateLeft(h2, 31);
+        h2 += h1;
+        h2 = h2 * 5 + 0x38495ab5;
+
+        k1 = 0;
+        k2 = 0;
+        buffered = 0;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    private static long getLong(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFFL) |
+            (bytes[offset + 1] & 0xFFL) << 8 |
+            (bytes[offset + 2] & 0xFFL) << 16 |
+            (bytes[offset + 3] & 0xFFL) << 24 |
+            (bytes[offset + 4] & 0xFFL) << 32 |
+            (bytes[offset + 5] & 0xFFL) << 40 |
+            (bytes[offset + 6] & 0xFFL) << 48 |
+            (bytes[offset + 7] & 0xFFL) << 56;
+    }
+}
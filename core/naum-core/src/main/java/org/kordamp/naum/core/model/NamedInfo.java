@@ -17,8 +17,7 @@
  */
 package org.kordamp.naum.core.model;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.List;
 
 /**
  * @author Stephan Classen
@@ -28,7 +27,9 @@ public abstract class NamedInfo<S extends NamedInfo<S>> implements Comparable<S>
     protected static final String[] EMPTY = new String[0];
     private final String name;
 
-    private String contentHash;
+    private volatile boolean hashed;
+    private long contentHashHigh;
+    private long contentHashLow;
 
     protected final S self() {
         return (S) this;
@@ -44,25 +45,45 @@ public abstract class NamedInfo<S extends NamedInfo<S>> implements Comparable<S>
 
     public abstract String getContent();
 
-    public final String getContentHash() {
-        if (contentHash == null) {
-            contentHash = toSHA1(getContent());
+    /**
+     * Streams the content of this element into the given hasher. Nested
+     * elements contribute their own (cached) content hash.
+     */
+    public abstract void hashContent(ContentHasher hasher);
+
+    public final ContentHash getContentHash() {
+        computeContentHash();
+        return new ContentHash(contentHashHigh, contentHashLow);
+    }
+
+    public final boolean hasSameContent(NamedInfo<?> other) {
+        computeContentHash();
+        other.computeContentHash();
+        return contentHashHigh == other.contentHashHigh && contentHashLow == other.contentHashLow;
+    }
+
+    private void computeContentHash() {
+        if (!hashed) {
+            ContentHasher hasher = ContentHashers.newHasher();
+            hashContent(hasher);
+            ContentHash hash = hasher.hash();
+            contentHashHigh = hash.getHigh();
+            contentHashLow = hash.getLow();
+            hashed = true;
+        }
+    }
+
+    protected static void hashAll(ContentHasher hasher, List<? extends NamedInfo<?>> elements) {
+        hasher.putInt(elements.size());
+        for (NamedInfo<?> element : elements) {
+            hasher.putHash(element.getContentHash());
         }
-        return contentHash;
     }
 
-    private static String toSHA1(String content) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-1");
-            byte[] bytes = md.digest(content.getBytes());
-
-            String result = "";
-            for (byte b : bytes) {
-                result += Integer.toString((b & 0xff) + 0x100, 16).substring(1);
-            }
-            return result;
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException(e);
+    protected static void hashAll(ContentHasher hasher, String[] values) {
+        hasher.putInt(values.length);
+        for (String value : values) {
+            hasher.putString(value);
         }
     }
 
@@ -18,7 +18,6 @@
 package org.kordamp.naum.core.model;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -26,7 +25,8 @@ import java.util.List;
  * @since 0.1.0
  */
 public class PackageInfo extends AnnotatedInfo<PackageInfo> {
-    private final List<InnerClassInfo> classes = new ArrayList<>();
+    private List<InnerClassInfo> classes = new ArrayList<>();
+    private boolean classesSorted = true;
 
     private PackageInfo(String name) {
         super(name);
@@ -37,11 +37,21 @@ public class PackageInfo extends AnnotatedInfo<PackageInfo> {
     }
 
     public PackageInfo addToClasses(InnerClassInfo klass) {
-        classes.add(klass);
-        Collections.sort(classes);
+        requireNotFrozen();
+        classesSorted = append(classes, klass, classesSorted);
         return this;
     }
 
+    @Override
+    public PackageInfo freeze() {
+        if (!isFrozen()) {
+            classes = freeze(classes, !classesSorted);
+            classesSorted = true;
+            classes.forEach(InnerClassInfo::freeze);
+        }
+        return super.freeze();
+    }
+
     @Override
     public String getContent() {
         StringBuilder b = new StringBuilder("P{N=")
@@ -74,6 +84,14 @@ public class PackageInfo extends AnnotatedInfo<PackageInfo> {
         return b.toString();
     }
 
+    @Override
+    public void hashContent(ContentHasher hasher) {
+        hasher.putByte((byte) 'P')
+            .putString(getName());
+        hashAll(hasher, getAnnotations());
+        hashAll(hasher, getClasses());
+    }
+
     public static class PackageInfoBuilder {
         private String name;
 
@@ -97,7 +115,7 @@ public class PackageInfo extends AnnotatedInfo<PackageInfo> {
     }
 
     public List<InnerClassInfo> getClasses() {
-        return this.classes;
+        return sorted(classes, classesSorted);
     }
 
     @Override
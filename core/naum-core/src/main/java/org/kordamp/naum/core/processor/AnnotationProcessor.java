@@ -21,8 +21,6 @@ import org.kordamp.naum.core.model.AnnotationInfo;
 import org.kordamp.naum.core.model.AnnotationValue;
 import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.Opcodes;
-import org.objectweb.asm.Type;
-import org.objectweb.asm.signature.SignatureReader;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
@@ -31,7 +29,6 @@ import java.util.List;
 import static org.kordamp.naum.core.model.AnnotationValue.newArrayValue;
 import static org.kordamp.naum.core.model.AnnotationValue.newEnumValue;
 import static org.kordamp.naum.core.model.AnnotationValue.newSimpleValue;
-import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
 
 /**
  * @author Andres Almiray
@@ -42,10 +39,16 @@ import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
  */
 public class AnnotationProcessor extends AnnotationVisitor {
     private final AnnotationInfo annotation;
+    private final SymbolTable symbols;
 
     public AnnotationProcessor(AnnotationInfo annotation) {
+        this(annotation, new SymbolTable());
+    }
+
+    public AnnotationProcessor(AnnotationInfo annotation, SymbolTable symbols) {
         super(Opcodes.ASM9);
         this.annotation = annotation;
+        this.symbols = symbols;
     }
 
     public AnnotationInfo getAnnotation() {
@@ -79,18 +82,14 @@ public class AnnotationProcessor extends AnnotationVisitor {
 
     @Override
     public void visitEnum(String name, String desc, String value) {
-        SignatureReader r = new SignatureReader(desc);
-        CustomTraceSignatureVisitor sv = new CustomTraceSignatureVisitor(ACC_PUBLIC);
-        r.accept(sv);
-
-        annotation.getValues().put(name, newEnumValue(sv.getTypeOrSuperclass(), value));
+        annotation.getValues().put(name, newEnumValue(symbols.descriptor(desc), value));
     }
 
     @Override
     public AnnotationVisitor visitAnnotation(String name, String desc) {
-        final String annotationName = Type.getType(desc).getClassName();
+        final String annotationName = symbols.descriptor(desc);
         final AnnotationInfo innerAnnotation = AnnotationInfo.annotationInfo().name(annotationName).build();
-        final AnnotationProcessor processor = new AnnotationProcessor(innerAnnotation);
+        final AnnotationProcessor processor = new AnnotationProcessor(innerAnnotation, symbols);
         annotation.getValues().put(name, innerAnnotation);
         return processor;
     }
@@ -98,7 +97,7 @@ public class AnnotationProcessor extends AnnotationVisitor {
     @Override
     public AnnotationVisitor visitArray(String name) {
         final List<AnnotationValue> values = new ArrayList<>();
-        final AnnotationArrayValueProcessor processor = new AnnotationArrayValueProcessor(values);
+        final AnnotationArrayValueProcessor processor = new AnnotationArrayValueProcessor(values, symbols);
         annotation.getValues().put(name, newArrayValue(values));
         return processor;
     }
@@ -106,10 +105,12 @@ public class AnnotationProcessor extends AnnotationVisitor {
     private static class AnnotationArrayValueProcessor extends AnnotationVisitor {
 
         private final List<AnnotationValue> values;
+        private final SymbolTable symbols;
 
-        public AnnotationArrayValueProcessor(List<AnnotationValue> values) {
+        public AnnotationArrayValueProcessor(List<AnnotationValue> values, SymbolTable symbols) {
             super(Opcodes.ASM9);
             this.values = values;
+            this.symbols = symbols;
         }
 
         @Override
@@ -119,18 +120,14 @@ public class AnnotationProcessor extends AnnotationVisitor {
 
         @Override
         public void visitEnum(String name, String desc, String value) {
-            SignatureReader r = new SignatureReader(desc);
-            CustomTraceSignatureVisitor sv = new CustomTraceSignatureVisitor(ACC_PUBLIC);
-            r.accept(sv);
-
-            values.add(newEnumValue(sv.getTypeOrSuperclass(), value));
+            values.add(newEnumValue(symbols.descriptor(desc), value));
         }
 
         @Override
         public AnnotationVisitor visitAnnotation(String name, String desc) {
-            final String annotationName = Type.getType(desc).getClassName();
+            final String annotationName = symbols.descriptor(desc);
             final AnnotationInfo innerAnnotation = AnnotationInfo.annotationInfo().name(annotationName).build();
-            final AnnotationProcessor processor = new AnnotationProcessor(innerAnnotation);
+            final AnnotationProcessor processor = new AnnotationProcessor(innerAnnotation, symbols);
             values.add(innerAnnotation);
             return processor;
         }
@@ -138,7 +135,7 @@ public class AnnotationProcessor extends AnnotationVisitor {
         @Override
         public AnnotationVisitor visitArray(String name) {
             final List<AnnotationValue> values = new ArrayList<>();
-            final AnnotationArrayValueProcessor processor = new AnnotationArrayValueProcessor(values);
+            final AnnotationArrayValueProcessor processor = new AnnotationArrayValueProcessor(values, symbols);
             values.add(newArrayValue(values));
             return processor;
         }
@@ -0,0 +1,493 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.processor;
+
+import org.kordamp.naum.core.NaumException;
+import org.kordamp.naum.core.model.ContentHash;
+import org.kordamp.naum.core.model.ContentHasher;
+import org.kordamp.naum.core.model.ContentHashers;
+import org.kordamp.naum.core.model.Opcodes;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashes the API of a class file straight from its constant pool, without building
+ * a model. Only the class header, the field and method tables and the attributes
+ * {@code ClassProcessor} records are read: Signature, Exceptions, ConstantValue,
+ * InnerClasses and runtime (in)visible annotations. Code, debug information and
+ * constant pool order do not contribute.
+ * <p>
+ * Members, annotations and annotation elements are combined in sorted order, enum
+ * constants in declaration order, the same as {@code ClassInfo} does. Two class files
+ * parsed with the same profile have the same fingerprint when their {@code ClassInfo}
+ * content hashes match; fingerprints are not comparable with content hashes.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+public final class ApiFingerprint {
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int UTF8 = 1;
+    private static final int INTEGER = 3;
+    private static final int FLOAT = 4;
+    private static final int LONG = 5;
+    private static final int DOUBLE = 6;
+    private static final int CLASS = 7;
+    private static final int STRING = 8;
+    private static final int FIELD_REF = 9;
+    private static final int METHOD_REF = 10;
+    private static final int INTERFACE_METHOD_REF = 11;
+    private static final int NAME_AND_TYPE = 12;
+    private static final int METHOD_HANDLE = 15;
+    private static final int METHOD_TYPE = 16;
+    private static final int DYNAMIC = 17;
+    private static final int INVOKE_DYNAMIC = 18;
+    private static final int MODULE = 19;
+    private static final int PACKAGE = 20;
+
+    private static final byte[] SIGNATURE = ascii("Signature");
+    private static final byte[] EXCEPTIONS = ascii("Exceptions");
+    private static final byte[] CONSTANT_VALUE = ascii("ConstantValue");
+    private static final byte[] INNER_CLASSES = ascii("InnerClasses");
+    private static final byte[] VISIBLE_ANNOTATIONS = ascii("RuntimeVisibleAnnotations");
+    private static final byte[] INVISIBLE_ANNOTATIONS = ascii("RuntimeInvisibleAnnotations");
+    private static final byte[] DEPRECATED = ascii("Deprecated");
+    private static final byte[] SYNTHETIC = ascii("Synthetic");
+    private static final byte[] RECORD = ascii("Record");
+    private static final byte[] CONSTRUCTOR_NAME = ascii("<init>");
+    private static final byte[] STATIC_INITIALIZER_NAME = ascii("<clinit>");
+    private static final byte[] MAGIC_LAMBDA_IMPL_NAME = ascii("java/lang/invoke/MethodHandles$Lookup");
+    private static final byte[] MAGIC_LAMBDA_EXPRESSION_NAME = ascii("lambda$");
+    private static final byte[] ENUM_VALUES_NAME = ascii("$VALUES");
+
+    private final byte[] bytes;
+    private final int length;
+    private final ScanProfile profile;
+    private final List<ContentHasher> hashers = new ArrayList<>();
+    private int[] offsets;
+
+    // attributes of the element being read
+    private int signature;
+    private int exceptions;
+    private int constantValue;
+    private int innerClasses;
+    private int flags;
+    private final List<ContentHash> annotations = new ArrayList<>();
+
+    private ApiFingerprint(byte[] bytes, int length, ScanProfile profile) {
+        this.bytes = bytes;
+        this.length = length;
+        this.profile = profile;
+    }
+
+    public static ContentHash of(byte[] bytes) {
+        return of(bytes, bytes.length, ScanProfile.EVERYTHING);
+    }
+
+    public static ContentHash of(byte[] bytes, ScanProfile profile) {
+        return of(bytes, bytes.length, profile);
+    }
+
+    /**
+     * Fingerprints the first {@code length} bytes of the given buffer, members are
+     * filtered by the given profile.
+     */
+    public static ContentHash of(byte[] bytes, int length, ScanProfile profile) {
+        if (length > bytes.length) {
+            throw new IllegalArgumentException("length must not be greater than " + bytes.length);
+        }
+        try {
+            return new ApiFingerprint(bytes, length, profile).fingerprint();
+        } catch (IndexOutOfBoundsException e) {
+            throw new NaumException("Truncated class file", e);
+        }
+    }
+
+    private ContentHash fingerprint() {
+        if (u4(0) != MAGIC) {
+            throw new NaumException("Not a class file");
+        }
+        int p = readConstantPool();
+
+        int access = u2(p);
+        int thisClass = u2(p + 2);
+        int superClass = u2(p + 4);
+        int interfaceCount = u2(p + 6);
+        int interfaces = p + 8;
+        boolean isEnum = (access & Opcodes.ACC_ENUM) != 0;
+        p = interfaces + 2 * interfaceCount;
+
+        List<ContentHash> fields = new ArrayList<>();
+        int count = u2(p);
+        p += 2;
+        for (int i = 0; i < count; i++) {
+            int fieldAccess = u2(p);
+            int name = u2(p + 2);
+            int descriptor = u2(p + 4);
+            p = readAttributes(p + 6);
+            if (profile.includes(fieldAccess | flags) && !(isEnum && utf8Equals(name, ENUM_VALUES_NAME))) {
+                fields.add(member('F', fieldAccess, name, descriptor));
+            }
+        }
+        if (!isEnum) {
+            // enum constants keep their declaration order
+            fields.sort(null);
+        }
+
+        List<ContentHash> methods = new ArrayList<>();
+        count = u2(p);
+        p += 2;
+        for (int i = 0; i < count; i++) {
+            int methodAccess = u2(p);
+            int name = u2(p + 2);
+            int descriptor = u2(p + 4);
+            p = readAttributes(p + 6);
+            if (profile.includesMethod(methodAccess | flags) &&
+                !utf8StartsWith(name, MAGIC_LAMBDA_EXPRESSION_NAME) &&
+                !utf8Equals(name, STATIC_INITIALIZER_NAME)) {
+                methods.add(member(utf8Equals(name, CONSTRUCTOR_NAME) ? 'K' : 'M', methodAccess, name, descriptor));
+            }
+        }
+        methods.sort(null);
+
+        readAttributes(p);
+        List<ContentHash> classes = readInnerClasses();
+
+        ContentHasher hasher = hasher(0);
+        hasher.putByte((byte) 'C')
+            .putInt(profile.ordinal())
+            .putInt(u2(4))
+            .putInt(u2(6))
+            .putInt(access | flags);
+        putClass(hasher, thisClass);
+        putClass(hasher, superClass);
+        putUtf8(hasher, signature);
+        hasher.putInt(interfaceCount);
+        for (int i = 0; i < interfaceCount; i++) {
+            putClass(hasher, u2(interfaces + 2 * i));
+        }
+        putAll(hasher, annotations);
+        putAll(hasher, fields);
+        putAll(hasher, methods);
+        putAll(hasher, classes);
+        return hasher.hash();
+    }
+
+    private int readConstantPool() {
+        int count = u2(8);
+        offsets = new int[count];
+        int p = 10;
+        for (int i = 1; i < count; i++) {
+            offsets[i] = p;
+            int tag = u1(p);
+            switch (tag) {
+                case UTF8:
+                    p += 3 + u2(p + 1);
+                    break;
+                case INTEGER:
+                case FLOAT:
+                case FIELD_REF:
+                case METHOD_REF:
+                case INTERFACE_METHOD_REF:
+                case NAME_AND_TYPE:
+                case DYNAMIC:
+                case INVOKE_DYNAMIC:
+                    p += 5;
+                    break;
+                case LONG:
+                case DOUBLE:
+                    // takes two slots
+                    p += 9;
+                    i++;
+                    break;
+                case CLASS:
+                case STRING:
+                case METHOD_TYPE:
+                case MODULE:
+                case PACKAGE:
+                    p += 3;
+                    break;
+                case METHOD_HANDLE:
+                    p += 4;
+                    break;
+                default:
+                    throw new NaumException("Invalid constant pool tag " + tag);
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Records the attributes of a class, field or method and returns the offset right after them.
+     */
+    private int readAttributes(int p) {
+        signature = 0;
+        exceptions = 0;
+        constantValue = 0;
+        innerClasses = 0;
+        flags = 0;
+        annotations.clear();
+
+        int count = u2(p);
+        p += 2;
+        for (int i = 0; i < count; i++) {
+            int name = u2(p);
+            int size = u4(p + 2);
+            int data = p + 6;
+            if (utf8Equals(name, SIGNATURE)) {
+                signature = u2(data);
+            } else if (utf8Equals(name, EXCEPTIONS)) {
+                exceptions = data;
+            } else if (utf8Equals(name, CONSTANT_VALUE)) {
+                constantValue = u2(data);
+            } else if (utf8Equals(name, INNER_CLASSES)) {
+                innerClasses = data;
+            } else if (utf8Equals(name, VISIBLE_ANNOTATIONS) || utf8Equals(name, INVISIBLE_ANNOTATIONS)) {
+                int n = u2(data);
+                int q = data + 2;
+                for (int j = 0; j < n; j++) {
+                    q = annotation(q, 1, annotations);
+                }
+            } else if (utf8Equals(name, DEPRECATED)) {
+                flags |= Opcodes.ACC_DEPRECATED;
+            } else if (utf8Equals(name, SYNTHETIC)) {
+                flags |= Opcodes.ACC_SYNTHETIC;
+            } else if (utf8Equals(name, RECORD)) {
+                flags |= Opcodes.ACC_RECORD;
+            }
+            p = data + size;
+        }
+        annotations.sort(null);
+        return p;
+    }
+
+    private ContentHash member(char kind, int access, int name, int descriptor) {
+        ContentHasher hasher = hasher(0);
+        hasher.putByte((byte) kind)
+            .putInt(access | flags);
+        putUtf8(hasher, name);
+        putUtf8(hasher, descriptor);
+        putUtf8(hasher, signature);
+        if (exceptions != 0) {
+            int count = u2(exceptions);
+            hasher.putInt(count);
+            for (int i = 0; i < count; i++) {
+                putClass(hasher, u2(exceptions + 2 + 2 * i));
+            }
+        } else {
+            hasher.putInt(-1);
+        }
+        putConstant(hasher, constantValue);
+        putAll(hasher, annotations);
+        return hasher.hash();
+    }
+
+    private List<ContentHash> readInnerClasses() {
+        List<ContentHash> classes = new ArrayList<>();
+        if (innerClasses == 0) {
+            return classes;
+        }
+
+        ContentHasher hasher = hasher(0);
+        int count = u2(innerClasses);
+        for (int i = 0; i < count; i++) {
+            int p = innerClasses + 2 + 8 * i;
+            int innerClass = u2(p);
+            int access = u2(p + 6);
+            if (!profile.includes(access) || utf8Equals(u2(offsets[innerClass] + 1), MAGIC_LAMBDA_IMPL_NAME)) {
+                continue;
+            }
+            hasher.reset()
+                .putByte((byte) 'I')
+                .putInt(access);
+            putClass(hasher, innerClass);
+            classes.add(hasher.hash());
+        }
+        classes.sort(null);
+        return classes;
+    }
+
+    /**
+     * Hashes the annotation at the given offset into {@code out} and returns the offset right after it.
+     * Elements are hashed with the hasher of the next depth, nested annotations one level further down.
+     */
+    private int annotation(int p, int depth, List<ContentHash> out) {
+        int type = u2(p);
+        int count = u2(p + 2);
+        p += 4;
+
+        List<ContentHash> elements = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ContentHasher hasher = hasher(depth + 1);
+            putUtf8(hasher, u2(p));
+            p = elementValue(hasher, p + 2, depth + 1);
+            elements.add(hasher.hash());
+        }
+        elements.sort(null);
+
+        ContentHasher hasher = hasher(depth);
+        hasher.putByte((byte) 'A');
+        putUtf8(hasher, type);
+        putAll(hasher, elements);
+        out.add(hasher.hash());
+        return p;
+    }
+
+    private int elementValue(ContentHasher hasher, int p, int depth) {
+        int tag = u1(p);
+        hasher.putByte((byte) tag);
+        switch (tag) {
+            case 'B':
+            case 'C':
+            case 'D':
+            case 'F':
+            case 'I':
+            case 'J':
+            case 'S':
+            case 'Z':
+            case 's':
+            case 'c':
+                putConstant(hasher, u2(p + 1));
+                return p + 3;
+            case 'e':
+                putUtf8(hasher, u2(p + 1));
+                putUtf8(hasher, u2(p + 3));
+                return p + 5;
+            case '@':
+                List<ContentHash> nested = new ArrayList<>(1);
+                int next = annotation(p + 1, depth + 1, nested);
+                hasher.putHash(nested.get(0));
+                return next;
+            case '[':
+                int count = u2(p + 1);
+                hasher.putInt(count);
+                p += 3;
+                for (int i = 0; i < count; i++) {
+                    p = elementValue(hasher, p, depth);
+                }
+                return p;
+            default:
+                throw new NaumException("Invalid annotation element tag " + tag);
+        }
+    }
+
+    private ContentHasher hasher(int depth) {
+        while (hashers.size() <= depth) {
+            hashers.add(ContentHashers.newHasher());
+        }
+        return hashers.get(depth).reset();
+    }
+
+    private static void putAll(ContentHasher hasher, List<ContentHash> hashes) {
+        hasher.putInt(hashes.size());
+        for (ContentHash hash : hashes) {
+            hasher.putHash(hash);
+        }
+    }
+
+    private void putUtf8(ContentHasher hasher, int index) {
+        if (index == 0) {
+            hasher.putInt(-1);
+            return;
+        }
+        int p = offsets[index];
+        int size = u2(p + 1);
+        checkBounds(p + 3, size);
+        hasher.putInt(size).putBytes(bytes, p + 3, size);
+    }
+
+    private void putClass(ContentHasher hasher, int index) {
+        putUtf8(hasher, index == 0 ? 0 : u2(offsets[index] + 1));
+    }
+
+    private void putConstant(ContentHasher hasher, int index) {
+        if (index == 0) {
+            hasher.putByte((byte) 0);
+            return;
+        }
+        int p = offsets[index];
+        int tag = u1(p);
+        hasher.putByte((byte) tag);
+        switch (tag) {
+            case INTEGER:
+            case FLOAT:
+                hasher.putInt(u4(p + 1));
+                break;
+            case LONG:
+            case DOUBLE:
+                hasher.putInt(u4(p + 1)).putInt(u4(p + 5));
+                break;
+            case UTF8:
+                putUtf8(hasher, index);
+                break;
+            case STRING:
+                putUtf8(hasher, u2(p + 1));
+                break;
+            default:
+                throw new NaumException("Invalid constant pool tag " + tag);
+        }
+    }
+
+    private boolean utf8Equals(int index, byte[] value) {
+        int p = offsets[index];
+        return u2(p + 1) == value.length && regionMatches(p + 3, value);
+    }
+
+    private boolean utf8StartsWith(int index, byte[] prefix) {
+        int p = offsets[index];
+        return u2(p + 1) >= prefix.length && regionMatches(p + 3, prefix);
+    }
+
+    private boolean regionMatches(int p, byte[] value) {
+        checkBounds(p, value.length);
+        for (int i = 0; i < value.length; i++) {
+            if (bytes[p + i] != value[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int u1(int p) {
+        checkBounds(p, 1);
+        return bytes[p] & 0xFF;
+    }
+
+    private int u2(int p) {
+        checkBounds(p, 2);
+        return ((bytes[p] & 0xFF) << 8) | (bytes[p + 1] & 0xFF);
+    }
+
+    private int u4(int p) {
+        checkBounds(p, 4);
+        return ((bytes[p] & 0xFF) << 24) | ((bytes[p + 1] & 0xFF) << 16) | ((bytes[p + 2] & 0xFF) << 8) | (bytes[p + 3] & 0xFF);
+    }
+
+    private void checkBounds(int p, int size) {
+        if (p < 0 || p + size > length) {
+            throw new IndexOutOfBoundsException("offset " + p + " is out of bounds");
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
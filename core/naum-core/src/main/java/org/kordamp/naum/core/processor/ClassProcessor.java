@@ -28,14 +28,10 @@ import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.FieldVisitor;
 import org.objectweb.asm.MethodVisitor;
-import org.objectweb.asm.signature.SignatureReader;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import java.util.Stack;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static java.util.Arrays.asList;
 
@@ -48,19 +44,39 @@ public class ClassProcessor extends ClassVisitor {
     private static final String STATIC_INITIALIZER_NAME = "<clinit>";
     private static final String MAGIC_LAMBDA_IMPL_NAME = "java/lang/invoke/MethodHandles$Lookup";
     private static final String MAGIC_LAMBDA_EXPRESSION_NAME = "lambda$";
-    private static final Pattern SIGNATURE_PATTERN = Pattern.compile("(.*)\\((.*)\\)");
 
     private final List<ClassInfo> classes = new ArrayList<>();
     private final Stack<ClassInfo> classStack = new Stack<>();
+    private final SignatureDecoder decoder = new SignatureDecoder();
+    private final SymbolTable symbols;
+    private final ScanProfile profile;
 
     public ClassProcessor() {
+        this(new SymbolTable());
+    }
+
+    /**
+     * Creates a processor that interns every type name through the given table,
+     * which may be shared by all processors taking part in the same scan.
+     */
+    public ClassProcessor(SymbolTable symbols) {
+        this(symbols, ScanProfile.EVERYTHING);
+    }
+
+    public ClassProcessor(SymbolTable symbols, ScanProfile profile) {
         super(Opcodes.ASM9);
+        this.symbols = symbols;
+        this.profile = profile;
     }
 
     public List<ClassInfo> getClasses() {
         return classes;
     }
 
+    public ScanProfile getProfile() {
+        return profile;
+    }
+
     @Override
     public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
         String signatureDesc = signature != null ? signature : "";
@@ -70,48 +86,44 @@ public class ClassProcessor extends ClassVisitor {
         String formalParameters = "";
 
         if (!("".equals(signatureDesc))) {
-            SignatureReader r = new SignatureReader(signatureDesc);
-            CustomTraceSignatureVisitor sv = new CustomTraceSignatureVisitor(Opcodes.ACC_PUBLIC);
-            r.accept(sv);
-
-            formalParameters = sv.getFormalParameters();
-            String superclass = sv.getTypeOrSuperclass();
-            superClassName = "".equals(superclass) ? "java.lang.Object" : superClassName;
-            Collection<String> interfaceTypes = sv.getInterfaces();
-            ifaces = interfaceTypes.toArray(new String[interfaceTypes.size()]);
+            decoder.decode(signatureDesc);
+
+            formalParameters = symbols.intern(decoder.getTypeParameters());
+            superClassName = decoder.getType().isEmpty() ? "java.lang.Object" : superClassName;
+            ifaces = decoder.getInterfaces();
         }
 
         ClassInfo klass = ClassInfo.classInfo()
-            .name(name)
+            .name(symbols.internalName(name))
             .version(version)
             .typeParameters(formalParameters)
             .modifiers(access)
-            .superclass(superClassName)
-            .ifaces(asList(ifaces))
+            .superclass(symbols.internalName(superClassName))
+            .ifaces(asList(symbols.internalNames(ifaces)))
             .build();
         classStack.push(klass);
     }
 
     @Override
     public void visitEnd() {
-        classes.add(classStack.pop());
+        classes.add(classStack.pop().freeze());
     }
 
     @Override
     public void visitInnerClass(String name, String outerName, String innerName, int access) {
-        if (MAGIC_LAMBDA_IMPL_NAME.equals(name)) {
+        if (MAGIC_LAMBDA_IMPL_NAME.equals(name) || !profile.includes(access)) {
             return;
         }
 
         classStack.peek().addToClasses(InnerClassInfo.innerClassInfo()
-            .name(name)
+            .name(symbols.internalName(name))
             .modifiers(access)
             .build());
     }
 
     @Override
     public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
-        if (name.startsWith(MAGIC_LAMBDA_EXPRESSION_NAME)) {
+        if (!profile.includesMethod(access) || name.startsWith(MAGIC_LAMBDA_EXPRESSION_NAME)) {
             return null;
         }
 
@@ -123,22 +135,16 @@ public class ClassProcessor extends ClassVisitor {
 
         ClassInfo owner = classStack.peek();
 
-        String signatureDesc = signature != null ? signature : desc;
-        SignatureReader r = new SignatureReader(signatureDesc);
-        CustomTraceSignatureVisitor sv = new CustomTraceSignatureVisitor(Opcodes.ACC_PUBLIC);
-        r.accept(sv);
-
-        Matcher matcher = SIGNATURE_PATTERN.matcher(sv.getDeclaration());
-        matcher.matches();
+        decoder.decode(signature != null ? signature : desc);
 
         if (CONSTRUCTOR_NAME.equals(name)) {
             ConstructorInfo constructor = ConstructorInfo.constructorInfo()
                 .modifiers(access)
-                .argumentTypes(matcher.group(2))
-                .exceptions(exceptions)
+                .argumentTypes(symbols.intern(decoder.getArgumentTypes()))
+                .exceptions(symbols.internalNames(exceptions))
                 .build();
             owner.addToConstructors(constructor);
-            return new ConstructorProcessor(constructor);
+            return new ConstructorProcessor(constructor, symbols);
         }
 
         boolean ownerIsInterface = owner.isInterface();
@@ -148,44 +154,48 @@ public class ClassProcessor extends ClassVisitor {
         }
 
         MethodInfo method = MethodInfo.methodInfo()
-            .name(name)
+            .name(symbols.intern(name))
             .modifiers(access)
-            .genericTypes(matcher.group(1))
-            .returnType(sv.getReturnType())
-            .argumentTypes(matcher.group(2))
-            .exceptions(exceptions)
+            .genericTypes(symbols.intern(unwrap(decoder.getTypeParameters())))
+            .returnType(symbols.intern(decoder.getReturnType()))
+            .argumentTypes(symbols.intern(decoder.getArgumentTypes()))
+            .exceptions(symbols.internalNames(exceptions))
             .build();
         owner.addToMethods(method);
-        return new MethodProcessor(method);
+        return new MethodProcessor(method, symbols);
     }
 
     @Override
     public FieldVisitor visitField(int access, String name, String desc, String signature, Object value) {
-        if ("$VALUES".equals(name) && classStack.peek().isEnum()) {
+        if (!profile.includes(access) || ("$VALUES".equals(name) && classStack.peek().isEnum())) {
             return null;
         }
 
-        String signatureDesc = signature != null ? signature : desc;
-        SignatureReader r = new SignatureReader(signatureDesc);
-        CustomTraceSignatureVisitor sv = new CustomTraceSignatureVisitor(Opcodes.ACC_PUBLIC);
-        r.accept(sv);
+        decoder.decode(signature != null ? signature : desc);
 
         FieldInfo field = FieldInfo.fieldInfo()
-            .name(name)
+            .name(symbols.intern(name))
             .modifiers(access)
-            .type(sv.getTypeOrSuperclass())
+            .type(symbols.intern(decoder.getType()))
             .value(value)
             .build();
         classStack.peek().addToFields(field);
-        return new FieldProcessor(field);
+        return new FieldProcessor(field, symbols);
     }
 
     @Override
     public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
         AnnotationInfo annotation = AnnotationInfo.annotationInfo()
-            .name(desc)
+            .name(symbols.descriptor(desc))
             .build();
         classStack.peek().addToAnnotations(annotation);
-        return new AnnotationProcessor(annotation);
+        return new AnnotationProcessor(annotation, symbols);
+    }
+
+    private static String unwrap(String typeParameters) {
+        if (typeParameters.startsWith("<") && typeParameters.endsWith(">")) {
+            return typeParameters.substring(1, typeParameters.length() - 1);
+        }
+        return typeParameters;
     }
 }
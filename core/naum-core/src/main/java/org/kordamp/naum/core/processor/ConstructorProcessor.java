@@ -29,10 +29,16 @@ import org.objectweb.asm.Opcodes;
  */
 public class ConstructorProcessor extends MethodVisitor {
     private final ConstructorInfo constructor;
+    private final SymbolTable symbols;
 
     public ConstructorProcessor(ConstructorInfo constructor) {
+        this(constructor, new SymbolTable());
+    }
+
+    public ConstructorProcessor(ConstructorInfo constructor, SymbolTable symbols) {
         super(Opcodes.ASM9);
         this.constructor = constructor;
+        this.symbols = symbols;
     }
 
     public ConstructorInfo getConstructor() {
@@ -42,9 +48,9 @@ public class ConstructorProcessor extends MethodVisitor {
     @Override
     public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
         AnnotationInfo annotation = AnnotationInfo.annotationInfo()
-            .name(desc)
+            .name(symbols.descriptor(desc))
             .build();
         constructor.addToAnnotations(annotation);
-        return new AnnotationProcessor(annotation);
+        return new AnnotationProcessor(annotation, symbols);
     }
 }
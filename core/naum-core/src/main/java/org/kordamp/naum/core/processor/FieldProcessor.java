@@ -29,10 +29,16 @@ import org.objectweb.asm.Opcodes;
  */
 public class FieldProcessor extends FieldVisitor {
     private final FieldInfo field;
+    private final SymbolTable symbols;
 
     public FieldProcessor(FieldInfo field) {
+        this(field, new SymbolTable());
+    }
+
+    public FieldProcessor(FieldInfo field, SymbolTable symbols) {
         super(Opcodes.ASM9);
         this.field = field;
+        this.symbols = symbols;
     }
 
     public FieldInfo getField() {
@@ -42,9 +48,9 @@ public class FieldProcessor extends FieldVisitor {
     @Override
     public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
         AnnotationInfo annotation = AnnotationInfo.annotationInfo()
-            .name(desc)
+            .name(symbols.descriptor(desc))
             .build();
         field.addToAnnotations(annotation);
-        return new AnnotationProcessor(annotation);
+        return new AnnotationProcessor(annotation, symbols);
     }
 }
@@ -29,10 +29,16 @@ import org.objectweb.asm.Opcodes;
  */
 public class MethodProcessor extends MethodVisitor {
     private final MethodInfo method;
+    private final SymbolTable symbols;
 
     public MethodProcessor(MethodInfo method) {
+        this(method, new SymbolTable());
+    }
+
+    public MethodProcessor(MethodInfo method, SymbolTable symbols) {
         super(Opcodes.ASM9);
         this.method = method;
+        this.symbols = symbols;
     }
 
     public MethodInfo getMethod() {
@@ -42,9 +48,9 @@ public class MethodProcessor extends MethodVisitor {
     @Override
     public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
         AnnotationInfo annotation = AnnotationInfo.annotationInfo()
-            .name(desc)
+            .name(symbols.descriptor(desc))
             .build();
         method.addToAnnotations(annotation);
-        return new AnnotationProcessor(annotation);
+        return new AnnotationProcessor(annotation, symbols);
     }
 }
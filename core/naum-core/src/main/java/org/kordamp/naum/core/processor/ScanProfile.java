@@ -0,0 +1,73 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.processor;
+
+import org.kordamp.naum.core.model.Opcodes;
+import org.objectweb.asm.ClassReader;
+
+/**
+ * Selects the members recorded while parsing classes. Filtered members are dropped
+ * before their signatures are decoded. Synthetic and bridge members are never recorded,
+ * method bodies, debug information and stack map frames are never read.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+public enum ScanProfile {
+    /**
+     * Public members only.
+     */
+    PUBLIC(Opcodes.ACC_PUBLIC),
+    /**
+     * Public and protected members, everything a subclass in another package may link against.
+     */
+    PROTECTED(Opcodes.ACC_PUBLIC | Opcodes.ACC_PROTECTED),
+    /**
+     * Members of any visibility.
+     */
+    EVERYTHING(0);
+
+    private static final int PARSING_OPTIONS = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
+
+    private final int visibility;
+
+    ScanProfile(int visibility) {
+        this.visibility = visibility;
+    }
+
+    /**
+     * Flags to be passed to {@link ClassReader#accept(org.objectweb.asm.ClassVisitor, int)}.
+     */
+    public int getParsingOptions() {
+        return PARSING_OPTIONS;
+    }
+
+    /**
+     * @return {@code true} if a field, constructor or inner class with the given access flags is recorded.
+     */
+    public boolean includes(int access) {
+        return (access & Opcodes.ACC_SYNTHETIC) == 0 && (visibility == 0 || (access & visibility) != 0);
+    }
+
+    /**
+     * @return {@code true} if a method with the given access flags is recorded.
+     */
+    public boolean includesMethod(int access) {
+        return (access & Opcodes.ACC_BRIDGE) == 0 && includes(access);
+    }
+}
@@ -0,0 +1,385 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.processor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Decodes generic signatures and type descriptors into a source-like
+ * representation, e.g. {@code java.util.Map<K, ? extends V[]>}.
+ * <p>
+ * Instances are stateful and reusable: every call to {@code decode} resets
+ * the previous result, so a single decoder may serve every member of every
+ * class visited by the same processor. Instances are not thread-safe.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+final class SignatureDecoder {
+    private static final String OBJECT = "java/lang/Object";
+    private static final String EXTENDS = " extends ";
+
+    private final StringBuilder declaration = new StringBuilder(128);
+    private final StringBuilder type = new StringBuilder(64);
+    private final StringBuilder scratch = new StringBuilder(64);
+    private final List<String> interfaces = new ArrayList<>();
+    private final List<String> exceptions = new ArrayList<>();
+
+    private String signature;
+    private StringBuilder out;
+    private int argumentStack;
+    private int arrayStack;
+    private String separator;
+    private boolean seenFormalParameter;
+    private boolean seenInterfaceBound;
+    private boolean seenParameter;
+    private int formalsEnd;
+    private int parametersStart;
+
+    /**
+     * Decodes the given class, method or field signature (or descriptor).
+     *
+     * @param signature the signature to decode, must not be empty.
+     * @return this decoder.
+     */
+    SignatureDecoder decode(String signature) {
+        reset();
+        this.signature = signature;
+
+        int length = signature.length();
+        int offset = 0;
+        if (signature.charAt(0) == '<') {
+            offset = 2;
+            char c;
+            do {
+                int bound = signature.indexOf(':', offset);
+                formalTypeParameter(offset - 1, bound);
+                offset = bound + 1;
+                c = signature.charAt(offset);
+                if (c == 'L' || c == '[' || c == 'T') {
+                    separator = EXTENDS;
+                    startType();
+                    offset = parseType(offset);
+                }
+                while ((c = signature.charAt(offset++)) == ':') {
+                    separator = seenInterfaceBound ? ", " : EXTENDS;
+                    seenInterfaceBound = true;
+                    startType();
+                    offset = parseType(offset);
+                }
+            } while (c != '>');
+        }
+
+        if (signature.charAt(offset) == '(') {
+            offset++;
+            while (signature.charAt(offset) != ')') {
+                parameterType();
+                offset = parseType(offset);
+            }
+            returnType();
+            offset = parseType(offset + 1);
+            while (offset < length) {
+                switchTo(scratch);
+                offset = parseType(offset + 1);
+                exceptions.add(scratch.toString());
+            }
+        } else {
+            endFormals();
+            switchTo(type);
+            offset = parseType(offset);
+            while (offset < length) {
+                switchTo(scratch);
+                offset = parseType(offset);
+                interfaces.add(scratch.toString());
+            }
+        }
+
+        this.signature = null;
+        return this;
+    }
+
+    /**
+     * Formal type parameters including angle brackets, empty if there are none.
+     */
+    String getTypeParameters() {
+        return formalsEnd < 0 ? "" : declaration.substring(0, formalsEnd);
+    }
+
+    /**
+     * Comma separated argument types of a method signature.
+     */
+    String getArgumentTypes() {
+        return parametersStart < 0 ? "" : declaration.substring(parametersStart + 1, declaration.length() - 1);
+    }
+
+    /**
+     * Return type of a method signature.
+     */
+    String getReturnType() {
+        return parametersStart < 0 ? null : type.toString();
+    }
+
+    /**
+     * Type of a field signature, or superclass of a class signature.
+     */
+    String getType() {
+        return parametersStart < 0 ? type.toString() : null;
+    }
+
+    String[] getInterfaces() {
+        return sortedArray(interfaces);
+    }
+
+    String[] getExceptions() {
+        return sortedArray(exceptions);
+    }
+
+    // -----------------------------------------------
+
+    private void reset() {
+        declaration.setLength(0);
+        type.setLength(0);
+        interfaces.clear();
+        exceptions.clear();
+        out = declaration;
+        argumentStack = 0;
+        arrayStack = 0;
+        separator = "";
+        seenFormalParameter = false;
+        seenInterfaceBound = false;
+        seenParameter = false;
+        formalsEnd = -1;
+        parametersStart = -1;
+    }
+
+    /**
+     * Redirects output to a nested type, mirroring the fresh child visitor
+     * a trace signature visitor creates for the same position.
+     */
+    private void switchTo(StringBuilder target) {
+        target.setLength(0);
+        out = target;
+        argumentStack = 0;
+        arrayStack = 0;
+        separator = "";
+        seenFormalParameter = false;
+        seenInterfaceBound = false;
+        seenParameter = false;
+    }
+
+    private static String[] sortedArray(List<String> values) {
+        if (values.isEmpty()) {
+            return new String[0];
+        }
+        Collections.sort(values);
+        return values.toArray(new String[values.size()]);
+    }
+
+    private int parseType(int offset) {
+        char c = signature.charAt(offset++);
+        switch (c) {
+            case 'Z':
+            case 'C':
+            case 'B':
+            case 'S':
+            case 'I':
+            case 'F':
+            case 'J':
+            case 'D':
+            case 'V':
+                baseType(c);
+                return offset;
+            case '[':
+                startType();
+                arrayStack |= 1;
+                return parseType(offset);
+            case 'T':
+                int end = signature.indexOf(';', offset);
+                out.append(signature, offset, end);
+                endType();
+                return end + 1;
+            case 'L':
+                int start = offset;
+                boolean visited = false;
+                boolean inner = false;
+                while (true) {
+                    c = signature.charAt(offset++);
+                    if (c == '.' || c == ';') {
+                        if (!visited) {
+                            classType(start, offset - 1, inner);
+                        }
+                        if (c == ';') {
+                            if (argumentStack % 2 != 0) {
+                                out.append('>');
+                            }
+                            argumentStack /= 2;
+                            endType();
+                            break;
+                        }
+                        start = offset;
+                        visited = false;
+                        inner = true;
+                    } else if (c == '<') {
+                        classType(start, offset - 1, inner);
+                        visited = true;
+                        while ((c = signature.charAt(offset)) != '>') {
+                            typeArgument();
+                            if (c == '*') {
+                                ++offset;
+                                out.append('?');
+                            } else if (c == '+' || c == '-') {
+                                out.append(c == '+' ? "? extends " : "? super ");
+                                startType();
+                                offset = parseType(offset + 1);
+                            } else {
+                                startType();
+                                offset = parseType(offset);
+                            }
+                        }
+                    }
+                }
+                return offset;
+            default:
+                throw new IllegalArgumentException("Invalid signature " + signature);
+        }
+    }
+
+    private void formalTypeParameter(int start, int end) {
+        out.append(seenFormalParameter ? ", " : "<").append(signature, start, end);
+        seenFormalParameter = true;
+        seenInterfaceBound = false;
+    }
+
+    private void parameterType() {
+        endFormals();
+        if (seenParameter) {
+            out.append(", ");
+        } else {
+            seenParameter = true;
+            parametersStart = out.length();
+            out.append('(');
+        }
+        startType();
+    }
+
+    private void returnType() {
+        endFormals();
+        if (seenParameter) {
+            seenParameter = false;
+        } else {
+            parametersStart = out.length();
+            out.append('(');
+        }
+        out.append(')');
+        switchTo(type);
+    }
+
+    private void baseType(char descriptor) {
+        switch (descriptor) {
+            case 'V':
+                out.append("void");
+                break;
+            case 'B':
+                out.append("byte");
+                break;
+            case 'J':
+                out.append("long");
+                break;
+            case 'Z':
+                out.append("boolean");
+                break;
+            case 'I':
+                out.append("int");
+                break;
+            case 'S':
+                out.append("short");
+                break;
+            case 'C':
+                out.append("char");
+                break;
+            case 'F':
+                out.append("float");
+                break;
+            // case 'D':
+            default:
+                out.append("double");
+                break;
+        }
+        endType();
+    }
+
+    private void classType(int start, int end, boolean inner) {
+        if (inner) {
+            if (argumentStack % 2 != 0) {
+                out.append('>');
+            }
+            argumentStack /= 2;
+            out.append('.');
+            appendName(start, end);
+        } else if (end - start != OBJECT.length() ||
+            !signature.regionMatches(start, OBJECT, 0, OBJECT.length()) ||
+            argumentStack % 2 != 0 || seenParameter) {
+            // java.lang.Object is only kept as a type argument or a parameter
+            appendName(start, end);
+        }
+        separator = "";
+        argumentStack *= 2;
+    }
+
+    private void appendName(int start, int end) {
+        out.append(separator);
+        for (int i = start; i < end; i++) {
+            char c = signature.charAt(i);
+            out.append(c == '/' ? '.' : c);
+        }
+    }
+
+    private void typeArgument() {
+        if (argumentStack % 2 == 0) {
+            ++argumentStack;
+            out.append('<');
+        } else {
+            out.append(", ");
+        }
+    }
+
+    private void endFormals() {
+        if (seenFormalParameter) {
+            out.append('>');
+            seenFormalParameter = false;
+            formalsEnd = out.length();
+        }
+    }
+
+    private void startType() {
+        arrayStack *= 2;
+    }
+
+    private void endType() {
+        if (arrayStack % 2 == 0) {
+            arrayStack /= 2;
+        } else {
+            while (arrayStack % 2 != 0) {
+                arrayStack /= 2;
+                out.append("[]");
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.processor;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns type names and descriptors so that every model element built during
+ * a scan shares a single {@code String} instance per distinct name. Each
+ * symbol is assigned a dense int id in insertion order.
+ * <p>
+ * Instances are thread-safe; lookups of known symbols do not lock.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+public final class SymbolTable {
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Integer> internalNames = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Integer> descriptors = new ConcurrentHashMap<>();
+    private volatile String[] symbols = new String[256];
+    private int size;
+
+    /**
+     * Returns the id of the given symbol, registering it if needed.
+     */
+    public int id(String symbol) {
+        Integer id = ids.get(symbol);
+        return id != null ? id : register(symbol);
+    }
+
+    /**
+     * Returns the symbol registered with the given id.
+     */
+    public String symbol(int id) {
+        String[] values = symbols;
+        if (id < 0 || id >= values.length || values[id] == null) {
+            throw new IllegalArgumentException("Unknown symbol id " + id);
+        }
+        return values[id];
+    }
+
+    /**
+     * Returns the shared instance equal to the given symbol, {@code null} for {@code null}.
+     */
+    public String intern(String symbol) {
+        return symbol == null ? null : symbol(id(symbol));
+    }
+
+    /**
+     * Returns the shared binary name for an internal name, e.g. {@code java.lang.String}
+     * for {@code java/lang/String}.
+     */
+    public String internalName(String internalName) {
+        if (internalName == null) {
+            return null;
+        }
+        if (internalName.indexOf('/') < 0) {
+            return intern(internalName);
+        }
+        Integer id = internalNames.get(internalName);
+        if (id == null) {
+            id = id(internalName.replace('/', '.'));
+            internalNames.putIfAbsent(internalName, id);
+        }
+        return symbol(id);
+    }
+
+    /**
+     * Returns the shared binary name for an object type descriptor, e.g. {@code java.lang.String}
+     * for {@code Ljava/lang/String;}.
+     */
+    public String descriptor(String descriptor) {
+        Integer id = descriptors.get(descriptor);
+        if (id == null) {
+            String name = descriptor;
+            if (name.startsWith("L") && name.endsWith(";")) {
+                name = name.substring(1, name.length() - 1);
+            }
+            id = id(name.replace('/', '.'));
+            descriptors.putIfAbsent(descriptor, id);
+        }
+        return symbol(id);
+    }
+
+    /**
+     * Interns every element of the given array in place.
+     */
+    public String[] internalNames(String[] internalNames) {
+        if (internalNames != null) {
+            for (int i = 0; i < internalNames.length; i++) {
+                internalNames[i] = internalName(internalNames[i]);
+            }
+        }
+        return internalNames;
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    private synchronized int register(String symbol) {
+        Integer id = ids.get(symbol);
+        if (id != null) {
+            return id;
+        }
+        String[] values = symbols;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = symbol;
+        symbols = values;
+        ids.put(symbol, size);
+        return size++;
+    }
+}
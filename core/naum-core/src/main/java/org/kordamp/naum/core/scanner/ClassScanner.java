@@ -0,0 +1,710 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.scanner;
+
+import org.kordamp.naum.core.NaumException;
+import org.kordamp.naum.core.cache.ClassInfoCache;
+import org.kordamp.naum.core.model.ClassInfo;
+import org.kordamp.naum.core.model.ContentHash;
+import org.kordamp.naum.core.processor.ClassProcessor;
+import org.kordamp.naum.core.processor.ScanProfile;
+import org.kordamp.naum.core.processor.SymbolTable;
+import org.objectweb.asm.ClassReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+import static java.util.Arrays.asList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Parses every class found in a set of JARs, directories or classpath entries.
+ * Roots and their entries are processed concurrently on a work-stealing pool,
+ * results are merged into a single list sorted by class name.
+ * <p>
+ * Multi-release JARs are scanned for a given release when one is set: entries under
+ * {@code META-INF/versions/N/} with {@code N} up to that release replace base entries
+ * of the same class. {@link #scanReleases(Collection, int...)} builds the view of
+ * several releases at once, parsing base entries a single time.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+public class ClassScanner {
+    private static final String CLASS_EXTENSION = ".class";
+    private static final String MODULE_INFO = "module-info.class";
+    private static final String PACKAGE_INFO = "package-info.class";
+    private static final String META_INF = "META-INF/";
+    private static final String VERSIONS = "META-INF/versions/";
+    private static final String MANIFEST = "META-INF/MANIFEST.MF";
+    private static final int FIRST_RELEASE = 9;
+    private static final int SPLIT_THRESHOLD = 16;
+
+    private final int parallelism;
+    private final ClassInfoCache cache;
+    private final ScanProfile profile;
+    private final int release;
+
+    private ClassScanner(int parallelism, ClassInfoCache cache, ScanProfile profile, int release) {
+        this.parallelism = parallelism;
+        this.cache = cache;
+        this.profile = profile;
+        this.release = release;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public ClassInfoCache getCache() {
+        return cache;
+    }
+
+    public ScanProfile getProfile() {
+        return profile;
+    }
+
+    public int getRelease() {
+        return release;
+    }
+
+    public List<ClassInfo> scan(Path... paths) {
+        return scan(asList(paths));
+    }
+
+    public List<ClassInfo> scan(Collection<Path> paths) {
+        return view(scanLayers(paths, release), release);
+    }
+
+    /**
+     * Scans the given roots once and returns the classes visible to each of the given
+     * releases, keyed by release in ascending order. Base entries are parsed once and
+     * shared by all views, versioned entries of every release are parsed concurrently.
+     */
+    public Map<Integer, List<ClassInfo>> scanReleases(Collection<Path> paths, int... releases) {
+        if (releases.length == 0) {
+            throw new IllegalArgumentException("At least one release must be given");
+        }
+        int latest = 0;
+        for (int r : releases) {
+            if (r < 1) {
+                throw new IllegalArgumentException("release must be greater than 0");
+            }
+            latest = Math.max(latest, r);
+        }
+
+        List<Layers> layers = scanLayers(paths, latest);
+        Map<Integer, List<ClassInfo>> views = new TreeMap<>();
+        for (int r : releases) {
+            views.put(r, view(layers, r));
+        }
+        return views;
+    }
+
+    private List<Layers> scanLayers(Collection<Path> paths, int release) {
+        List<Path> roots = new ArrayList<>(paths);
+        for (Path root : roots) {
+            if (!Files.exists(root)) {
+                throw new NaumException("Path " + root + " does not exist");
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        ScanContext context = new ScanContext(cache, new SymbolTable(), profile, release);
+        try {
+            return pool.invoke(new RootsTask(context, roots, 0, roots.size()));
+        } finally {
+            pool.shutdown();
+            context.close();
+        }
+    }
+
+    private static List<ClassInfo> view(List<Layers> layers, int release) {
+        List<ClassInfo> classes = new ArrayList<>();
+        for (Layers l : layers) {
+            classes.addAll(l.view(release));
+        }
+        classes.sort(null);
+        return classes;
+    }
+
+    public List<ClassInfo> scanClasspath(String classpath) {
+        return scan(Stream.of(classpath.split(File.pathSeparator))
+            .filter(s -> !s.isEmpty())
+            .map(Paths::get)
+            .filter(Files::exists)
+            .collect(Collectors.toList()));
+    }
+
+    public static List<ClassInfo> parse(byte[] bytes) {
+        ClassProcessor processor = new ClassProcessor();
+        parse(bytes, processor);
+        return processor.getClasses();
+    }
+
+    /**
+     * Parses a single class file, interning type names through the given table.
+     */
+    public static List<ClassInfo> parse(byte[] bytes, SymbolTable symbols) {
+        return parse(bytes, symbols, ScanProfile.EVERYTHING);
+    }
+
+    /**
+     * Parses a single class file with the given profile, interning type names through the given table.
+     */
+    public static List<ClassInfo> parse(byte[] bytes, SymbolTable symbols, ScanProfile profile) {
+        ClassProcessor processor = new ClassProcessor(symbols, profile);
+        parse(bytes, processor);
+        return processor.getClasses();
+    }
+
+    static void parse(byte[] bytes, ClassProcessor processor) {
+        parse(bytes, bytes.length, processor);
+    }
+
+    static void parse(byte[] bytes, int length, ClassProcessor processor) {
+        new ClassReader(bytes, 0, length).accept(processor, processor.getProfile().getParsingOptions());
+    }
+
+    /**
+     * Parses into the given processor, serving and populating the cache when one is set.
+     */
+    private static void parse(ClassInfoCache cache, byte[] bytes, ClassProcessor processor) {
+        if (cache == null) {
+            parse(bytes, processor);
+            return;
+        }
+
+        ContentHash key = cache.keyOf(processor.getProfile(), bytes, 0, bytes.length);
+        List<ClassInfo> cached = cache.get(key);
+        if (cached != null) {
+            processor.getClasses().addAll(cached);
+            return;
+        }
+
+        List<ClassInfo> classes = processor.getClasses();
+        int start = classes.size();
+        parse(bytes, processor);
+        cache.put(key, new ArrayList<>(classes.subList(start, classes.size())));
+    }
+
+    static boolean isClassEntry(String name) {
+        return name.endsWith(CLASS_EXTENSION) &&
+            !name.startsWith(META_INF) &&
+            !name.endsWith(MODULE_INFO) &&
+            !name.endsWith(PACKAGE_INFO);
+    }
+
+    /**
+     * Scans a single root on the calling task's pool, interning type names through the given table.
+     */
+    static List<ClassInfo> scanRoot(Path root, SymbolTable symbols, ScanProfile profile) {
+        ScanContext context = new ScanContext(null, symbols, profile, 0);
+        try {
+            return new RootsTask(context, Collections.singletonList(root), 0, 1).compute().get(0).base;
+        } finally {
+            context.close();
+        }
+    }
+
+    static boolean isArchive(Path path) {
+        String name = path.getFileName().toString();
+        return name.endsWith(".jar") || name.endsWith(".zip");
+    }
+
+    /**
+     * @return the release of a versioned class entry, if it is at most {@code latest}, or {@code -1}.
+     */
+    static int versionOf(String name, int latest) {
+        if (!name.startsWith(VERSIONS)) {
+            return -1;
+        }
+        int slash = name.indexOf('/', VERSIONS.length());
+        if (slash < 0 || !isClassEntry(name.substring(slash + 1))) {
+            return -1;
+        }
+        try {
+            int version = Integer.parseInt(name.substring(VERSIONS.length(), slash));
+            return version >= FIRST_RELEASE && version <= latest ? version : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return the name of a versioned entry relative to its release directory.
+     */
+    static String unversioned(String name) {
+        return name.substring(name.indexOf('/', VERSIONS.length()) + 1);
+    }
+
+    static boolean isMultiRelease(int release) {
+        return release >= FIRST_RELEASE;
+    }
+
+    static boolean isMultiRelease(MappedJarFile jar, MappedJarFile.Reader reader) throws IOException {
+        MappedJarFile.Entry entry = jar.getEntry(MANIFEST);
+        if (entry == null) {
+            return false;
+        }
+        return isMultiRelease(new ByteArrayInputStream(reader.readAllBytes(jar, entry)));
+    }
+
+    static boolean isMultiRelease(ZipFile zipFile) throws IOException {
+        ZipEntry entry = zipFile.getEntry(MANIFEST);
+        if (entry == null) {
+            return false;
+        }
+        try (InputStream in = zipFile.getInputStream(entry)) {
+            return isMultiRelease(in);
+        }
+    }
+
+    private static boolean isMultiRelease(InputStream manifest) throws IOException {
+        String value = new Manifest(manifest).getMainAttributes().getValue(Attributes.Name.MULTI_RELEASE);
+        return value != null && "true".equalsIgnoreCase(value.trim());
+    }
+
+    private static <T> List<T> merge(List<T> left, List<T> right) {
+        left.addAll(right);
+        return left;
+    }
+
+    /**
+     * Classes of a single root: base entries plus the versioned entries of a multi-release
+     * JAR, by release.
+     */
+    private static class Layers {
+        private final List<ClassInfo> base;
+        private final NavigableMap<Integer, List<ClassInfo>> versions = new TreeMap<>();
+
+        private Layers(List<ClassInfo> base) {
+            this.base = base;
+        }
+
+        private List<ClassInfo> view(int release) {
+            if (versions.isEmpty() || release < FIRST_RELEASE) {
+                return base;
+            }
+
+            Map<String, ClassInfo> classes = new LinkedHashMap<>(base.size() * 2);
+            for (ClassInfo classInfo : base) {
+                classes.putIfAbsent(classInfo.getName(), classInfo);
+            }
+            // later releases replace earlier ones
+            for (List<ClassInfo> overrides : versions.headMap(release, true).values()) {
+                for (ClassInfo classInfo : overrides) {
+                    classes.put(classInfo.getName(), classInfo);
+                }
+            }
+            return new ArrayList<>(classes.values());
+        }
+    }
+
+    /**
+     * State shared by all tasks of a single scan.
+     */
+    private static class ScanContext {
+        private final Queue<MappedJarFile.Reader> readers = new ConcurrentLinkedQueue<>();
+        private final SymbolTable symbols;
+        private final ClassInfoCache cache;
+        private final ScanProfile profile;
+        private final int release;
+
+        private ScanContext(ClassInfoCache cache, SymbolTable symbols, ScanProfile profile, int release) {
+            this.cache = cache;
+            this.symbols = symbols;
+            this.profile = profile;
+            this.release = release;
+        }
+
+        private MappedJarFile.Reader acquireReader() {
+            MappedJarFile.Reader reader = readers.poll();
+            return reader != null ? reader : new MappedJarFile.Reader();
+        }
+
+        private void releaseReader(MappedJarFile.Reader reader) {
+            readers.offer(reader);
+        }
+
+        private void close() {
+            MappedJarFile.Reader reader;
+            while ((reader = readers.poll()) != null) {
+                reader.close();
+            }
+        }
+    }
+
+    private static class RootsTask extends RecursiveTask<List<Layers>> {
+        private final ScanContext context;
+        private final List<Path> roots;
+        private final int from;
+        private final int to;
+
+        private RootsTask(ScanContext context, List<Path> roots, int from, int to) {
+            this.context = context;
+            this.roots = roots;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Layers> compute() {
+            if (to - from == 0) {
+                return new ArrayList<>();
+            }
+            if (to - from == 1) {
+                List<Layers> layers = new ArrayList<>();
+                layers.add(scanRoot(roots.get(from)));
+                return layers;
+            }
+
+            int middle = (from + to) >>> 1;
+            RootsTask left = new RootsTask(context, roots, from, middle);
+            RootsTask right = new RootsTask(context, roots, middle, to);
+            right.fork();
+            List<Layers> layers = left.compute();
+            return merge(layers, right.join());
+        }
+
+        private Layers scanRoot(Path root) {
+            if (Files.isDirectory(root)) {
+                return new Layers(scanDirectory(root));
+            } else if (isArchive(root)) {
+                return context.cache != null ? scanCachedArchive(root) : scanArchive(root, null);
+            } else if (root.getFileName().toString().endsWith(CLASS_EXTENSION)) {
+                try {
+                    byte[] bytes = Files.readAllBytes(root);
+                    ClassProcessor processor = new ClassProcessor(context.symbols, context.profile);
+                    parse(context.cache, bytes, processor);
+                    return new Layers(processor.getClasses());
+                } catch (IOException e) {
+                    throw new NaumException("Unexpected error reading " + root, e);
+                }
+            }
+            return new Layers(new ArrayList<>());
+        }
+
+        private List<ClassInfo> scanDirectory(Path root) {
+            List<Path> files;
+            try (Stream<Path> stream = Files.walk(root)) {
+                files = stream.filter(Files::isRegularFile)
+                    .filter(file -> isClassEntry(root.relativize(file).toString().replace(File.separatorChar, '/')))
+                    .sorted()
+                    .collect(Collectors.toList());
+            } catch (IOException e) {
+                throw new NaumException("Unexpected error reading " + root, e);
+            }
+
+            return new EntriesTask<>(context.cache, context.symbols, context.profile, files, 0, files.size(), file -> {
+                try {
+                    return Files.readAllBytes(file);
+                } catch (IOException e) {
+                    throw new NaumException("Unexpected error reading " + file, e);
+                }
+            }).compute();
+        }
+
+        /**
+         * Only base entries are cached, versioned entries are parsed on every scan.
+         */
+        private Layers scanCachedArchive(Path root) {
+            ContentHash key = context.cache.keyOf(context.profile, root);
+            List<ClassInfo> base = context.cache.get(key);
+            if (base != null && !isMultiRelease(context.release)) {
+                return new Layers(base);
+            }
+
+            Layers layers = scanArchive(root, base);
+            if (base == null) {
+                context.cache.put(key, layers.base);
+            }
+            return layers;
+        }
+
+        /**
+         * Parses base entries, unless given, and the versioned entries of every release concurrently.
+         */
+        private Layers scanArchive(Path root, List<ClassInfo> base) {
+            try (MappedJarFile jar = MappedJarFile.open(root)) {
+                boolean multiRelease = false;
+                if (isMultiRelease(context.release)) {
+                    MappedJarFile.Reader reader = context.acquireReader();
+                    try {
+                        multiRelease = isMultiRelease(jar, reader);
+                    } finally {
+                        context.releaseReader(reader);
+                    }
+                }
+
+                List<MappedJarFile.Entry> entries = new ArrayList<>();
+                NavigableMap<Integer, List<MappedJarFile.Entry>> versioned = new TreeMap<>();
+                for (MappedJarFile.Entry entry : jar.getEntries()) {
+                    if (entry.isDirectory()) {
+                        continue;
+                    }
+                    if (isClassEntry(entry.getName())) {
+                        entries.add(entry);
+                    } else if (multiRelease) {
+                        int version = versionOf(entry.getName(), context.release);
+                        if (version > 0) {
+                            versioned.computeIfAbsent(version, k -> new ArrayList<>()).add(entry);
+                        }
+                    }
+                }
+
+                List<MappedEntriesTask> tasks = new ArrayList<>();
+                for (List<MappedJarFile.Entry> v : versioned.values()) {
+                    tasks.add(new MappedEntriesTask(context, jar, v, 0, v.size()));
+                }
+                return layers(base, tasks,
+                    () -> new MappedEntriesTask(context, jar, entries, 0, entries.size()).compute(), versioned);
+            } catch (ZipException e) {
+                // not supported by MappedJarFile, fall back to java.util.zip
+                return scanZipFile(root, base);
+            } catch (IOException e) {
+                throw new NaumException("Unexpected error reading " + root, e);
+            }
+        }
+
+        private Layers scanZipFile(Path root, List<ClassInfo> base) {
+            try (ZipFile zipFile = new ZipFile(root.toFile())) {
+                boolean multiRelease = isMultiRelease(context.release) && isMultiRelease(zipFile);
+                List<ZipEntry> entries = new ArrayList<>();
+                NavigableMap<Integer, List<ZipEntry>> versioned = new TreeMap<>();
+                for (Enumeration<? extends ZipEntry> e = zipFile.entries(); e.hasMoreElements(); ) {
+                    ZipEntry entry = e.nextElement();
+                    if (entry.isDirectory()) {
+                        continue;
+                    }
+                    if (isClassEntry(entry.getName())) {
+                        entries.add(entry);
+                    } else if (multiRelease) {
+                        int version = versionOf(entry.getName(), context.release);
+                        if (version > 0) {
+                            versioned.computeIfAbsent(version, k -> new ArrayList<>()).add(entry);
+                        }
+                    }
+                }
+
+                EntryReader<ZipEntry> reader = entry -> {
+                    try (InputStream in = zipFile.getInputStream(entry)) {
+                        return in.readAllBytes();
+                    } catch (IOException e) {
+                        throw new NaumException("Unexpected error reading " + entry.getName() + " from " + root, e);
+                    }
+                };
+                List<EntriesTask<ZipEntry>> tasks = new ArrayList<>();
+                for (List<ZipEntry> v : versioned.values()) {
+                    tasks.add(new EntriesTask<>(null, context.symbols, context.profile, v, 0, v.size(), reader));
+                }
+                return layers(base, tasks,
+                    () -> new EntriesTask<>(null, context.symbols, context.profile, entries, 0, entries.size(), reader).compute(), versioned);
+            } catch (IOException e) {
+                throw new NaumException("Unexpected error reading " + root, e);
+            }
+        }
+
+        private Layers layers(List<ClassInfo> base, List<? extends RecursiveTask<List<ClassInfo>>> tasks, Supplier<List<ClassInfo>> scanBase, NavigableMap<Integer, ?> versioned) {
+            // releases are parsed while this task parses the base
+            for (RecursiveTask<List<ClassInfo>> task : tasks) {
+                task.fork();
+            }
+            Layers layers = new Layers(base != null ? base : scanBase.get());
+            int i = 0;
+            for (Integer version : versioned.keySet()) {
+                layers.versions.put(version, tasks.get(i++).join());
+            }
+            return layers;
+        }
+    }
+
+    private interface EntryReader<E> {
+        byte[] read(E entry);
+    }
+
+    private static class EntriesTask<E> extends RecursiveTask<List<ClassInfo>> {
+        private final ClassInfoCache cache;
+        private final SymbolTable symbols;
+        private final ScanProfile profile;
+        private final List<E> entries;
+        private final int from;
+        private final int to;
+        private final EntryReader<E> reader;
+
+        private EntriesTask(ClassInfoCache cache, SymbolTable symbols, ScanProfile profile, List<E> entries, int from, int to, EntryReader<E> reader) {
+            this.cache = cache;
+            this.symbols = symbols;
+            this.profile = profile;
+            this.entries = entries;
+            this.from = from;
+            this.to = to;
+            this.reader = reader;
+        }
+
+        @Override
+        protected List<ClassInfo> compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                ClassProcessor processor = new ClassProcessor(symbols, profile);
+                for (int i = from; i < to; i++) {
+                    parse(cache, reader.read(entries.get(i)), processor);
+                }
+                return processor.getClasses();
+            }
+
+            int middle = (from + to) >>> 1;
+            EntriesTask<E> left = new EntriesTask<>(cache, symbols, profile, entries, from, middle, reader);
+            EntriesTask<E> right = new EntriesTask<>(cache, symbols, profile, entries, middle, to, reader);
+            right.fork();
+            List<ClassInfo> classes = left.compute();
+            return merge(classes, right.join());
+        }
+    }
+
+    private static class MappedEntriesTask extends RecursiveTask<List<ClassInfo>> {
+        private final ScanContext context;
+        private final MappedJarFile jar;
+        private final List<MappedJarFile.Entry> entries;
+        private final int from;
+        private final int to;
+
+        private MappedEntriesTask(ScanContext context, MappedJarFile jar, List<MappedJarFile.Entry> entries, int from, int to) {
+            this.context = context;
+            this.jar = jar;
+            this.entries = entries;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<ClassInfo> compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                ClassProcessor processor = new ClassProcessor(context.symbols, context.profile);
+                MappedJarFile.Reader reader = context.acquireReader();
+                try {
+                    for (int i = from; i < to; i++) {
+                        MappedJarFile.Entry entry = entries.get(i);
+                        try {
+                            int length = reader.read(jar, entry);
+                            parse(reader.getBuffer(), length, processor);
+                        } catch (IOException e) {
+                            throw new NaumException("Unexpected error reading " + entry.getName() + " from " + jar.getPath(), e);
+                        }
+                    }
+                } finally {
+                    context.releaseReader(reader);
+                }
+                return processor.getClasses();
+            }
+
+            int middle = (from + to) >>> 1;
+            MappedEntriesTask left = new MappedEntriesTask(context, jar, entries, from, middle);
+            MappedEntriesTask right = new MappedEntriesTask(context, jar, entries, middle, to);
+            right.fork();
+            List<ClassInfo> classes = left.compute();
+            return merge(classes, right.join());
+        }
+    }
+
+    public static class ClassScannerBuilder {
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private ClassInfoCache cache;
+        private ScanProfile profile = ScanProfile.EVERYTHING;
+        private int release;
+
+        public ClassScanner.ClassScannerBuilder parallelism(int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("parallelism must be greater than 0");
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Serves previously parsed archives and class files from the given cache.
+         */
+        public ClassScanner.ClassScannerBuilder cache(ClassInfoCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        /**
+         * Members to record, defaults to {@link ScanProfile#EVERYTHING}.
+         */
+        public ClassScanner.ClassScannerBuilder profile(ScanProfile profile) {
+            this.profile = requireNonNull(profile, "Argument 'profile' must not be null");
+            return this;
+        }
+
+        /**
+         * Release whose view of multi-release JARs is scanned, {@code 0} (the default)
+         * ignores versioned entries.
+         */
+        public ClassScanner.ClassScannerBuilder release(int release) {
+            if (release < 0) {
+                throw new IllegalArgumentException("release must not be negative");
+            }
+            this.release = release;
+            return this;
+        }
+
+        public ClassScanner build() {
+            return new ClassScanner(this.parallelism, this.cache, this.profile, this.release);
+        }
+
+        @Override
+        public String toString() {
+            return "ClassScanner.ClassScannerBuilder(parallelism=" + this.parallelism + ", cache=" + this.cache + ", profile=" + this.profile + ", release=" + this.release + ")";
+        }
+    }
+
+    public static ClassScanner.ClassScannerBuilder classScanner() {
+        return new ClassScanner.ClassScannerBuilder();
+    }
+
+    @Override
+    public String toString() {
+        return "ClassScanner(parallelism=" + this.parallelism + ", cache=" + this.cache + ", profile=" + this.profile + ", release=" + this.release + ")";
+    }
+}
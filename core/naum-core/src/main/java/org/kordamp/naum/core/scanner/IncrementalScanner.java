@@ -0,0 +1,271 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.scanner;
+
+import org.kordamp.naum.core.NaumException;
+import org.kordamp.naum.core.model.ClassInfo;
+import org.kordamp.naum.core.model.ContentHash;
+import org.kordamp.naum.core.model.ContentHasher;
+import org.kordamp.naum.core.model.ContentHashers;
+import org.kordamp.naum.core.processor.ScanProfile;
+import org.kordamp.naum.core.processor.SymbolTable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Scans the same set of roots repeatedly, remembering the bytes hash and parsed classes
+ * of every class file and archive from the previous scan. Only files whose bytes changed
+ * are parsed again; results are the same as a full {@link ClassScanner} scan.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+public class IncrementalScanner {
+    private static final String CLASS_EXTENSION = ".class";
+    private static final int SPLIT_THRESHOLD = 16;
+
+    private final int parallelism;
+    private final ScanProfile profile;
+    private final SymbolTable symbols = new SymbolTable();
+    private Map<Path, Unit> units = new HashMap<>();
+    private Set<String> changedClassNames = Collections.emptySet();
+    private int parsedCount;
+
+    private IncrementalScanner(int parallelism, ScanProfile profile) {
+        this.parallelism = parallelism;
+        this.profile = profile;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public ScanProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Names of the classes defined by files that were added, modified or removed
+     * by the last scan.
+     */
+    public synchronized Set<String> getChangedClassNames() {
+        return changedClassNames;
+    }
+
+    /**
+     * Number of class files and archives parsed by the last scan.
+     */
+    public synchronized int getParsedCount() {
+        return parsedCount;
+    }
+
+    public List<ClassInfo> scan(Path... paths) {
+        return scan(asList(paths));
+    }
+
+    public synchronized List<ClassInfo> scan(Collection<Path> paths) {
+        List<Path> files = new ArrayList<>();
+        for (Path root : paths) {
+            if (!Files.exists(root)) {
+                throw new NaumException("Path " + root + " does not exist");
+            }
+            collectFiles(root, files);
+        }
+
+        Unit[] results = new Unit[files.size()];
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new FilesTask(this, files, results, 0, files.size()));
+        } finally {
+            pool.shutdown();
+        }
+
+        Map<Path, Unit> next = new HashMap<>(files.size() * 2);
+        Set<String> changed = new HashSet<>();
+        List<ClassInfo> classes = new ArrayList<>();
+        int parsed = 0;
+        for (int i = 0; i < results.length; i++) {
+            Path file = files.get(i);
+            Unit unit = results[i];
+            Unit previous = units.get(file);
+            if (unit != previous) {
+                parsed++;
+                if (previous != null) {
+                    previous.collectNames(changed);
+                }
+                unit.collectNames(changed);
+            }
+            next.put(file, unit);
+            classes.addAll(unit.classes);
+        }
+        for (Map.Entry<Path, Unit> e : units.entrySet()) {
+            if (!next.containsKey(e.getKey())) {
+                e.getValue().collectNames(changed);
+            }
+        }
+
+        units = next;
+        changedClassNames = Collections.unmodifiableSet(changed);
+        parsedCount = parsed;
+        classes.sort(null);
+        return classes;
+    }
+
+    private static void collectFiles(Path root, List<Path> files) {
+        if (Files.isDirectory(root)) {
+            try (Stream<Path> stream = Files.walk(root)) {
+                files.addAll(stream.filter(Files::isRegularFile)
+                    .filter(file -> ClassScanner.isClassEntry(root.relativize(file).toString().replace(File.separatorChar, '/')))
+                    .sorted()
+                    .collect(Collectors.toList()));
+            } catch (IOException e) {
+                throw new NaumException("Unexpected error reading " + root, e);
+            }
+        } else if (ClassScanner.isArchive(root) || root.getFileName().toString().endsWith(CLASS_EXTENSION)) {
+            files.add(root);
+        }
+    }
+
+    /**
+     * Returns the unit remembered for the given file when its bytes did not change,
+     * a freshly parsed one otherwise.
+     */
+    private Unit update(Path file, ContentHasher hasher) {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new NaumException("Unexpected error reading " + file, e);
+        }
+
+        ContentHash hash = hasher.reset().putBytes(bytes, 0, bytes.length).hash();
+        Unit previous = units.get(file);
+        if (previous != null && previous.hash.equals(hash)) {
+            return previous;
+        }
+        if (ClassScanner.isArchive(file)) {
+            return new Unit(hash, ClassScanner.scanRoot(file, symbols, profile));
+        }
+        return new Unit(hash, ClassScanner.parse(bytes, symbols, profile));
+    }
+
+    private static final class Unit {
+        private final ContentHash hash;
+        private final List<ClassInfo> classes;
+
+        private Unit(ContentHash hash, List<ClassInfo> classes) {
+            this.hash = hash;
+            this.classes = classes;
+        }
+
+        private void collectNames(Set<String> names) {
+            for (ClassInfo classInfo : classes) {
+                names.add(classInfo.getName());
+            }
+        }
+    }
+
+    private static class FilesTask extends RecursiveAction {
+        private final IncrementalScanner scanner;
+        private final List<Path> files;
+        private final Unit[] results;
+        private final int from;
+        private final int to;
+
+        private FilesTask(IncrementalScanner scanner, List<Path> files, Unit[] results, int from, int to) {
+            this.scanner = scanner;
+            this.files = files;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                ContentHasher hasher = ContentHashers.newHasher();
+                for (int i = from; i < to; i++) {
+                    // each slot is written by exactly one task
+                    results[i] = scanner.update(files.get(i), hasher);
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new FilesTask(scanner, files, results, from, middle),
+                new FilesTask(scanner, files, results, middle, to));
+        }
+    }
+
+    public static class IncrementalScannerBuilder {
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private ScanProfile profile = ScanProfile.EVERYTHING;
+
+        public IncrementalScanner.IncrementalScannerBuilder parallelism(int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("parallelism must be greater than 0");
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Members to record, defaults to {@link ScanProfile#EVERYTHING}.
+         */
+        public IncrementalScanner.IncrementalScannerBuilder profile(ScanProfile profile) {
+            this.profile = requireNonNull(profile, "Argument 'profile' must not be null");
+            return this;
+        }
+
+        public IncrementalScanner build() {
+            return new IncrementalScanner(this.parallelism, this.profile);
+        }
+
+        @Override
+        public String toString() {
+            return "IncrementalScanner.IncrementalScannerBuilder(parallelism=" + this.parallelism + ", profile=" + this.profile + ")";
+        }
+    }
+
+    public static IncrementalScanner.IncrementalScannerBuilder incrementalScanner() {
+        return new IncrementalScanner.IncrementalScannerBuilder();
+    }
+
+    @Override
+    public String toString() {
+        return "IncrementalScanner(parallelism=" + this.parallelism + ", profile=" + this.profile + ")";
+    }
+}
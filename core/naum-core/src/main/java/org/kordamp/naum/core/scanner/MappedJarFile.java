@@ -0,0 +1,336 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.scanner;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Read-only view of a JAR backed by a memory mapped file. The central directory
+ * is parsed directly from the mapped buffer; entry data is served from the same
+ * buffer without intermediate streams.
+ * <p>
+ * Zip64 archives and archives larger than 2 GB are not supported, {@code open}
+ * fails with a {@code ZipException} in that case.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+public final class MappedJarFile implements Closeable {
+    private static final int LOC_SIGNATURE = 0x04034b50;
+    private static final int CEN_SIGNATURE = 0x02014b50;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int LOC_HEADER_SIZE = 30;
+    private static final int CEN_HEADER_SIZE = 46;
+    private static final int END_HEADER_SIZE = 22;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+    private static final long ZIP64_MAGIC_VALUE = 0xFFFFFFFFL;
+
+    public static final int STORED = 0;
+    public static final int DEFLATED = 8;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final Map<String, Entry> entries;
+
+    private MappedJarFile(Path path, FileChannel channel, MappedByteBuffer buffer, Map<String, Entry> entries) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.entries = entries;
+    }
+
+    public static MappedJarFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new ZipException(path + " is too large to be mapped");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return new MappedJarFile(path, channel, buffer, readCentralDirectory(path, buffer));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public Collection<Entry> getEntries() {
+        return entries.values();
+    }
+
+    public Entry getEntry(String name) {
+        return entries.get(name);
+    }
+
+    /**
+     * Returns the raw data of the given entry as a read-only slice of the mapped
+     * buffer. Data is compressed unless the entry is {@code STORED}.
+     */
+    public ByteBuffer slice(Entry entry) throws IOException {
+        int offset = dataOffset(entry);
+        ByteBuffer data = buffer.duplicate();
+        data.position(offset);
+        data.limit(offset + (int) entry.compressedSize);
+        return data.slice().asReadOnlyBuffer();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return "MappedJarFile(path=" + this.path + ", entries=" + this.entries.size() + ")";
+    }
+
+    private int dataOffset(Entry entry) throws IOException {
+        int offset = (int) entry.localHeaderOffset;
+        if (offset + LOC_HEADER_SIZE > buffer.limit() || buffer.getInt(offset) != LOC_SIGNATURE) {
+            throw new ZipException("Invalid local header for " + entry.name + " in " + path);
+        }
+        int dataOffset = offset + LOC_HEADER_SIZE + unsignedShort(buffer, offset + 26) + unsignedShort(buffer, offset + 28);
+        if (dataOffset + entry.compressedSize > buffer.limit()) {
+            throw new ZipException("Truncated data for " + entry.name + " in " + path);
+        }
+        return dataOffset;
+    }
+
+    private static Map<String, Entry> readCentralDirectory(Path path, ByteBuffer buffer) throws IOException {
+        int end = findEndOfCentralDirectory(buffer);
+        if (end < 0) {
+            throw new ZipException(path + " is not a zip file");
+        }
+
+        int count = unsignedShort(buffer, end + 10);
+        long size = unsignedInt(buffer, end + 12);
+        long offset = unsignedInt(buffer, end + 16);
+        if (count == ZIP64_MAGIC_COUNT || size == ZIP64_MAGIC_VALUE || offset == ZIP64_MAGIC_VALUE) {
+            throw new ZipException(path + " is a zip64 archive");
+        }
+        if (offset + size > end) {
+            throw new ZipException("Invalid central directory in " + path);
+        }
+
+        Map<String, Entry> entries = new LinkedHashMap<>(count * 4 / 3 + 1);
+        int position = (int) offset;
+        for (int i = 0; i < count; i++) {
+            if (position + CEN_HEADER_SIZE > end || buffer.getInt(position) != CEN_SIGNATURE) {
+                throw new ZipException("Invalid central directory header in " + path);
+            }
+
+            int method = unsignedShort(buffer, position + 10);
+            long crc = unsignedInt(buffer, position + 16);
+            long compressedSize = unsignedInt(buffer, position + 20);
+            long uncompressedSize = unsignedInt(buffer, position + 24);
+            int nameLength = unsignedShort(buffer, position + 28);
+            int extraLength = unsignedShort(buffer, position + 30);
+            int commentLength = unsignedShort(buffer, position + 32);
+            long localHeaderOffset = unsignedInt(buffer, position + 42);
+            if (compressedSize == ZIP64_MAGIC_VALUE || uncompressedSize == ZIP64_MAGIC_VALUE || localHeaderOffset == ZIP64_MAGIC_VALUE) {
+                throw new ZipException(path + " is a zip64 archive");
+            }
+
+            String name = readName(buffer, position + CEN_HEADER_SIZE, nameLength);
+            entries.put(name, new Entry(name, method, crc, compressedSize, uncompressedSize, localHeaderOffset));
+            position += CEN_HEADER_SIZE + nameLength + extraLength + commentLength;
+        }
+
+        return Collections.unmodifiableMap(entries);
+    }
+
+    private static int findEndOfCentralDirectory(ByteBuffer buffer) {
+        int limit = buffer.limit();
+        int stop = Math.max(0, limit - END_HEADER_SIZE - MAX_COMMENT_SIZE);
+        for (int position = limit - END_HEADER_SIZE; position >= stop; position--) {
+            if (buffer.getInt(position) == END_SIGNATURE &&
+                position + END_HEADER_SIZE + unsignedShort(buffer, position + 20) == limit) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    private static String readName(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer data = buffer.duplicate();
+        data.position(offset);
+        data.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int unsignedShort(ByteBuffer buffer, int offset) {
+        return buffer.getShort(offset) & 0xFFFF;
+    }
+
+    private static long unsignedInt(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * An entry as recorded in the central directory.
+     */
+    public static final class Entry {
+        private final String name;
+        private final int method;
+        private final long crc;
+        private final long compressedSize;
+        private final long size;
+        private final long localHeaderOffset;
+
+        private Entry(String name, int method, long crc, long compressedSize, long size, long localHeaderOffset) {
+            this.name = name;
+            this.method = method;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getMethod() {
+            return method;
+        }
+
+        public long getCrc() {
+            return crc;
+        }
+
+        public long getCompressedSize() {
+            return compressedSize;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public boolean isDirectory() {
+            return name.endsWith("/");
+        }
+
+        public boolean isStored() {
+            return method == STORED;
+        }
+
+        @Override
+        public String toString() {
+            return "MappedJarFile.Entry(name=" + this.name + ", method=" + this.method + ", crc=" + this.crc + ", compressedSize=" + this.compressedSize + ", size=" + this.size + ")";
+        }
+    }
+
+    /**
+     * Reads entry data into a buffer that is reused across calls. {@code STORED}
+     * entries are copied straight from the mapped file, {@code DEFLATED} entries
+     * are inflated with a single reusable {@code Inflater}.
+     * <p>
+     * Instances are not thread-safe; keep one per thread or use a pool.
+     */
+    public static final class Reader implements Closeable {
+        private final Inflater inflater = new Inflater(true);
+        private byte[] buffer = new byte[8192];
+
+        /**
+         * Reads the entry and returns its length. Data is available from
+         * {@code getBuffer()} until the next call to {@code read}.
+         */
+        public int read(MappedJarFile jar, Entry entry) throws IOException {
+            if (entry.size > Integer.MAX_VALUE - 8) {
+                throw new ZipException("Entry " + entry.name + " is too large");
+            }
+            int size = (int) entry.size;
+            if (buffer.length < size) {
+                buffer = new byte[Math.max(size, buffer.length * 2)];
+            }
+
+            ByteBuffer data = jar.slice(entry);
+            if (entry.method == STORED) {
+                if (entry.compressedSize != entry.size) {
+                    throw new ZipException("Invalid size for stored entry " + entry.name);
+                }
+                data.get(buffer, 0, size);
+                return size;
+            } else if (entry.method == DEFLATED) {
+                return inflate(entry, data, size);
+            }
+
+            throw new ZipException("Unsupported compression method " + entry.method + " for " + entry.name);
+        }
+
+        public byte[] getBuffer() {
+            return buffer;
+        }
+
+        public byte[] readAllBytes(MappedJarFile jar, Entry entry) throws IOException {
+            int length = read(jar, entry);
+            byte[] bytes = new byte[length];
+            System.arraycopy(buffer, 0, bytes, 0, length);
+            return bytes;
+        }
+
+        @Override
+        public void close() {
+            inflater.end();
+        }
+
+        private int inflate(Entry entry, ByteBuffer data, int size) throws IOException {
+            inflater.reset();
+            inflater.setInput(data);
+            try {
+                int length = 0;
+                while (length < size && !inflater.finished()) {
+                    int n = inflater.inflate(buffer, length, size - length);
+                    if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        throw new ZipException("Truncated data for " + entry.name);
+                    }
+                    length += n;
+                }
+                if (length != size) {
+                    throw new ZipException("Invalid size for entry " + entry.name);
+                }
+                return length;
+            } catch (DataFormatException e) {
+                throw new ZipException("Invalid data for entry " + entry.name + ": " + e.getMessage());
+            }
+        }
+    }
+}
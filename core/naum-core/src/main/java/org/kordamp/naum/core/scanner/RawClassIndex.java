@@ -0,0 +1,418 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.scanner;
+
+import org.kordamp.naum.core.NaumException;
+import org.kordamp.naum.core.model.ClassIndex;
+import org.kordamp.naum.core.model.ClassInfo;
+import org.kordamp.naum.core.model.ContentHash;
+import org.kordamp.naum.core.processor.ApiFingerprint;
+import org.kordamp.naum.core.processor.ScanProfile;
+import org.kordamp.naum.core.processor.SymbolTable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Index over the raw class-file bytes of a single JAR, directory or class file.
+ * Content hashes are the CRC-32 and size of each class file; for archives both are
+ * taken from the central directory, so opening a JAR does not read any entry data.
+ * Classes are parsed on request only.
+ * <p>
+ * When both sides of an {@code ArtifactDiffer} are raw indexes, classes whose bytes
+ * did not change are skipped before any model is built; classes that were recompiled
+ * are compared by {@link ApiFingerprint} first and only parsed when their API changed.
+ * Class names are derived from entry names. Instances are thread-safe and must be closed.
+ * <p>
+ * When opened for a release, versioned entries of a multi-release JAR up to that release
+ * replace the base entries of the same class.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+public final class RawClassIndex implements ClassIndex, Closeable {
+    public static final String HASH_ALGORITHM = "crc32";
+
+    private static final String CLASS_EXTENSION = ".class";
+
+    private final Path root;
+    private final ScanProfile profile;
+    private final Map<String, Entry> entries;
+    private final List<String> names;
+    private final Closeable resource;
+    private final SymbolTable symbols = new SymbolTable();
+    private final Queue<MappedJarFile.Reader> readers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger parsedCount = new AtomicInteger();
+
+    private RawClassIndex(Path root, ScanProfile profile, Map<String, Entry> entries, Closeable resource) {
+        this.root = root;
+        this.profile = profile;
+        this.entries = entries;
+        this.resource = resource;
+        List<String> names = new ArrayList<>(entries.keySet());
+        Collections.sort(names);
+        this.names = Collections.unmodifiableList(names);
+    }
+
+    public static RawClassIndex open(Path root) {
+        return open(root, ScanProfile.EVERYTHING);
+    }
+
+    /**
+     * Opens an index over the given root; classes are parsed with the given profile.
+     */
+    public static RawClassIndex open(Path root, ScanProfile profile) {
+        return open(root, profile, 0);
+    }
+
+    /**
+     * Opens an index over the given root as seen by the given release, {@code 0} ignores
+     * versioned entries of multi-release JARs.
+     */
+    public static RawClassIndex open(Path root, ScanProfile profile, int release) {
+        requireNonNull(root, "Argument 'root' must not be null");
+        requireNonNull(profile, "Argument 'profile' must not be null");
+        if (release < 0) {
+            throw new IllegalArgumentException("release must not be negative");
+        }
+        if (!Files.exists(root)) {
+            throw new NaumException("Path " + root + " does not exist");
+        }
+
+        try {
+            if (Files.isDirectory(root)) {
+                return new RawClassIndex(root, profile, directoryEntries(root), null);
+            } else if (ClassScanner.isArchive(root)) {
+                return openArchive(root, profile, release);
+            } else if (root.getFileName().toString().endsWith(CLASS_EXTENSION)) {
+                Map<String, Entry> entries = new HashMap<>();
+                entries.put(classNameOf(root.getFileName().toString()), new FileEntry(root, Files.readAllBytes(root)));
+                return new RawClassIndex(root, profile, entries, null);
+            }
+        } catch (IOException e) {
+            throw new NaumException("Unexpected error reading " + root, e);
+        }
+        return new RawClassIndex(root, profile, Collections.emptyMap(), null);
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public ScanProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Number of classes parsed since this index was opened.
+     */
+    public int getParsedCount() {
+        return parsedCount.get();
+    }
+
+    @Override
+    public List<String> getClassNames() {
+        return names;
+    }
+
+    @Override
+    public ContentHash getContentHash(String className) {
+        Entry entry = entries.get(className);
+        return entry != null ? entry.hash : null;
+    }
+
+    @Override
+    public ClassInfo getClassInfo(String className) {
+        Entry entry = entries.get(className);
+        if (entry == null) {
+            return null;
+        }
+
+        byte[] bytes;
+        try {
+            bytes = entry.read(this);
+        } catch (IOException e) {
+            throw new NaumException("Unexpected error reading " + className + " from " + root, e);
+        }
+        parsedCount.incrementAndGet();
+        List<ClassInfo> classes = ClassScanner.parse(bytes, symbols, profile);
+        return classes.isEmpty() ? null : classes.get(0);
+    }
+
+    /**
+     * Reads the named class and fingerprints its API without parsing it.
+     */
+    @Override
+    public ContentHash getApiFingerprint(String className) {
+        Entry entry = entries.get(className);
+        if (entry == null) {
+            return null;
+        }
+
+        try {
+            return entry.fingerprint(this);
+        } catch (IOException e) {
+            throw new NaumException("Unexpected error reading " + className + " from " + root, e);
+        }
+    }
+
+    @Override
+    public boolean contains(String className) {
+        return entries.containsKey(className);
+    }
+
+    @Override
+    public String getHashAlgorithm() {
+        return HASH_ALGORITHM;
+    }
+
+    @Override
+    public void close() throws IOException {
+        MappedJarFile.Reader reader;
+        while ((reader = readers.poll()) != null) {
+            reader.close();
+        }
+        if (resource != null) {
+            resource.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RawClassIndex(root=" + this.root + ", classes=" + this.names.size() + ", profile=" + this.profile + ")";
+    }
+
+    private static RawClassIndex openArchive(Path root, ScanProfile profile, int release) throws IOException {
+        MappedJarFile jar;
+        try {
+            jar = MappedJarFile.open(root);
+        } catch (ZipException e) {
+            // not supported by MappedJarFile, fall back to java.util.zip
+            return openZipFile(root, profile, release);
+        }
+
+        try {
+            boolean multiRelease = false;
+            if (ClassScanner.isMultiRelease(release)) {
+                try (MappedJarFile.Reader reader = new MappedJarFile.Reader()) {
+                    multiRelease = ClassScanner.isMultiRelease(jar, reader);
+                }
+            }
+
+            Map<String, Entry> entries = new HashMap<>(jar.getEntries().size() * 2);
+            NavigableMap<Integer, List<MappedJarFile.Entry>> versioned = new TreeMap<>();
+            for (MappedJarFile.Entry entry : jar.getEntries()) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                if (ClassScanner.isClassEntry(entry.getName())) {
+                    entries.put(classNameOf(entry.getName()), new MappedEntry(jar, entry));
+                } else if (multiRelease) {
+                    int version = ClassScanner.versionOf(entry.getName(), release);
+                    if (version > 0) {
+                        versioned.computeIfAbsent(version, k -> new ArrayList<>()).add(entry);
+                    }
+                }
+            }
+            // later releases replace earlier ones
+            for (List<MappedJarFile.Entry> overrides : versioned.values()) {
+                for (MappedJarFile.Entry entry : overrides) {
+                    entries.put(classNameOf(ClassScanner.unversioned(entry.getName())), new MappedEntry(jar, entry));
+                }
+            }
+            return new RawClassIndex(root, profile, entries, jar);
+        } catch (IOException | RuntimeException e) {
+            jar.close();
+            throw e;
+        }
+    }
+
+    private static RawClassIndex openZipFile(Path root, ScanProfile profile, int release) throws IOException {
+        ZipFile zipFile = new ZipFile(root.toFile());
+        try {
+            boolean multiRelease = ClassScanner.isMultiRelease(release) && ClassScanner.isMultiRelease(zipFile);
+            Map<String, Entry> entries = new HashMap<>(zipFile.size() * 2);
+            NavigableMap<Integer, List<ZipEntry>> versioned = new TreeMap<>();
+            for (Enumeration<? extends ZipEntry> e = zipFile.entries(); e.hasMoreElements(); ) {
+                ZipEntry entry = e.nextElement();
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                if (ClassScanner.isClassEntry(entry.getName())) {
+                    entries.put(classNameOf(entry.getName()), new ZipFileEntry(zipFile, entry));
+                } else if (multiRelease) {
+                    int version = ClassScanner.versionOf(entry.getName(), release);
+                    if (version > 0) {
+                        versioned.computeIfAbsent(version, k -> new ArrayList<>()).add(entry);
+                    }
+                }
+            }
+            // later releases replace earlier ones
+            for (List<ZipEntry> overrides : versioned.values()) {
+                for (ZipEntry entry : overrides) {
+                    entries.put(classNameOf(ClassScanner.unversioned(entry.getName())), new ZipFileEntry(zipFile, entry));
+                }
+            }
+            return new RawClassIndex(root, profile, entries, zipFile);
+        } catch (IOException | RuntimeException e) {
+            zipFile.close();
+            throw e;
+        }
+    }
+
+    private static Map<String, Entry> directoryEntries(Path root) throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(root)) {
+            files = stream.filter(Files::isRegularFile)
+                .collect(Collectors.toList());
+        }
+
+        Map<String, Entry> entries = new HashMap<>(files.size() * 2);
+        for (Path file : files) {
+            String name = root.relativize(file).toString().replace(File.separatorChar, '/');
+            if (ClassScanner.isClassEntry(name)) {
+                entries.put(classNameOf(name), new FileEntry(file, Files.readAllBytes(file)));
+            }
+        }
+        return entries;
+    }
+
+    private static String classNameOf(String entryName) {
+        return entryName.substring(0, entryName.length() - CLASS_EXTENSION.length()).replace('/', '.');
+    }
+
+    private static ContentHash hashOf(long size, long crc) {
+        return ContentHash.of(size, crc);
+    }
+
+    private MappedJarFile.Reader acquireReader() {
+        MappedJarFile.Reader reader = readers.poll();
+        return reader != null ? reader : new MappedJarFile.Reader();
+    }
+
+    private void releaseReader(MappedJarFile.Reader reader) {
+        readers.offer(reader);
+    }
+
+    private abstract static class Entry {
+        private final ContentHash hash;
+
+        private Entry(ContentHash hash) {
+            this.hash = hash;
+        }
+
+        abstract byte[] read(RawClassIndex index) throws IOException;
+
+        ContentHash fingerprint(RawClassIndex index) throws IOException {
+            return ApiFingerprint.of(read(index), index.profile);
+        }
+    }
+
+    private static final class MappedEntry extends Entry {
+        private final MappedJarFile jar;
+        private final MappedJarFile.Entry entry;
+
+        private MappedEntry(MappedJarFile jar, MappedJarFile.Entry entry) {
+            super(hashOf(entry.getSize(), entry.getCrc()));
+            this.jar = jar;
+            this.entry = entry;
+        }
+
+        @Override
+        byte[] read(RawClassIndex index) throws IOException {
+            MappedJarFile.Reader reader = index.acquireReader();
+            try {
+                return reader.readAllBytes(jar, entry);
+            } finally {
+                index.releaseReader(reader);
+            }
+        }
+
+        @Override
+        ContentHash fingerprint(RawClassIndex index) throws IOException {
+            MappedJarFile.Reader reader = index.acquireReader();
+            try {
+                int length = reader.read(jar, entry);
+                return ApiFingerprint.of(reader.getBuffer(), length, index.profile);
+            } finally {
+                index.releaseReader(reader);
+            }
+        }
+    }
+
+    private static final class ZipFileEntry extends Entry {
+        private final ZipFile zipFile;
+        private final ZipEntry entry;
+
+        private ZipFileEntry(ZipFile zipFile, ZipEntry entry) {
+            super(hashOf(entry.getSize(), entry.getCrc()));
+            this.zipFile = zipFile;
+            this.entry = entry;
+        }
+
+        @Override
+        byte[] read(RawClassIndex index) throws IOException {
+            try (InputStream in = zipFile.getInputStream(entry)) {
+                return in.readAllBytes();
+            }
+        }
+    }
+
+    private static final class FileEntry extends Entry {
+        private final Path file;
+
+        private FileEntry(Path file, byte[] bytes) {
+            super(hashOf(bytes.length, crcOf(bytes)));
+            this.file = file;
+        }
+
+        @Override
+        byte[] read(RawClassIndex index) throws IOException {
+            return Files.readAllBytes(file);
+        }
+
+        private static long crcOf(byte[] bytes) {
+            CRC32 crc = new CRC32();
+            crc.update(bytes, 0, bytes.length);
+            return crc.getValue();
+        }
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.snapshot;
+
+import org.kordamp.naum.core.NaumException;
+import org.kordamp.naum.core.model.ClassIndex;
+import org.kordamp.naum.core.model.ClassInfo;
+import org.kordamp.naum.core.model.ContentHash;
+import org.kordamp.naum.core.model.ContentHashers;
+import org.kordamp.naum.core.model.PackageInfo;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Binary snapshot of the API of an artifact. Snapshots are memory mapped when opened;
+ * class and package names plus their content hashes are read from a fixed size index,
+ * members are materialized on first access only.
+ * <p>
+ * Layout, all numbers big-endian:
+ * <pre>
+ * header   magic, format version, class count, package count, string count,
+ *          strings offset, index offset, hash algorithm (string id)
+ * records  one variable length record per class, then per package
+ * strings  offsets table followed by UTF-8 data
+ * index    name (string id), content hash (2 longs), record offset, record length;
+ *          classes then packages, each sorted by name
+ * </pre>
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+public final class Snapshot implements ClassIndex, Closeable {
+    static final int MAGIC = 0x4E41554D;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int INDEX_ENTRY_SIZE = 28;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final int classCount;
+    private final int packageCount;
+    private final int stringsOffset;
+    private final int stringCount;
+    private final int indexOffset;
+    private final String[] strings;
+    private final String[] names;
+    private final List<String> classNames;
+    private final List<String> packageNames;
+    private final String algorithm;
+    private final AtomicReferenceArray<ClassInfo> classes;
+    private final AtomicReferenceArray<PackageInfo> packages;
+
+    private Snapshot(Path path, FileChannel channel, ByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException(path + " is not a snapshot");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot format version " + buffer.getInt(4) + " in " + path);
+        }
+        this.classCount = buffer.getInt(8);
+        this.packageCount = buffer.getInt(12);
+        this.stringCount = buffer.getInt(16);
+        this.stringsOffset = buffer.getInt(20);
+        this.indexOffset = buffer.getInt(24);
+        if (indexOffset + (long) (classCount + packageCount) * INDEX_ENTRY_SIZE != buffer.limit()) {
+            throw new IOException(path + " is truncated");
+        }
+
+        this.strings = new String[stringCount];
+        this.algorithm = string(buffer.getInt(28));
+        this.names = new String[classCount + packageCount];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = string(buffer.getInt(indexOffset + i * INDEX_ENTRY_SIZE));
+        }
+        this.classNames = Collections.unmodifiableList(Arrays.asList(names).subList(0, classCount));
+        this.packageNames = Collections.unmodifiableList(Arrays.asList(names).subList(classCount, names.length));
+        this.classes = new AtomicReferenceArray<>(classCount);
+        this.packages = new AtomicReferenceArray<>(packageCount);
+    }
+
+    public static Snapshot open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException(path + " is too large to be mapped");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new Snapshot(path, channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return {@code true} if the given path is a regular file starting with the snapshot magic number.
+     */
+    public static boolean isSnapshot(Path path) {
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // fill
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public static void write(Path path, Collection<ClassInfo> classes) {
+        write(path, classes, Collections.emptyList());
+    }
+
+    /**
+     * Writes a snapshot of the given classes and packages. The file is written to a
+     * sibling temporary file first and moved into place once complete.
+     */
+    public static void write(Path path, Collection<ClassInfo> classes, Collection<PackageInfo> packages) {
+        Path tmp = null;
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            tmp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp), 64 * 1024)) {
+                write(out, classes, packages);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new NaumException("Unexpected error writing snapshot " + path, e);
+        } finally {
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignored) {
+                    // best effort
+                }
+            }
+        }
+    }
+
+    public static void write(OutputStream out, Collection<ClassInfo> classes, Collection<PackageInfo> packages) throws IOException {
+        new SnapshotEncoder().encode(out, ContentHashers.newHasher().getAlgorithm(), classes, packages);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public String getHashAlgorithm() {
+        return algorithm;
+    }
+
+    @Override
+    public List<String> getClassNames() {
+        return classNames;
+    }
+
+    public List<String> getPackageNames() {
+        return packageNames;
+    }
+
+    @Override
+    public boolean contains(String className) {
+        return indexOf(className, 0, classCount) >= 0;
+    }
+
+    @Override
+    public ContentHash getContentHash(String className) {
+        int i = indexOf(className, 0, classCount);
+        return i < 0 ? null : hashAt(i);
+    }
+
+    @Override
+    public ClassInfo getClassInfo(String className) {
+        int i = indexOf(className, 0, classCount);
+        if (i < 0) {
+            return null;
+        }
+        ClassInfo classInfo = classes.get(i);
+        if (classInfo == null) {
+            classInfo = decoderAt(i).readClass(names[i]);
+            if (!classes.compareAndSet(i, null, classInfo)) {
+                classInfo = classes.get(i);
+            }
+        }
+        return classInfo;
+    }
+
+    /**
+     * Materializes all classes, in name order.
+     */
+    public List<ClassInfo> getClasses() {
+        return new AbstractList<ClassInfo>() {
+            @Override
+            public ClassInfo get(int index) {
+                return getClassInfo(names[index]);
+            }
+
+            @Override
+            public int size() {
+                return classCount;
+            }
+        };
+    }
+
+    public ContentHash getPackageContentHash(String packageName) {
+        int i = indexOf(packageName, classCount, names.length);
+        return i < 0 ? null : hashAt(i);
+    }
+
+    public PackageInfo getPackageInfo(String packageName) {
+        int i = indexOf(packageName, classCount, names.length);
+        if (i < 0) {
+            return null;
+        }
+        PackageInfo packageInfo = packages.get(i - classCount);
+        if (packageInfo == null) {
+            packageInfo = decoderAt(i).readPackage(names[i]);
+            if (!packages.compareAndSet(i - classCount, null, packageInfo)) {
+                packageInfo = packages.get(i - classCount);
+            }
+        }
+        return packageInfo;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return "Snapshot(path=" + this.path + ", classes=" + this.classCount + ", packages=" + this.packageCount + ", algorithm=" + this.algorithm + ")";
+    }
+
+    String string(int id) {
+        String value = strings[id];
+        if (value == null) {
+            // racing decoders produce equal strings, either one may win
+            int offsets = stringsOffset;
+            int data = offsets + (stringCount + 1) * 4;
+            int start = buffer.getInt(offsets + id * 4);
+            int end = buffer.getInt(offsets + (id + 1) * 4);
+            byte[] bytes = new byte[end - start];
+            ByteBuffer slice = buffer.duplicate();
+            slice.position(data + start);
+            slice.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            strings[id] = value;
+        }
+        return value;
+    }
+
+    private int indexOf(String name, int from, int to) {
+        int i = Arrays.binarySearch(names, from, to, name);
+        return i < 0 ? -1 : i;
+    }
+
+    private ContentHash hashAt(int i) {
+        int entry = indexOffset + i * INDEX_ENTRY_SIZE;
+        return ContentHash.of(buffer.getLong(entry + 4), buffer.getLong(entry + 12));
+    }
+
+    private SnapshotDecoder decoderAt(int i) {
+        int entry = indexOffset + i * INDEX_ENTRY_SIZE;
+        return new SnapshotDecoder(this, buffer, buffer.getInt(entry + 20));
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.snapshot;
+
+import org.kordamp.naum.core.model.AnnotatedInfo;
+import org.kordamp.naum.core.model.AnnotationInfo;
+import org.kordamp.naum.core.model.AnnotationValue;
+import org.kordamp.naum.core.model.ClassInfo;
+import org.kordamp.naum.core.model.ConstructorInfo;
+import org.kordamp.naum.core.model.FieldInfo;
+import org.kordamp.naum.core.model.InnerClassInfo;
+import org.kordamp.naum.core.model.MethodInfo;
+import org.kordamp.naum.core.model.PackageInfo;
+import org.objectweb.asm.Type;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.kordamp.naum.core.model.AnnotationValue.newArrayValue;
+import static org.kordamp.naum.core.model.AnnotationValue.newEnumValue;
+import static org.kordamp.naum.core.model.AnnotationValue.newSimpleValue;
+import static org.kordamp.naum.core.snapshot.SnapshotEncoder.TAG_ANNOTATION;
+import static org.kordamp.naum.core.snapshot.SnapshotEncoder.TAG_ARRAY;
+import static org.kordamp.naum.core.snapshot.SnapshotEncoder.TAG_ENUM;
+import static org.kordamp.naum.core.snapshot.SnapshotEncoder.TAG_SIMPLE;
+import static org.kordamp.naum.core.snapshot.SnapshotEncoder.VALUE_BOOLEAN;
+import static org.kordamp.naum.core.snapshot.SnapshotEncoder.VALUE_BYTE;
+import static org.kordamp.naum.core.snapshot.SnapshotEncoder.VALUE_CHAR;
+import static org.kordamp.naum.core.snapshot.SnapshotEncoder.VALUE_DOUBLE;
+import static org.kordamp.naum.core.snapshot.SnapshotEncoder.VALUE_FLOAT;
+import static org.kordamp.naum.core.snapshot.SnapshotEncoder.VALUE_INT;
+import static org.kordamp.naum.core.snapshot.SnapshotEncoder.VALUE_LONG;
+import static org.kordamp.naum.core.snapshot.SnapshotEncoder.VALUE_NULL;
+import static org.kordamp.naum.core.snapshot.SnapshotEncoder.VALUE_SHORT;
+import static org.kordamp.naum.core.snapshot.SnapshotEncoder.VALUE_STRING;
+import static org.kordamp.naum.core.snapshot.SnapshotEncoder.VALUE_TYPE;
+
+/**
+ * Materializes a single record of a snapshot. Reads use absolute positions only,
+ * the shared buffer is never mutated, so decoders may run concurrently.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+final class SnapshotDecoder {
+    private final Snapshot snapshot;
+    private final ByteBuffer buffer;
+    private int position;
+
+    SnapshotDecoder(Snapshot snapshot, ByteBuffer buffer, int position) {
+        this.snapshot = snapshot;
+        this.buffer = buffer;
+        this.position = position;
+    }
+
+    ClassInfo readClass(String name) {
+        ClassInfo.Type type = ClassInfo.Type.values()[readVarInt()];
+        int version = readVarInt();
+        int modifiers = readVarInt();
+
+        ClassInfo classInfo = ClassInfo.classInfo()
+            .name(name)
+            .version(version)
+            .modifiers(modifiers + type.getModifiers())
+            .typeParameters(readString())
+            .superclass(readString())
+            .interfaces(readStrings())
+            .build();
+        readAnnotations(classInfo);
+
+        for (int i = readVarInt(); i > 0; i--) {
+            FieldInfo field = FieldInfo.fieldInfo()
+                .name(readString())
+                .modifiers(readVarInt())
+                .type(readString())
+                .value(readObject())
+                .build();
+            readAnnotations(field);
+            classInfo.addToFields(field);
+        }
+
+        for (int i = readVarInt(); i > 0; i--) {
+            ConstructorInfo constructor = ConstructorInfo.constructorInfo()
+                .modifiers(readVarInt())
+                .argumentTypes(readString())
+                .exceptions(readStrings())
+                .build();
+            readAnnotations(constructor);
+            classInfo.addToConstructors(constructor);
+        }
+
+        for (int i = readVarInt(); i > 0; i--) {
+            MethodInfo method = MethodInfo.methodInfo()
+                .name(readString())
+                .modifiers(readVarInt())
+                .genericTypes(readString())
+                .returnType(readString())
+                .argumentTypes(readString())
+                .exceptions(readStrings())
+                .build();
+            readAnnotations(method);
+            classInfo.addToMethods(method);
+        }
+
+        for (InnerClassInfo innerClass : readInnerClasses()) {
+            classInfo.addToClasses(innerClass);
+        }
+
+        return classInfo.freeze();
+    }
+
+    PackageInfo readPackage(String name) {
+        PackageInfo packageInfo = PackageInfo.packageInfo()
+            .name(name)
+            .build();
+        readAnnotations(packageInfo);
+        for (InnerClassInfo innerClass : readInnerClasses()) {
+            packageInfo.addToClasses(innerClass);
+        }
+        return packageInfo.freeze();
+    }
+
+    private List<InnerClassInfo> readInnerClasses() {
+        int count = readVarInt();
+        List<InnerClassInfo> classes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            InnerClassInfo innerClass = InnerClassInfo.innerClassInfo()
+                .name(readString())
+                .modifiers(readVarInt())
+                .build();
+            readAnnotations(innerClass);
+            classes.add(innerClass);
+        }
+        return classes;
+    }
+
+    private void readAnnotations(AnnotatedInfo<?> element) {
+        for (int i = readVarInt(); i > 0; i--) {
+            element.addToAnnotations(readAnnotation());
+        }
+    }
+
+    private AnnotationInfo readAnnotation() {
+        AnnotationInfo annotation = AnnotationInfo.annotationInfo()
+            .name(readString())
+            .build();
+        for (int i = readVarInt(); i > 0; i--) {
+            String key = readString();
+            annotation.getValues().put(key, readAnnotationValue());
+        }
+        return annotation;
+    }
+
+    private AnnotationValue readAnnotationValue() {
+        byte tag = buffer.get(position++);
+        switch (tag) {
+            case TAG_ANNOTATION:
+                return readAnnotation();
+            case TAG_ARRAY:
+                int count = readVarInt();
+                List<AnnotationValue> elements = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    elements.add(readAnnotationValue());
+                }
+                return newArrayValue(elements);
+            case TAG_ENUM:
+                String type = readString();
+                return newEnumValue(type, readString());
+            case TAG_SIMPLE:
+                String valueType = readString();
+                return newSimpleValue(valueType, readObject());
+            default:
+                throw new IllegalStateException("Unknown annotation value tag " + tag + " at " + (position - 1));
+        }
+    }
+
+    private Object readObject() {
+        byte tag = buffer.get(position++);
+        switch (tag) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                return readString();
+            case VALUE_INT:
+                return readInt();
+            case VALUE_LONG:
+                return readLong();
+            case VALUE_BOOLEAN:
+                return buffer.get(position++) != 0;
+            case VALUE_BYTE:
+                return buffer.get(position++);
+            case VALUE_CHAR:
+                return (char) readVarInt();
+            case VALUE_SHORT:
+                return (short) readInt();
+            case VALUE_FLOAT:
+                return Float.intBitsToFloat(readInt());
+            case VALUE_DOUBLE:
+                return Double.longBitsToDouble(readLong());
+            case VALUE_TYPE:
+                return Type.getType(readString());
+            default:
+                throw new IllegalStateException("Unknown value tag " + tag + " at " + (position - 1));
+        }
+    }
+
+    private String[] readStrings() {
+        String[] values = new String[readVarInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readString();
+        }
+        return values;
+    }
+
+    private String readString() {
+        int id = readVarInt();
+        return id == 0 ? null : snapshot.string(id - 1);
+    }
+
+    private int readInt() {
+        int value = buffer.getInt(position);
+        position += 4;
+        return value;
+    }
+
+    private long readLong() {
+        long value = buffer.getLong(position);
+        position += 8;
+        return value;
+    }
+
+    private int readVarInt() {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get(position++);
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+}
@@ -0,0 +1,380 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.snapshot;
+
+import org.kordamp.naum.core.model.AnnotatedInfo;
+import org.kordamp.naum.core.model.AnnotationInfo;
+import org.kordamp.naum.core.model.AnnotationValue;
+import org.kordamp.naum.core.model.ArrayValue;
+import org.kordamp.naum.core.model.ClassInfo;
+import org.kordamp.naum.core.model.ConstructorInfo;
+import org.kordamp.naum.core.model.ContentHash;
+import org.kordamp.naum.core.model.EnumValue;
+import org.kordamp.naum.core.model.FieldInfo;
+import org.kordamp.naum.core.model.InnerClassInfo;
+import org.kordamp.naum.core.model.MethodInfo;
+import org.kordamp.naum.core.model.NamedInfo;
+import org.kordamp.naum.core.model.PackageInfo;
+import org.objectweb.asm.Type;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.kordamp.naum.core.snapshot.Snapshot.FORMAT_VERSION;
+import static org.kordamp.naum.core.snapshot.Snapshot.HEADER_SIZE;
+import static org.kordamp.naum.core.snapshot.Snapshot.INDEX_ENTRY_SIZE;
+import static org.kordamp.naum.core.snapshot.Snapshot.MAGIC;
+
+/**
+ * Serializes classes and packages into the snapshot layout described in {@code Snapshot}.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+final class SnapshotEncoder {
+    static final byte TAG_ANNOTATION = '@';
+    static final byte TAG_ARRAY = '[';
+    static final byte TAG_ENUM = 'E';
+    static final byte TAG_SIMPLE = 'S';
+
+    static final byte VALUE_NULL = 'N';
+    static final byte VALUE_BOOLEAN = 'Z';
+    static final byte VALUE_BYTE = 'B';
+    static final byte VALUE_CHAR = 'C';
+    static final byte VALUE_SHORT = 'S';
+    static final byte VALUE_INT = 'I';
+    static final byte VALUE_LONG = 'J';
+    static final byte VALUE_FLOAT = 'F';
+    static final byte VALUE_DOUBLE = 'D';
+    static final byte VALUE_STRING = 's';
+    static final byte VALUE_TYPE = 'T';
+
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private final Output records = new Output(64 * 1024);
+
+    void encode(OutputStream out, String algorithm, Collection<ClassInfo> classes, Collection<PackageInfo> packages) throws IOException {
+        int algorithmId = string(algorithm);
+        List<IndexEntry> classEntries = encodeAll(classes, this::writeClass);
+        List<IndexEntry> packageEntries = encodeAll(packages, this::writePackage);
+
+        Output strings = new Output(this.strings.size() * 16);
+        byte[][] encoded = new byte[this.strings.size()][];
+        int offset = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = this.strings.get(i).getBytes(StandardCharsets.UTF_8);
+            strings.writeInt(offset);
+            offset += encoded[i].length;
+        }
+        strings.writeInt(offset);
+        for (byte[] bytes : encoded) {
+            strings.writeBytes(bytes, 0, bytes.length);
+        }
+
+        long stringsOffset = HEADER_SIZE + (long) records.size();
+        long indexOffset = stringsOffset + strings.size();
+        long total = indexOffset + (long) (classEntries.size() + packageEntries.size()) * INDEX_ENTRY_SIZE;
+        if (total > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot would exceed the 2 GB limit");
+        }
+
+        Output header = new Output(HEADER_SIZE);
+        header.writeInt(MAGIC);
+        header.writeInt(FORMAT_VERSION);
+        header.writeInt(classEntries.size());
+        header.writeInt(packageEntries.size());
+        header.writeInt(this.strings.size());
+        header.writeInt((int) stringsOffset);
+        header.writeInt((int) indexOffset);
+        header.writeInt(algorithmId);
+
+        Output index = new Output((classEntries.size() + packageEntries.size()) * INDEX_ENTRY_SIZE);
+        for (IndexEntry entry : classEntries) {
+            entry.writeTo(index);
+        }
+        for (IndexEntry entry : packageEntries) {
+            entry.writeTo(index);
+        }
+
+        header.writeTo(out);
+        records.writeTo(out);
+        strings.writeTo(out);
+        index.writeTo(out);
+    }
+
+    private <T extends NamedInfo<T>> List<IndexEntry> encodeAll(Collection<T> elements, RecordWriter<T> writer) {
+        // name ordered; first occurrence wins
+        Map<String, T> sorted = new TreeMap<>();
+        for (T element : elements) {
+            sorted.putIfAbsent(element.getName(), element);
+        }
+
+        List<IndexEntry> entries = new ArrayList<>(sorted.size());
+        for (T element : sorted.values()) {
+            int offset = HEADER_SIZE + records.size();
+            writer.write(element);
+            entries.add(new IndexEntry(string(element.getName()), element.getContentHash(), offset, HEADER_SIZE + records.size() - offset));
+        }
+        return entries;
+    }
+
+    private void writeClass(ClassInfo classInfo) {
+        records.writeVarInt(classInfo.getType().ordinal());
+        records.writeVarInt(classInfo.getVersion());
+        records.writeVarInt(classInfo.getModifiers());
+        writeString(classInfo.getTypeParameters());
+        writeString(classInfo.getSuperclass());
+        writeStrings(classInfo.getInterfaces());
+        writeAnnotations(classInfo);
+
+        records.writeVarInt(classInfo.getFields().size());
+        for (FieldInfo field : classInfo.getFields()) {
+            writeString(field.getName());
+            records.writeVarInt(field.getModifiers());
+            writeString(field.getType());
+            writeObject(field.getValue());
+            writeAnnotations(field);
+        }
+
+        records.writeVarInt(classInfo.getConstructors().size());
+        for (ConstructorInfo constructor : classInfo.getConstructors()) {
+            records.writeVarInt(constructor.getModifiers());
+            writeString(constructor.getArgumentTypes());
+            writeStrings(constructor.getExceptions());
+            writeAnnotations(constructor);
+        }
+
+        records.writeVarInt(classInfo.getMethods().size());
+        for (MethodInfo method : classInfo.getMethods()) {
+            writeString(method.getName());
+            records.writeVarInt(method.getModifiers());
+            writeString(method.getGenericTypes());
+            writeString(method.getReturnType());
+            writeString(method.getArgumentTypes());
+            writeStrings(method.getExceptions());
+            writeAnnotations(method);
+        }
+
+        writeInnerClasses(classInfo.getClasses());
+    }
+
+    private void writePackage(PackageInfo packageInfo) {
+        writeAnnotations(packageInfo);
+        writeInnerClasses(packageInfo.getClasses());
+    }
+
+    private void writeInnerClasses(List<InnerClassInfo> classes) {
+        records.writeVarInt(classes.size());
+        for (InnerClassInfo innerClass : classes) {
+            writeString(innerClass.getName());
+            records.writeVarInt(innerClass.getModifiers());
+            writeAnnotations(innerClass);
+        }
+    }
+
+    private void writeAnnotations(AnnotatedInfo<?> element) {
+        records.writeVarInt(element.getAnnotations().size());
+        for (AnnotationInfo annotation : element.getAnnotations()) {
+            writeAnnotation(annotation);
+        }
+    }
+
+    private void writeAnnotation(AnnotationInfo annotation) {
+        writeString(annotation.getName());
+        records.writeVarInt(annotation.getValues().size());
+        for (Map.Entry<String, AnnotationValue> entry : annotation.getValues().entrySet()) {
+            writeString(entry.getKey());
+            writeAnnotationValue(entry.getValue());
+        }
+    }
+
+    private void writeAnnotationValue(AnnotationValue value) {
+        if (value instanceof AnnotationInfo) {
+            records.writeByte(TAG_ANNOTATION);
+            writeAnnotation((AnnotationInfo) value);
+        } else if (value instanceof ArrayValue) {
+            List<AnnotationValue> elements = ((ArrayValue) value).getValue();
+            records.writeByte(TAG_ARRAY);
+            records.writeVarInt(elements.size());
+            for (AnnotationValue element : elements) {
+                writeAnnotationValue(element);
+            }
+        } else if (value instanceof EnumValue) {
+            records.writeByte(TAG_ENUM);
+            writeString(value.getType());
+            writeString(((EnumValue) value).getValue());
+        } else {
+            records.writeByte(TAG_SIMPLE);
+            writeString(value.getType());
+            writeObject(value.getValue());
+        }
+    }
+
+    private void writeObject(Object value) {
+        if (value == null) {
+            records.writeByte(VALUE_NULL);
+        } else if (value instanceof String) {
+            records.writeByte(VALUE_STRING);
+            writeString((String) value);
+        } else if (value instanceof Integer) {
+            records.writeByte(VALUE_INT);
+            records.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            records.writeByte(VALUE_LONG);
+            records.writeLong((Long) value);
+        } else if (value instanceof Boolean) {
+            records.writeByte(VALUE_BOOLEAN);
+            records.writeByte((Boolean) value ? 1 : 0);
+        } else if (value instanceof Byte) {
+            records.writeByte(VALUE_BYTE);
+            records.writeByte((Byte) value);
+        } else if (value instanceof Character) {
+            records.writeByte(VALUE_CHAR);
+            records.writeVarInt((Character) value);
+        } else if (value instanceof Short) {
+            records.writeByte(VALUE_SHORT);
+            records.writeInt((Short) value);
+        } else if (value instanceof Float) {
+            records.writeByte(VALUE_FLOAT);
+            records.writeInt(Float.floatToRawIntBits((Float) value));
+        } else if (value instanceof Double) {
+            records.writeByte(VALUE_DOUBLE);
+            records.writeLong(Double.doubleToRawLongBits((Double) value));
+        } else if (value instanceof Type) {
+            records.writeByte(VALUE_TYPE);
+            writeString(((Type) value).getDescriptor());
+        } else {
+            throw new IllegalArgumentException("Unsupported value " + value + " of type " + value.getClass().getName());
+        }
+    }
+
+    private void writeStrings(String[] values) {
+        records.writeVarInt(values.length);
+        for (String value : values) {
+            writeString(value);
+        }
+    }
+
+    private void writeString(String value) {
+        // 0 encodes null
+        records.writeVarInt(value == null ? 0 : string(value) + 1);
+    }
+
+    private int string(String value) {
+        Integer id = stringIds.get(value);
+        if (id == null) {
+            id = strings.size();
+            stringIds.put(value, id);
+            strings.add(value);
+        }
+        return id;
+    }
+
+    private interface RecordWriter<T> {
+        void write(T element);
+    }
+
+    private static final class IndexEntry {
+        private final int nameId;
+        private final ContentHash hash;
+        private final int offset;
+        private final int length;
+
+        private IndexEntry(int nameId, ContentHash hash, int offset, int length) {
+            this.nameId = nameId;
+            this.hash = hash;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        private void writeTo(Output out) {
+            out.writeInt(nameId);
+            out.writeLong(hash.getHigh());
+            out.writeLong(hash.getLow());
+            out.writeInt(offset);
+            out.writeInt(length);
+        }
+    }
+
+    /**
+     * Growable big-endian byte buffer.
+     */
+    private static final class Output {
+        private byte[] bytes;
+        private int size;
+
+        private Output(int capacity) {
+            this.bytes = new byte[Math.max(capacity, 16)];
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length << 1, size + extra));
+            }
+        }
+
+        private void writeByte(int value) {
+            ensure(1);
+            bytes[size++] = (byte) value;
+        }
+
+        private void writeInt(int value) {
+            ensure(4);
+            bytes[size++] = (byte) (value >>> 24);
+            bytes[size++] = (byte) (value >>> 16);
+            bytes[size++] = (byte) (value >>> 8);
+            bytes[size++] = (byte) value;
+        }
+
+        private void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        private void writeVarInt(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        private void writeBytes(byte[] src, int offset, int length) {
+            ensure(length);
+            System.arraycopy(src, offset, bytes, size, length);
+            size += length;
+        }
+
+        private void writeTo(OutputStream out) throws IOException {
+            out.write(bytes, 0, size);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.cache;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kordamp.naum.core.model.ClassInfo;
+import org.kordamp.naum.core.model.ContentHash;
+import org.kordamp.naum.core.processor.ScanProfile;
+import org.kordamp.naum.core.processor.klass.PlainClass;
+import org.kordamp.naum.core.scanner.ClassScanner;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.kordamp.naum.core.cache.ClassInfoCache.classInfoCache;
+import static org.kordamp.naum.core.model.ClassInfo.newClass;
+
+public class ClassInfoCacheTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void cachedScanMatchesUncachedScan() throws Exception {
+        String resource = PlainClass.class.getName().replace('.', '/') + ".class";
+        Path directory = Paths.get(PlainClass.class.getClassLoader().getResource(resource).toURI()).getParent();
+        ClassInfoCache cache = classInfoCache()
+            .directory(folder.newFolder("cache").toPath())
+            .build();
+
+        List<ClassInfo> expected = ClassScanner.classScanner().build().scan(directory);
+        ClassScanner scanner = ClassScanner.classScanner()
+            .cache(cache)
+            .build();
+
+        assertThat(scanner.scan(directory), equalTo(expected));
+        assertThat(cache.getSize(), greaterThan(0L));
+        assertThat(scanner.scan(directory), equalTo(expected));
+
+        byte[] bytes = Files.readAllBytes(directory.resolve(PlainClass.class.getSimpleName() + ".class"));
+        assertThat(cache.get(cache.keyOf(bytes, 0, bytes.length)), notNullValue());
+        assertThat(cache.keyOf(ScanProfile.PUBLIC, bytes, 0, bytes.length), not(equalTo(cache.keyOf(bytes, 0, bytes.length))));
+    }
+
+    @Test
+    public void archiveKeysTrackModificationTime() throws Exception {
+        ClassInfoCache cache = classInfoCache()
+            .directory(folder.newFolder("cache").toPath())
+            .build();
+        Path archive = folder.newFile("test.jar").toPath();
+
+        ContentHash key = cache.keyOf(archive);
+        Files.setLastModifiedTime(archive, FileTime.fromMillis(Files.getLastModifiedTime(archive).toMillis() - 60_000));
+
+        assertThat(cache.keyOf(archive), not(equalTo(key)));
+    }
+
+    @Test
+    public void leastRecentlyUsedEntriesAreEvicted() throws Exception {
+        ClassInfoCache cache = classInfoCache()
+            .directory(folder.newFolder("cache").toPath())
+            .maxSize(1024)
+            .build();
+
+        ContentHash first = null;
+        for (int i = 0; i < 32; i++) {
+            byte[] bytes = {(byte) i};
+            ContentHash key = cache.keyOf(bytes, 0, bytes.length);
+            if (first == null) {
+                first = key;
+            }
+            List<ClassInfo> classes = Collections.singletonList(newClass().name("org.example.Foo" + i).build());
+            cache.put(key, classes);
+            Thread.sleep(2);
+        }
+
+        assertThat(cache.getSize(), lessThanOrEqualTo(1024L));
+        assertThat(cache.get(first), nullValue());
+
+        cache.clear();
+        assertThat(cache.getSize(), equalTo(0L));
+    }
+}
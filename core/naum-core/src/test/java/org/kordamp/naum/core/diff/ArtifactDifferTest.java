@@ -0,0 +1,128 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.diff;
+
+import org.junit.Test;
+import org.kordamp.naum.core.model.ClassInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.kordamp.naum.core.diff.ArtifactDiffer.KEY_ARTIFACT_CLASS_ADDED;
+import static org.kordamp.naum.core.diff.ArtifactDiffer.KEY_ARTIFACT_CLASS_REMOVED;
+import static org.kordamp.naum.core.diff.ArtifactDiffer.artifactDiffer;
+import static org.kordamp.naum.core.diff.ClassDiffer.KEY_CLASS_METHOD_ADDED;
+import static org.kordamp.naum.core.diff.Diff.Severity.ERROR;
+import static org.kordamp.naum.core.diff.Diff.Type.ADDED;
+import static org.kordamp.naum.core.diff.Diff.Type.REMOVED;
+import static org.kordamp.naum.core.diff.Diff.diff;
+import static org.kordamp.naum.core.model.ClassInfo.newClass;
+import static org.kordamp.naum.core.model.MethodInfo.methodInfo;
+
+/**
+ * @author Andres Almiray
+ */
+public class ArtifactDifferTest extends AbstractDifferTestCase {
+    @Test
+    public void reportsAddedRemovedAndModifiedClassesInNameOrder() {
+        List<ClassInfo> previous = asList(
+            newClass().name("org.example.C").build(),
+            newClass().name("org.example.A").build(),
+            newClass().name("org.example.B").build());
+        List<ClassInfo> next = asList(
+            newClass().name("org.example.D").build(),
+            newClass().name("org.example.C").build()
+                .addToMethods(methodInfo().name("foo").returnType("void").build()),
+            newClass().name("org.example.B").build());
+
+        List<Diff> actual = artifactDiffer()
+            .previous(previous)
+            .next(next)
+            .build()
+            .diff();
+
+        assertThat(actual, equalTo(asList(
+            diff()
+                .severity(ERROR)
+                .type(REMOVED)
+                .messageKey(KEY_ARTIFACT_CLASS_REMOVED)
+                .messageArg("org.example.A")
+                .build(),
+            diff()
+                .severity(ERROR)
+                .type(ADDED)
+                .messageKey(KEY_CLASS_METHOD_ADDED)
+                .messageArg("org.example.C")
+                .messageArg("foo()")
+                .build(),
+            diff()
+                .severity(ERROR)
+                .type(ADDED)
+                .messageKey(KEY_ARTIFACT_CLASS_ADDED)
+                .messageArg("org.example.D")
+                .build())));
+        assertThat(actual.get(0).getMessage(), equalTo("Class org.example.A was removed"));
+        assertThat(actual.get(1).getMessage(), equalTo("Method foo() was added to org.example.C"));
+    }
+
+    @Test
+    public void parallelDiffMatchesSequentialDiff() {
+        List<ClassInfo> previous = new ArrayList<>();
+        List<ClassInfo> next = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            previous.add(newClass().name("org.example.C" + i).build()
+                .addToMethods(methodInfo().name("m" + i).returnType("void").build()));
+            next.add(newClass().name("org.example.C" + i).build()
+                .addToMethods(methodInfo().name("m" + (i % 3 == 0 ? i + 1 : i)).returnType("void").build()));
+        }
+
+        List<Diff> sequential = artifactDiffer().previous(previous).next(next).parallelism(1).build().diff();
+        List<Diff> parallel = artifactDiffer().previous(previous).next(next).parallelism(4).build().diff();
+
+        assertThat(sequential.size(), equalTo(134));
+        assertThat(parallel, equalTo(sequential));
+    }
+
+    @Test
+    public void listenerReceivesDiffsInOrderAndCanStopEarly() {
+        List<ClassInfo> previous = new ArrayList<>();
+        List<ClassInfo> next = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            previous.add(newClass().name("org.example.C" + i).build()
+                .addToMethods(methodInfo().name("m" + i).returnType("void").build()));
+            next.add(newClass().name("org.example.C" + i).build()
+                .addToMethods(methodInfo().name("m" + (i % 3 == 0 ? i + 1 : i)).returnType("void").build()));
+        }
+        List<Diff> expected = artifactDiffer().previous(previous).next(next).parallelism(1).build().diff();
+
+        for (int parallelism : new int[]{1, 2}) {
+            List<Diff> streamed = new ArrayList<>();
+            artifactDiffer().previous(previous).next(next).parallelism(parallelism).build()
+                .diff(DiffListener.collecting(streamed));
+            assertThat(streamed, equalTo(expected));
+
+            List<Diff> first = new ArrayList<>();
+            artifactDiffer().previous(previous).next(next).parallelism(parallelism).build()
+                .diff(DiffListener.untilFirstError(DiffListener.collecting(first)));
+            assertThat(first, equalTo(expected.subList(0, 1)));
+        }
+    }
+}
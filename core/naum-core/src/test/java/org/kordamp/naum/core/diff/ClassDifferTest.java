@@ -26,8 +26,10 @@ import org.kordamp.naum.core.model.ClassInfo;
 
 import java.io.Closeable;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -36,23 +38,38 @@ import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.kordamp.naum.core.diff.ClassDiffer.KEY_CLASS_ANNOTATION_ADDED;
 import static org.kordamp.naum.core.diff.ClassDiffer.KEY_CLASS_ANNOTATION_REMOVED;
+import static org.kordamp.naum.core.diff.ClassDiffer.KEY_CLASS_CONSTRUCTOR_ADDED;
+import static org.kordamp.naum.core.diff.ClassDiffer.KEY_CLASS_FIELD_REMOVED;
 import static org.kordamp.naum.core.diff.ClassDiffer.KEY_CLASS_INTERFACE_ADDED;
 import static org.kordamp.naum.core.diff.ClassDiffer.KEY_CLASS_INTERFACE_REMOVED;
+import static org.kordamp.naum.core.diff.ClassDiffer.KEY_CLASS_METHOD_ADDED;
+import static org.kordamp.naum.core.diff.ClassDiffer.KEY_CLASS_METHOD_REMOVED;
 import static org.kordamp.naum.core.diff.ClassDiffer.KEY_CLASS_MODIFIERS_MODIFIED;
 import static org.kordamp.naum.core.diff.ClassDiffer.KEY_CLASS_SUPERCLASS_MODIFIED;
 import static org.kordamp.naum.core.diff.ClassDiffer.KEY_CLASS_TYPE_MODIFIED;
 import static org.kordamp.naum.core.diff.ClassDiffer.KEY_CLASS_VERSION_MODIFIED;
+import static org.kordamp.naum.core.diff.ClassDiffer.KEY_INNERCLASS_MODIFIERS_MODIFIED;
 import static org.kordamp.naum.core.diff.ClassDiffer.classDiffer;
+import static org.kordamp.naum.core.diff.ConstructorDiffer.KEY_CONSTRUCTOR_EXCEPTION_ADDED;
 import static org.kordamp.naum.core.diff.Diff.Severity.ERROR;
 import static org.kordamp.naum.core.diff.Diff.Type.ADDED;
 import static org.kordamp.naum.core.diff.Diff.Type.REMOVED;
 import static org.kordamp.naum.core.diff.Diff.diff;
+import static org.kordamp.naum.core.diff.FieldDiffer.KEY_FIELD_TYPE_MODIFIED;
+import static org.kordamp.naum.core.diff.FieldDiffer.KEY_FIELD_VALUE_MODIFIED;
+import static org.kordamp.naum.core.diff.MethodDiffer.KEY_METHOD_TYPE_MODIFIED;
 import static org.kordamp.naum.core.model.AnnotationInfo.annotationInfo;
 import static org.kordamp.naum.core.model.ClassInfo.newAnnotation;
 import static org.kordamp.naum.core.model.ClassInfo.newClass;
 import static org.kordamp.naum.core.model.ClassInfo.newInterface;
+import static org.kordamp.naum.core.model.ConstructorInfo.constructorInfo;
+import static org.kordamp.naum.core.model.FieldInfo.fieldInfo;
+import static org.kordamp.naum.core.model.InnerClassInfo.innerClassInfo;
+import static org.kordamp.naum.core.model.MethodInfo.methodInfo;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
 import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
 import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_STATIC;
 import static org.objectweb.asm.Opcodes.V1_7;
 import static org.objectweb.asm.Opcodes.V1_8;
 
@@ -77,6 +94,99 @@ public class ClassDifferTest extends AbstractDifferTestCase {
         assertThat(actual, equalTo(expected));
     }
 
+    @Test
+    public void unchangedMembersProduceNoDiffs() {
+        ClassInfo previous = newClass()
+            .name(CLASSNAME)
+            .build()
+            .addToFields(fieldInfo().name("foo").type("int").build())
+            .addToMethods(methodInfo().name("bar").returnType("void").argumentTypes("int").build());
+        ClassInfo next = newClass()
+            .name(CLASSNAME)
+            .version(V1_7)
+            .build()
+            .addToFields(fieldInfo().name("foo").type("int").build())
+            .addToMethods(methodInfo().name("bar").returnType("void").argumentTypes("int").build());
+
+        Collection<Diff> actual = classDiffer(previous, next).diff();
+        assertThat(actual, hasSize(1));
+        assertThat(actual.iterator().next().getMessageKey(), equalTo(KEY_CLASS_VERSION_MODIFIED));
+    }
+
+    @Test
+    public void innerClassModifiersAreComparedPerInnerClass() {
+        ClassInfo previous = newClass()
+            .name(CLASSNAME)
+            .build()
+            .addToClasses(innerClassInfo().name(CLASSNAME + "$Inner").modifiers(ACC_PUBLIC).build());
+        ClassInfo next = newClass()
+            .name(CLASSNAME)
+            .build()
+            .addToClasses(innerClassInfo().name(CLASSNAME + "$Inner").modifiers(ACC_PRIVATE).build());
+
+        Collection<Diff> actual = classDiffer(previous, next).diff();
+        assertThat(actual, equalTo(Collections.singletonList(
+            diff()
+                .severity(ERROR)
+                .type(Diff.Type.MODIFIED)
+                .messageKey(KEY_INNERCLASS_MODIFIERS_MODIFIED)
+                .messageArg(CLASSNAME + "$Inner")
+                .messageArg("public")
+                .messageArg(ACC_PUBLIC)
+                .messageArg("private")
+                .messageArg(ACC_PRIVATE)
+                .build())));
+    }
+
+    @Test
+    public void memberDiffsNameTheOwningClass() {
+        ClassInfo previous = newClass()
+            .name(CLASSNAME)
+            .build()
+            .addToConstructors(constructorInfo().modifiers(ACC_PUBLIC).argumentTypes("int").build())
+            .addToFields(fieldInfo().name("K").modifiers(ACC_PUBLIC | ACC_STATIC | ACC_FINAL).type("java.lang.String").value("a").build())
+            .addToMethods(methodInfo().name("bar").returnType("void").build())
+            .addToMethods(methodInfo().name("bar").returnType("void").argumentTypes("int").build());
+        ClassInfo next = newClass()
+            .name(CLASSNAME)
+            .build()
+            .addToConstructors(constructorInfo().modifiers(ACC_PUBLIC).argumentTypes("int")
+                .exceptions(new String[]{JAVA_LANG_RUNTIMEEXCEPTION}).build())
+            .addToFields(fieldInfo().name("K").modifiers(ACC_PUBLIC | ACC_STATIC | ACC_FINAL).type("java.lang.String").value("b").build())
+            .addToMethods(methodInfo().name("bar").returnType("void").build())
+            .addToMethods(methodInfo().name("bar").returnType("int").argumentTypes("int").build());
+
+        List<Diff> actual = new ArrayList<>(classDiffer(previous, next).diff());
+        assertThat(actual, equalTo(asList(
+            diff()
+                .severity(ERROR)
+                .type(ADDED)
+                .messageKey(KEY_CONSTRUCTOR_EXCEPTION_ADDED)
+                .messageArg(CLASSNAME + "(int)")
+                .messageArg(JAVA_LANG_RUNTIMEEXCEPTION)
+                .build(),
+            diff()
+                .severity(ERROR)
+                .type(Diff.Type.MODIFIED)
+                .messageKey(KEY_FIELD_VALUE_MODIFIED)
+                .messageArg(CLASSNAME + "#K")
+                .messageArg("a")
+                .messageArg("b")
+                .build(),
+            diff()
+                .severity(ERROR)
+                .type(Diff.Type.MODIFIED)
+                .messageKey(KEY_METHOD_TYPE_MODIFIED)
+                .messageArg(CLASSNAME + "#bar(int)")
+                .messageArg("void")
+                .messageArg("int")
+                .build())));
+        assertThat(actual.get(0).getMessage(),
+            equalTo("Exception java.lang.RuntimeException added to throws clause of constructor org.example.Foo(int)"));
+        assertThat(actual.get(1).getMessage(), equalTo("Value of field org.example.Foo#K changed from a to b"));
+        assertThat(actual.get(2).getMessage(), equalTo("Type of method org.example.Foo#bar(int) changed from void to int"));
+    }
+
     private Object[] classStructure() {
         return new Object[]{
             new Object[]{
@@ -302,6 +412,120 @@ public class ClassDifferTest extends AbstractDifferTestCase {
                         .messageArg("@" + ANNOTATION_B)
                         .build()
                 )
+            },
+
+            new Object[]{
+                "constructors - added",
+                newClass()
+                    .name(CLASSNAME)
+                    .build(),
+                newClass()
+                    .name(CLASSNAME)
+                    .build()
+                    .addToConstructors(constructorInfo().modifiers(ACC_PUBLIC).argumentTypes("int").build()),
+                Collections.singletonList(
+                    diff()
+                        .severity(ERROR)
+                        .type(ADDED)
+                        .messageKey(KEY_CLASS_CONSTRUCTOR_ADDED)
+                        .messageArg(CLASSNAME)
+                        .messageArg("Foo(int)")
+                        .build()
+                )
+            },
+
+            new Object[]{
+                "fields - removed",
+                newClass()
+                    .name(CLASSNAME)
+                    .build()
+                    .addToFields(fieldInfo().name("foo").type("int").build()),
+                newClass()
+                    .name(CLASSNAME)
+                    .build(),
+                Collections.singletonList(
+                    diff()
+                        .severity(ERROR)
+                        .type(REMOVED)
+                        .messageKey(KEY_CLASS_FIELD_REMOVED)
+                        .messageArg(CLASSNAME)
+                        .messageArg("foo")
+                        .build()
+                )
+            },
+
+            new Object[]{
+                "fields - modified",
+                newClass()
+                    .name(CLASSNAME)
+                    .build()
+                    .addToFields(fieldInfo().name("foo").type("int").build()),
+                newClass()
+                    .name(CLASSNAME)
+                    .build()
+                    .addToFields(fieldInfo().name("foo").type("long").build()),
+                Collections.singletonList(
+                    diff()
+                        .severity(ERROR)
+                        .type(Diff.Type.MODIFIED)
+                        .messageKey(KEY_FIELD_TYPE_MODIFIED)
+                        .messageArg(CLASSNAME + "#foo")
+                        .messageArg("int")
+                        .messageArg("long")
+                        .build()
+                )
+            },
+
+            new Object[]{
+                "methods - modified",
+                newClass()
+                    .name(CLASSNAME)
+                    .build()
+                    .addToMethods(methodInfo().name("bar").returnType("void").argumentTypes("int").build())
+                    .addToMethods(methodInfo().name("baz").returnType("void").build()),
+                newClass()
+                    .name(CLASSNAME)
+                    .build()
+                    .addToMethods(methodInfo().name("bar").returnType("int").argumentTypes("int").build())
+                    .addToMethods(methodInfo().name("baz").returnType("void").build()),
+                Collections.singletonList(
+                    diff()
+                        .severity(ERROR)
+                        .type(Diff.Type.MODIFIED)
+                        .messageKey(KEY_METHOD_TYPE_MODIFIED)
+                        .messageArg(CLASSNAME + "#bar(int)")
+                        .messageArg("void")
+                        .messageArg("int")
+                        .build()
+                )
+            },
+
+            new Object[]{
+                "methods - overload replaced",
+                newClass()
+                    .name(CLASSNAME)
+                    .build()
+                    .addToMethods(methodInfo().name("bar").returnType("void").argumentTypes("int").build()),
+                newClass()
+                    .name(CLASSNAME)
+                    .build()
+                    .addToMethods(methodInfo().name("bar").returnType("void").argumentTypes("long").build()),
+                asList(
+                    diff()
+                        .severity(ERROR)
+                        .type(REMOVED)
+                        .messageKey(KEY_CLASS_METHOD_REMOVED)
+                        .messageArg(CLASSNAME)
+                        .messageArg("bar(int)")
+                        .build(),
+                    diff()
+                        .severity(ERROR)
+                        .type(ADDED)
+                        .messageKey(KEY_CLASS_METHOD_ADDED)
+                        .messageArg(CLASSNAME)
+                        .messageArg("bar(long)")
+                        .build()
+                )
             }
         };
     }
@@ -0,0 +1,116 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.diff;
+
+import org.junit.Test;
+import org.kordamp.naum.core.model.ClassInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.kordamp.naum.core.diff.ArtifactDiffer.artifactDiffer;
+import static org.kordamp.naum.core.diff.ClassDiffer.classDiffer;
+import static org.kordamp.naum.core.diff.CompatibilityGate.compatibilityGate;
+import static org.kordamp.naum.core.model.ClassInfo.newClass;
+import static org.kordamp.naum.core.model.MethodInfo.methodInfo;
+import static org.objectweb.asm.Opcodes.V1_7;
+import static org.objectweb.asm.Opcodes.V1_8;
+
+/**
+ * @author Andres Almiray
+ */
+public class CompatibilityGateTest {
+    @Test
+    public void warningsAreSkippedBelowThreshold() {
+        ClassInfo previous = newClass().name("org.example.Foo").version(V1_7).build();
+        ClassInfo next = newClass().name("org.example.Foo").version(V1_8).build();
+
+        CompatibilityGate errors = compatibilityGate();
+        classDiffer(previous, next).diff(errors);
+        assertThat(errors.isPassed(), equalTo(true));
+        assertThat(errors.getSeverity(), nullValue());
+
+        CompatibilityGate warnings = compatibilityGate(Diff.Severity.WARNING);
+        classDiffer(previous, next).diff(warnings);
+        assertThat(warnings.isPassed(), equalTo(false));
+        assertThat(warnings.getSeverity(), equalTo(Diff.Severity.WARNING));
+        assertThat(warnings.isDone(), equalTo(false));
+    }
+
+    @Test
+    public void stopsAtFirstErrorWithoutBuildingDiffs() {
+        ClassInfo previous = newClass().name("org.example.Foo").build();
+        ClassInfo next = newClass().name("org.example.Foo").build();
+        for (int i = 0; i < 10; i++) {
+            previous.addToMethods(methodInfo().name("m" + i).returnType("void").build());
+        }
+
+        AtomicInteger changes = new AtomicInteger();
+        CompatibilityGate gate = compatibilityGate();
+        classDiffer(previous, next).diff(new DiffListener() {
+            @Override
+            public void onDiff(Diff diff) {
+                throw new AssertionError("unexpected " + diff);
+            }
+
+            @Override
+            public boolean onChange(Diff.Severity severity) {
+                changes.incrementAndGet();
+                return gate.onChange(severity);
+            }
+
+            @Override
+            public boolean isDone() {
+                return gate.isDone();
+            }
+        });
+
+        assertThat(changes.get(), equalTo(1));
+        assertThat(gate.getSeverity(), equalTo(Diff.Severity.ERROR));
+    }
+
+    @Test
+    public void gatesWholeArtifacts() {
+        List<ClassInfo> previous = new ArrayList<>();
+        List<ClassInfo> next = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            previous.add(newClass().name("org.example.C" + i).build()
+                .addToMethods(methodInfo().name("m" + i).returnType("void").build()));
+            next.add(newClass().name("org.example.C" + i).build()
+                .addToMethods(methodInfo().name("m" + (i % 7 == 0 ? i + 1 : i)).returnType("void").build()));
+        }
+
+        for (int parallelism : new int[]{1, 4}) {
+            CompatibilityGate gate = compatibilityGate();
+            artifactDiffer().previous(previous).next(next).parallelism(parallelism).build().diff(gate);
+            assertThat(gate.isPassed(), equalTo(false));
+
+            CompatibilityGate removed = compatibilityGate();
+            artifactDiffer().previous(previous).next(previous.subList(1, previous.size())).parallelism(parallelism).build().diff(removed);
+            assertThat(removed.isPassed(), equalTo(false));
+
+            CompatibilityGate same = compatibilityGate();
+            artifactDiffer().previous(previous).next(previous).parallelism(parallelism).build().diff(same);
+            assertThat(same.isPassed(), equalTo(true));
+        }
+    }
+}
@@ -99,6 +99,7 @@ public class ConstructorDifferTest extends AbstractDifferTestCase {
                         .severity(ERROR)
                         .type(ADDED)
                         .messageKey(KEY_CONSTRUCTOR_EXCEPTION_ADDED)
+                        .messageArg(NAME)
                         .messageArg(JAVA_LANG_RUNTIMEEXCEPTION)
                         .build()
                 )
@@ -116,6 +117,7 @@ public class ConstructorDifferTest extends AbstractDifferTestCase {
                         .severity(ERROR)
                         .type(REMOVED)
                         .messageKey(KEY_CONSTRUCTOR_EXCEPTION_REMOVED)
+                        .messageArg(NAME)
                         .messageArg(JAVA_LANG_RUNTIMEEXCEPTION)
                         .build()
                 )
@@ -134,12 +136,14 @@ public class ConstructorDifferTest extends AbstractDifferTestCase {
                         .severity(ERROR)
                         .type(REMOVED)
                         .messageKey(KEY_CONSTRUCTOR_EXCEPTION_REMOVED)
+                        .messageArg(NAME)
                         .messageArg(JAVA_LANG_RUNTIMEEXCEPTION)
                         .build(),
                     diff()
                         .severity(ERROR)
                         .type(ADDED)
                         .messageKey(KEY_CONSTRUCTOR_EXCEPTION_ADDED)
+                        .messageArg(NAME)
                         .messageArg(JAVA_LANG_ILLEGALARGUMENTEXCEPTION)
                         .build()
                 )
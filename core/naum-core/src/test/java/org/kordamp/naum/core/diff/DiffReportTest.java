@@ -0,0 +1,121 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.diff;
+
+import org.junit.Test;
+import org.kordamp.naum.core.NaumException;
+import org.kordamp.naum.core.model.ClassInfo;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.kordamp.naum.core.diff.ArtifactDiffer.artifactDiffer;
+import static org.kordamp.naum.core.diff.DiffReportReader.reportReader;
+import static org.kordamp.naum.core.diff.DiffReportWriter.reportWriter;
+import static org.kordamp.naum.core.model.ClassInfo.newClass;
+import static org.kordamp.naum.core.model.MethodInfo.methodInfo;
+
+/**
+ * @author Andres Almiray
+ */
+public class DiffReportTest {
+    @Test
+    public void reportRoundTripsThroughSmallBuffer() throws IOException {
+        List<ClassInfo> previous = new ArrayList<>();
+        List<ClassInfo> next = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            previous.add(newClass().name("org.example.C" + i).build()
+                .addToMethods(methodInfo().name("m" + i).returnType("void").build()));
+            next.add(newClass().name("org.example.C" + (i % 5 == 0 ? i + 100 : i)).build()
+                .addToMethods(methodInfo().name("m" + (i % 3 == 0 ? i + 1 : i)).returnType("void").build()));
+        }
+        List<Diff> expected = artifactDiffer().previous(previous).next(next).build().diff();
+        expected.add(Diff.diff()
+            .severity(Diff.Severity.WARNING)
+            .type(Diff.Type.MODIFIED)
+            .messageKey("field.value.modified")
+            .messageArg("Quote \" slash \\ tab \t ctrl \u0001 é中😀")
+            .messageArg(52)
+            .messageArg(1L << 40)
+            .messageArg(true)
+            .build());
+
+        BoundedOutputStream out = new BoundedOutputStream();
+        try (DiffReportWriter writer = reportWriter(out, 16)) {
+            artifactDiffer().previous(previous).next(next).build().diff(writer);
+            writer.onDiff(expected.get(expected.size() - 1));
+            assertThat(writer.getCount(), equalTo((long) expected.size()));
+        }
+        assertThat(out.largestWrite, lessThanOrEqualTo(16));
+
+        List<Diff> actual = new ArrayList<>();
+        try (DiffReportReader reader = reportReader(new ByteArrayInputStream(out.toByteArray()))) {
+            reader.readAll(DiffListener.collecting(actual));
+            assertThat(reader.read(), nullValue());
+        }
+        assertThat(actual, equalTo(expected));
+    }
+
+    @Test
+    public void writesOneObjectPerLine() throws IOException {
+        Diff diff = Diff.diff()
+            .severity(Diff.Severity.ERROR)
+            .type(Diff.Type.REMOVED)
+            .messageKey("artifact.class.removed")
+            .messageArg("org.example.A")
+            .build();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DiffReportWriter writer = reportWriter(out)) {
+            writer.write(diff);
+            writer.write(diff);
+        }
+
+        String line = "{\"severity\":\"ERROR\",\"type\":\"REMOVED\",\"messageKey\":\"artifact.class.removed\",\"messageArgs\":[\"org.example.A\"]}";
+        assertThat(out.toString("UTF-8"), equalTo(line + "\n" + line + "\n"));
+        assertThat(DiffReportWriter.toJson(diff), equalTo(line));
+    }
+
+    @Test(expected = NaumException.class)
+    public void rejectsMalformedLines() throws IOException {
+        String report = "{\"severity\":\"ERROR\",\"type\":\"REMOVED\",\"messageKey\":\"k\",\"messageArgs\":[]}\n" +
+            "{\"severity\":\"ERROR\",\"type\":\n";
+        try (DiffReportReader reader = reportReader(new ByteArrayInputStream(report.getBytes(StandardCharsets.UTF_8)))) {
+            assertThat(reader.read().getMessageKey(), equalTo("k"));
+            reader.read();
+        }
+    }
+
+    private static class BoundedOutputStream extends ByteArrayOutputStream {
+        private int largestWrite;
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            largestWrite = Math.max(largestWrite, len);
+            super.write(b, off, len);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.diff;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kordamp.naum.core.model.ClassInfo;
+import org.kordamp.naum.core.scanner.ClassScanner;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.kordamp.naum.core.diff.ArtifactDiffer.artifactDiffer;
+import static org.kordamp.naum.core.diff.DiffSession.diffSession;
+import static org.kordamp.naum.core.processor.ClassFixtures.classFile;
+import static org.kordamp.naum.core.scanner.ClassScanner.classScanner;
+
+/**
+ * @author Andres Almiray
+ */
+public class DiffSessionTest {
+    private static final int CLASSES = 40;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void onlyChangedClassesAreParsedAndDiffedAgain() throws Exception {
+        List<ClassInfo> baseline = new ArrayList<>();
+        for (int i = 0; i < CLASSES; i++) {
+            baseline.addAll(ClassScanner.parse(classFile("C" + i, "m" + i)));
+        }
+
+        Path directory = folder.newFolder("classes").toPath();
+        for (int i = 0; i < CLASSES; i++) {
+            write(directory, i, "m" + i);
+        }
+
+        DiffSession session = diffSession().baseline(baseline).parallelism(4).build();
+        assertRun(session, baseline, directory, CLASSES, CLASSES);
+        assertRun(session, baseline, directory, 0, 0);
+
+        write(directory, 3, "changed");
+        write(directory, 10, "changed");
+        assertRun(session, baseline, directory, 2, 2);
+        assertRun(session, baseline, directory, 0, 0);
+
+        Files.delete(directory.resolve("C5.class"));
+        write(directory, CLASSES, "added");
+        write(directory, 10, "m10");
+        assertRun(session, baseline, directory, 2, 1);
+        assertThat(session.getScanner().getChangedClassNames().size(), equalTo(3));
+    }
+
+    private void assertRun(DiffSession session, List<ClassInfo> baseline, Path directory, int parsed, int diffed) {
+        List<Diff> expected = artifactDiffer()
+            .previous(baseline)
+            .next(classScanner().build().scan(directory))
+            .build()
+            .diff();
+
+        assertThat(session.diff(directory), equalTo(expected));
+        assertThat(session.getScanner().getParsedCount(), equalTo(parsed));
+        assertThat(session.getDiffedCount(), equalTo(diffed));
+    }
+
+    private static void write(Path directory, int index, String method) throws Exception {
+        Files.write(directory.resolve("C" + index + ".class"), classFile("C" + index, method));
+    }
+}
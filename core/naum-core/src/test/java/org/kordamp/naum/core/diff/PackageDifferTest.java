@@ -0,0 +1,125 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.diff;
+
+import org.junit.Test;
+import org.kordamp.naum.core.model.ApiTree;
+import org.kordamp.naum.core.model.ClassIndex;
+import org.kordamp.naum.core.model.ClassInfo;
+import org.kordamp.naum.core.model.ContentHash;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.kordamp.naum.core.diff.ArtifactDiffer.artifactDiffer;
+import static org.kordamp.naum.core.diff.PackageDiffer.packageDiffer;
+import static org.kordamp.naum.core.model.ClassInfo.newClass;
+import static org.kordamp.naum.core.model.MethodInfo.methodInfo;
+
+/**
+ * @author Andres Almiray
+ */
+public class PackageDifferTest {
+    private static final int PACKAGES = 20;
+    private static final int CLASSES = 50;
+
+    @Test
+    public void descendsOnlyIntoChangedPackages() {
+        List<ClassInfo> previous = classes(-1);
+        List<ClassInfo> next = classes(7);
+        next.removeIf(c -> c.getName().startsWith("org.example.p3."));
+        next.add(newClass().name("org.example.p12.Added").build());
+        next.add(newClass().name("org.example.added.A").build());
+
+        CountingIndex p = new CountingIndex(ClassIndex.of(previous));
+        CountingIndex n = new CountingIndex(ClassIndex.of(next));
+        ApiTree pt = ApiTree.of(p);
+        ApiTree nt = ApiTree.of(n);
+        p.lookups.set(0);
+        n.lookups.set(0);
+
+        List<Diff> actual = packageDiffer().previous(pt).next(nt).build().diff();
+
+        List<Diff> expected = artifactDiffer().previous(previous).next(next).parallelism(1).build().diff();
+        assertThat(actual.size(), equalTo(expected.size()));
+        assertThat(new HashSet<>(actual), equalTo(new HashSet<>(expected)));
+        // p7 and p12 changed, p3 was removed, added is new
+        assertThat(p.lookups.get(), equalTo(2 * CLASSES));
+        assertThat(n.lookups.get(), equalTo(2 * CLASSES));
+    }
+
+    @Test
+    public void identicalArtifactsAreNotVisited() {
+        CountingIndex p = new CountingIndex(ClassIndex.of(classes(-1)));
+        CountingIndex n = new CountingIndex(ClassIndex.of(classes(-1)));
+        ApiTree pt = ApiTree.of(p);
+        ApiTree nt = ApiTree.of(n);
+        p.lookups.set(0);
+        n.lookups.set(0);
+
+        assertThat(pt.getHash(), equalTo(nt.getHash()));
+        assertThat(packageDiffer().previous(pt).next(nt).build().diff().size(), equalTo(0));
+        assertThat(p.lookups.get() + n.lookups.get(), equalTo(0));
+    }
+
+    private static List<ClassInfo> classes(int changedPackage) {
+        List<ClassInfo> classes = new ArrayList<>();
+        for (int i = 0; i < PACKAGES; i++) {
+            for (int j = 0; j < CLASSES; j++) {
+                String method = i == changedPackage && j == 0 ? "changed" : "m" + j;
+                classes.add(newClass().name("org.example.p" + i + ".C" + j).build()
+                    .addToMethods(methodInfo().name(method).returnType("void").build()));
+            }
+        }
+        return classes;
+    }
+
+    private static final class CountingIndex implements ClassIndex {
+        private final ClassIndex delegate;
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        private CountingIndex(ClassIndex delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public List<String> getClassNames() {
+            return delegate.getClassNames();
+        }
+
+        @Override
+        public ContentHash getContentHash(String className) {
+            lookups.incrementAndGet();
+            return delegate.getContentHash(className);
+        }
+
+        @Override
+        public ClassInfo getClassInfo(String className) {
+            return delegate.getClassInfo(className);
+        }
+
+        @Override
+        public String getHashAlgorithm() {
+            return delegate.getHashAlgorithm();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.diff;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.kordamp.naum.core.diff.SetDifference.setDifference;
+
+/**
+ * @author Andres Almiray
+ */
+public class SetDifferenceTest {
+    @Test
+    public void computesAddedRemovedAndCommonInOrder() {
+        SetDifference<String> d = setDifference(asList("d", "a", "c", "b"), asList("e", "b", "a", "f"));
+
+        assertThat(d.getRemoved(), equalTo(asList("d", "c")));
+        assertThat(d.getAdded(), equalTo(asList("e", "f")));
+        assertThat(d.getCommon(), equalTo(asList("a", "b")));
+        assertThat(d.isEmpty(), equalTo(false));
+    }
+
+    @Test
+    public void equalCollectionsHaveNoDifference() {
+        SetDifference<String> d = setDifference(asList("a", "b"), asList("b", "a"));
+
+        assertThat(d.isEmpty(), equalTo(true));
+        assertThat(d.getCommon(), equalTo(asList("a", "b")));
+    }
+
+    @Test
+    public void pairsElementsByKey() {
+        SetDifference<String> d = setDifference(asList("a1", "b1"), asList("b2", "c2"), s -> s.charAt(0));
+
+        List<String> pairs = new ArrayList<>();
+        d.forEachCommon((p, n) -> pairs.add(p + "=" + n));
+
+        assertThat(pairs, equalTo(Collections.singletonList("b1=b2")));
+        assertThat(d.getRemoved(), equalTo(Collections.singletonList("a1")));
+        assertThat(d.getAdded(), equalTo(Collections.singletonList("c2")));
+    }
+}
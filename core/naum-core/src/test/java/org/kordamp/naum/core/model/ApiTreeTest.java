@@ -0,0 +1,87 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.model;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.kordamp.naum.core.model.ClassInfo.newClass;
+import static org.kordamp.naum.core.model.MethodInfo.methodInfo;
+
+/**
+ * @author Andres Almiray
+ */
+public class ApiTreeTest {
+    @Test
+    public void groupsClassesByPackage() {
+        ApiTree tree = ApiTree.of(classes("m"));
+
+        assertThat(tree.getPackages().size(), equalTo(3));
+        assertThat(tree.getPackages().get(0).getName(), equalTo(""));
+        assertThat(tree.getPackage("org.example").getClassNames(),
+            equalTo(asList("org.example.A", "org.example.A$Inner", "org.example.B")));
+        assertThat(tree.getPackage("org.example.sub").getClassNames(), equalTo(asList("org.example.sub.C")));
+        assertThat(tree.getPackage("org.missing"), nullValue());
+    }
+
+    @Test
+    public void onlyHashesOnThePathToAChangedMemberChange() {
+        ApiTree tree = ApiTree.of(classes("m"));
+        List<ClassInfo> shuffled = classes("m");
+        Collections.reverse(shuffled);
+        ApiTree same = ApiTree.of(shuffled);
+        ApiTree changed = ApiTree.of(classes("n"));
+
+        assertThat(same.getHash(), equalTo(tree.getHash()));
+        assertThat(same.hasSameContent(tree), equalTo(true));
+
+        assertThat(changed.getHash(), not(equalTo(tree.getHash())));
+        assertThat(changed.getPackage("org.example.sub").getHash(), not(equalTo(tree.getPackage("org.example.sub").getHash())));
+        assertThat(changed.getPackage("org.example").getHash(), equalTo(tree.getPackage("org.example").getHash()));
+        assertThat(changed.getPackage("").getHash(), equalTo(tree.getPackage("").getHash()));
+    }
+
+    @Test
+    public void movingAClassToAnotherPackageChangesTheArtifactHash() {
+        List<ClassInfo> moved = classes("m");
+        moved.removeIf(c -> c.getName().equals("org.example.B"));
+        moved.add(newClass().name("org.example.sub.B").build());
+
+        assertThat(ApiTree.of(moved).getHash(), not(equalTo(ApiTree.of(classes("m")).getHash())));
+        assertThat(ApiTree.of(Collections.emptyList()).getPackages().size(), equalTo(0));
+    }
+
+    private static List<ClassInfo> classes(String method) {
+        List<ClassInfo> classes = new ArrayList<>();
+        classes.add(newClass().name("Default").build());
+        classes.add(newClass().name("org.example.A").build());
+        classes.add(newClass().name("org.example.A$Inner").build());
+        classes.add(newClass().name("org.example.B").build());
+        classes.add(newClass().name("org.example.sub.C").build()
+            .addToMethods(methodInfo().name(method).returnType("void").build()));
+        return classes;
+    }
+}
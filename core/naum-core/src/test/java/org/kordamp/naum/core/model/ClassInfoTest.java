@@ -0,0 +1,99 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.model;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.kordamp.naum.core.model.ClassInfo.newClass;
+import static org.kordamp.naum.core.model.MethodInfo.methodInfo;
+import static org.kordamp.naum.core.model.Opcodes.ACC_PUBLIC;
+
+public class ClassInfoTest {
+    @Test
+    public void membersAreSortedOnAccess() {
+        ClassInfo classInfo = classWithMethods("c", "a", "b");
+
+        assertThat(namesOf(classInfo.getMethods()), equalTo(asList("a", "b", "c")));
+    }
+
+    @Test
+    public void readingMembersDoesNotChangeAnUnfrozenClass() {
+        ClassInfo classInfo = classWithMethods("c", "a");
+        List<MethodInfo> sorted = classInfo.getMethods();
+
+        classInfo.addToMethods(method("b"));
+
+        assertThat(namesOf(sorted), equalTo(asList("a", "c")));
+        assertThat(namesOf(classInfo.getMethods()), equalTo(asList("a", "b", "c")));
+        assertThat(namesOf(classInfo.freeze().getMethods()), equalTo(asList("a", "b", "c")));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void unfrozenMemberListsCannotBeModified() {
+        classWithMethods("b", "a").getMethods().clear();
+    }
+
+    @Test
+    public void frozenClassExposesSortedImmutableMembers() {
+        ClassInfo classInfo = classWithMethods("c", "a", "b").freeze();
+
+        assertThat(classInfo.isFrozen(), equalTo(true));
+        assertThat(classInfo.getMethods().get(0).isFrozen(), equalTo(true));
+        assertThat(namesOf(classInfo.getMethods()), equalTo(asList("a", "b", "c")));
+        assertThat(classInfo, equalTo(classWithMethods("b", "c", "a")));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void frozenMemberListsCannotBeModified() {
+        classWithMethods("a").freeze().getMethods().clear();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void frozenClassRejectsNewMembers() {
+        classWithMethods("a").freeze().addToMethods(method("b"));
+    }
+
+    private static ClassInfo classWithMethods(String... names) {
+        ClassInfo classInfo = newClass()
+            .name("org.example.Foo")
+            .build();
+        for (String name : names) {
+            classInfo.addToMethods(method(name));
+        }
+        return classInfo;
+    }
+
+    private static MethodInfo method(String name) {
+        return methodInfo()
+            .name(name)
+            .modifiers(ACC_PUBLIC)
+            .build();
+    }
+
+    private static List<String> namesOf(List<MethodInfo> methods) {
+        return methods.stream()
+            .map(MethodInfo::getName)
+            .collect(Collectors.toList());
+    }
+}
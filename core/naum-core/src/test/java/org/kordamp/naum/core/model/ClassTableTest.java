@@ -0,0 +1,87 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.model;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.kordamp.naum.core.diff.ArtifactDiffer.artifactDiffer;
+import static org.kordamp.naum.core.model.ClassInfo.newEnum;
+import static org.kordamp.naum.core.model.FieldInfo.fieldInfo;
+import static org.kordamp.naum.core.model.MethodInfo.methodInfo;
+import static org.kordamp.naum.core.processor.ClassFixtures.scanFixtures;
+
+public class ClassTableTest {
+    @Test
+    public void tableMaterializesEqualClasses() throws Exception {
+        List<ClassInfo> classes = scanFixtures();
+        ClassTable table = ClassTable.of(classes);
+
+        assertThat(table.getClassNames(), equalTo(classes.stream()
+            .map(ClassInfo::getName)
+            .distinct()
+            .collect(Collectors.toList())));
+        for (ClassInfo expected : classes) {
+            assertThat(table.getContentHash(expected.getName()), equalTo(expected.getContentHash()));
+            ClassInfo actual = table.getClassInfo(expected.getName());
+            assertThat(actual, equalTo(expected));
+            assertThat(actual.getContentHash(), equalTo(expected.getContentHash()));
+        }
+        assertThat(table.getClassInfo("does.not.Exist"), nullValue());
+        assertThat(table.contains("does.not.Exist"), equalTo(false));
+    }
+
+    @Test
+    public void viewsExposeColumns() {
+        ClassInfo klass = newEnum()
+            .name("org.example.Color")
+            .iface("java.io.Serializable")
+            .build()
+            .addToFields(fieldInfo().name("RED").type("org.example.Color").modifiers(25).build())
+            .addToFields(fieldInfo().name("BLUE").type("org.example.Color").modifiers(25).build())
+            .addToMethods(methodInfo().name("mix").returnType("org.example.Color").argumentTypes("org.example.Color").exceptions(new String[]{"java.io.IOException"}).build())
+            .freeze();
+
+        ClassTable.ClassView view = ClassTable.of(List.of(klass)).getClassView("org.example.Color");
+        assertThat(view.isEnum(), equalTo(true));
+        assertThat(view.getModifiers(), equalTo(klass.getModifiers()));
+        assertThat(view.getInterfaces(), equalTo(new String[]{"java.io.Serializable"}));
+        assertThat(view.getFields().stream().map(ClassTable.FieldView::getName).collect(Collectors.toList()),
+            equalTo(List.of("RED", "BLUE")));
+        assertThat(view.getMethods(), hasSize(1));
+        assertThat(view.getMethods().get(0).getExceptions(), equalTo(new String[]{"java.io.IOException"}));
+        assertThat(view.getConstructors(), hasSize(0));
+        assertThat(view.toClassInfo(), equalTo(klass));
+    }
+
+    @Test
+    public void differRunsOnTables() throws Exception {
+        List<ClassInfo> classes = scanFixtures();
+        assertThat(artifactDiffer()
+            .previous(ClassTable.of(classes))
+            .next(ClassIndex.of(classes))
+            .build()
+            .diff(), hasSize(0));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.model;
+
+import org.junit.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.kordamp.naum.core.model.AnnotationInfo.annotationInfo;
+import static org.kordamp.naum.core.model.ClassInfo.newClass;
+import static org.kordamp.naum.core.model.MethodInfo.methodInfo;
+import static org.kordamp.naum.core.model.Opcodes.ACC_PUBLIC;
+import static org.kordamp.naum.core.model.Opcodes.ACC_STATIC;
+
+public class ContentHashTest {
+    @Test
+    public void murmur3MatchesReferenceValues() {
+        assertThat(hashOf(""), equalTo("00000000000000000000000000000000"));
+        assertThat(hashOf("hello"), equalTo("cbd8a7b341bd9b025b1e906a48ae1d19"));
+        assertThat(hashOf("The quick brown fox jumps over the lazy dog"), equalTo("e34bbc7bbc071b6c7a433ca9c49a9347"));
+    }
+
+    @Test
+    public void alignedAndUnalignedWritesProduceTheSameHash() {
+        ContentHash expected = new Murmur3ContentHasher()
+            .putByte((byte) 1)
+            .putLong(0x0102030405060708L)
+            .putInt(42)
+            .hash();
+
+        byte[] bytes = {1, 8, 7, 6, 5, 4, 3, 2, 1, 42, 0, 0, 0};
+        ContentHash actual = new Murmur3ContentHasher()
+            .putBytes(bytes, 0, bytes.length)
+            .hash();
+
+        assertThat(actual, equalTo(expected));
+    }
+
+    @Test
+    public void contentHashRoundTripsThroughString() {
+        ContentHash hash = new Murmur3ContentHasher().putString("naum").hash();
+        assertThat(ContentHash.fromString(hash.toString()), equalTo(hash));
+    }
+
+    @Test
+    public void classHashTracksMemberChanges() {
+        assertThat(classWith("foo", ACC_PUBLIC).getContentHash(), equalTo(classWith("foo", ACC_PUBLIC).getContentHash()));
+        assertThat(classWith("foo", ACC_PUBLIC).getContentHash(), not(equalTo(classWith("bar", ACC_PUBLIC).getContentHash())));
+        assertThat(classWith("foo", ACC_PUBLIC).getContentHash(), not(equalTo(classWith("foo", ACC_PUBLIC | ACC_STATIC).getContentHash())));
+        assertThat(classWith("foo", ACC_PUBLIC).hasSameContent(classWith("foo", ACC_PUBLIC)), equalTo(true));
+    }
+
+    @Test
+    public void annotationHashTracksValues() {
+        AnnotationInfo a = annotationInfo().name("A").value("value", 1).build();
+        AnnotationInfo b = annotationInfo().name("A").value("value", 2).build();
+        AnnotationInfo c = annotationInfo().name("A").value("value", 1).build();
+
+        assertThat(a.getContentHash(), not(equalTo(b.getContentHash())));
+        assertThat(a.getContentHash(), equalTo(c.getContentHash()));
+    }
+
+    private static ClassInfo classWith(String methodName, int modifiers) {
+        return newClass()
+            .name("org.example.Foo")
+            .build()
+            .addToMethods(methodInfo()
+                .name(methodName)
+                .modifiers(modifiers)
+                .argumentTypes("java.lang.String")
+                .build());
+    }
+
+    private static String hashOf(String value) {
+        byte[] bytes = value.getBytes(UTF_8);
+        return new Murmur3ContentHasher().putBytes(bytes, 0, bytes.length).hash().toString();
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.processor;
+
+import org.junit.Test;
+import org.kordamp.naum.core.NaumException;
+import org.kordamp.naum.core.model.ClassInfo;
+import org.kordamp.naum.core.model.ContentHash;
+import org.kordamp.naum.core.scanner.ClassScanner;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_STATIC;
+import static org.objectweb.asm.Opcodes.ACC_SYNTHETIC;
+import static org.objectweb.asm.Opcodes.ICONST_1;
+import static org.objectweb.asm.Opcodes.ICONST_2;
+import static org.objectweb.asm.Opcodes.IRETURN;
+import static org.objectweb.asm.Opcodes.V1_8;
+
+/**
+ * @author Andres Almiray
+ */
+public class ApiFingerprintTest {
+    private static final String[] FIXTURES = {
+        "annotation/WithAnnotationArrayValueAnnotation",
+        "annotation/WithClassArrayValueAnnotation",
+        "annotation/WithEnumValueAnnotation",
+        "annotation/WithPrimitiveArrayValueAnnotation",
+        "annotation/WithRetentionClassAnnotation",
+        "annotation/WithStringValueAnnotation",
+        "field/FieldsWithAnnotations",
+        "field/FieldsWithGenerics",
+        "field/PrivatePrimitiveFieldsClass",
+        "klass/ClassWithConstructors",
+        "klass/ClassWithInnerClasses",
+        "klass/EnumWithAnnotation",
+        "klass/PlainEnum",
+        "klass/TypedClassWithBound"
+    };
+
+    @Test
+    public void fingerprintIgnoresDebugInformationAndConstantPoolOrder() throws Exception {
+        for (String fixture : FIXTURES) {
+            byte[] bytes = load("org/kordamp/naum/core/processor/" + fixture + ".class");
+
+            // a fresh ClassWriter lays out a new constant pool
+            ClassWriter writer = new ClassWriter(0);
+            new ClassReader(bytes).accept(writer, ClassReader.SKIP_DEBUG);
+            byte[] rewritten = writer.toByteArray();
+
+            assertThat(fixture, Arrays.equals(rewritten, bytes), equalTo(false));
+            assertThat(fixture, ApiFingerprint.of(rewritten), equalTo(ApiFingerprint.of(bytes)));
+        }
+    }
+
+    @Test
+    public void fingerprintChangesWithTheApi() {
+        byte[] base = classFile(c -> { });
+
+        assertSameApi(base, classFile(c -> {
+            MethodVisitor mv = c.visitMethod(ACC_PRIVATE | ACC_STATIC | ACC_SYNTHETIC, "lambda$foo$0", "()I", null, null);
+            mv.visitCode();
+            mv.visitInsn(ICONST_2);
+            mv.visitInsn(IRETURN);
+            mv.visitMaxs(1, 0);
+            mv.visitEnd();
+        }), ScanProfile.EVERYTHING);
+        assertSameApi(base, classFile(c -> c.visitMethod(ACC_PRIVATE, "helper", "()V", null, null).visitEnd()), ScanProfile.PUBLIC);
+
+        assertDifferentApi(base, classFile(c -> c.visitMethod(ACC_PRIVATE, "helper", "()V", null, null).visitEnd()), ScanProfile.EVERYTHING);
+        assertDifferentApi(base, classFile(c -> c.visitMethod(ACC_PUBLIC, "bar", "()V", null, new String[]{"java/io/IOException"}).visitEnd()), ScanProfile.PUBLIC);
+        assertDifferentApi(base, classFile(c -> c.visitField(ACC_PUBLIC | ACC_STATIC | ACC_FINAL, "MAX", "I", null, 11).visitEnd()), ScanProfile.PUBLIC);
+        assertDifferentApi(base, classFile(c -> {
+            AnnotationVisitor av = c.visitAnnotation("Ljava/lang/Deprecated;", true);
+            av.visit("since", "2");
+            av.visitEnd();
+        }), ScanProfile.PUBLIC);
+    }
+
+    @Test(expected = NaumException.class)
+    public void rejectsTruncatedClassFiles() {
+        byte[] bytes = classFile(c -> { });
+        ApiFingerprint.of(bytes, bytes.length / 2, ScanProfile.EVERYTHING);
+    }
+
+    private static void assertSameApi(byte[] a, byte[] b, ScanProfile profile) {
+        assertThat(Arrays.equals(a, b), equalTo(false));
+        assertThat(ApiFingerprint.of(a, profile), equalTo(ApiFingerprint.of(b, profile)));
+        assertThat(contentHash(a, profile), equalTo(contentHash(b, profile)));
+    }
+
+    private static void assertDifferentApi(byte[] a, byte[] b, ScanProfile profile) {
+        assertThat(ApiFingerprint.of(a, profile), not(equalTo(ApiFingerprint.of(b, profile))));
+        assertThat(contentHash(a, profile), not(equalTo(contentHash(b, profile))));
+    }
+
+    private static ContentHash contentHash(byte[] bytes, ScanProfile profile) {
+        ClassInfo classInfo = ClassScanner.parse(bytes, new SymbolTable(), profile).get(0);
+        return classInfo.getContentHash();
+    }
+
+    private static byte[] classFile(Consumer<ClassWriter> customizer) {
+        ClassWriter writer = new ClassWriter(0);
+        writer.visit(V1_8, ACC_PUBLIC, "org/example/Api", null, "java/lang/Object", null);
+        AnnotationVisitor av = writer.visitAnnotation("Ljava/lang/Deprecated;", true);
+        av.visit("since", "1");
+        av.visitEnd();
+        FieldVisitor fv = writer.visitField(ACC_PUBLIC | ACC_STATIC | ACC_FINAL, "LIMIT", "I", null, 10);
+        fv.visitEnd();
+        MethodVisitor mv = writer.visitMethod(ACC_PUBLIC, "foo", "()I", null, null);
+        mv.visitCode();
+        mv.visitInsn(ICONST_1);
+        mv.visitInsn(IRETURN);
+        mv.visitMaxs(1, 1);
+        mv.visitEnd();
+        customizer.accept(writer);
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    private static byte[] load(String path) throws Exception {
+        try (InputStream in = ApiFingerprintTest.class.getClassLoader().getResourceAsStream(path)) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.processor;
+
+import org.kordamp.naum.core.model.ClassInfo;
+import org.kordamp.naum.core.processor.klass.PlainClass;
+import org.kordamp.naum.core.scanner.ClassScanner;
+import org.objectweb.asm.ClassWriter;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.V1_8;
+
+/**
+ * Class fixtures shared by tests.
+ *
+ * @author Andres Almiray
+ */
+public final class ClassFixtures {
+    private ClassFixtures() {
+        // noop
+    }
+
+    /**
+     * Scans every compiled fixture class found below this package.
+     */
+    public static List<ClassInfo> scanFixtures() throws Exception {
+        String resource = PlainClass.class.getName().replace('.', '/') + ".class";
+        Path directory = Paths.get(PlainClass.class.getClassLoader().getResource(resource).toURI()).getParent().getParent();
+        List<ClassInfo> classes = ClassScanner.classScanner().build().scan(directory);
+        assertThat(classes, hasSize(greaterThan(0)));
+        return classes;
+    }
+
+    /**
+     * Generates a public class {@code org.example.<name>} with a single public method.
+     * Changing the method name changes the API of the class.
+     */
+    public static byte[] classFile(String name, String method) {
+        return classFile(name, method, writer -> { });
+    }
+
+    /**
+     * Same as {@link #classFile(String, String)}, the customizer may add further
+     * members or attributes before the class is written.
+     */
+    public static byte[] classFile(String name, String method, Consumer<ClassWriter> customizer) {
+        ClassWriter writer = new ClassWriter(0);
+        writer.visit(V1_8, ACC_PUBLIC, "org/example/" + name, null, "java/lang/Object", null);
+        writer.visitMethod(ACC_PUBLIC, method, "()V", null, null).visitEnd();
+        customizer.accept(writer);
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+}
@@ -24,19 +24,18 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Stack;
 
 /**
  * A {@link SignatureVisitor} that prints a disassembled view of the signature
- * it visits.
+ * it visits. Serves as the reference for {@link SignatureDecoder} in tests.
  *
  * @author Eugene Kuleshov
  * @author Eric Bruneton
  * @since 0.1.0
  */
-public final class CustomTraceSignatureVisitor extends SignatureVisitor {
+final class CustomTraceSignatureVisitor extends SignatureVisitor {
 
-    private final StringBuffer declaration;
+    private final StringBuilder declaration;
 
     private boolean isInterface;
 
@@ -48,15 +47,15 @@ public final class CustomTraceSignatureVisitor extends SignatureVisitor {
 
     private boolean seenInterface;
 
-    private StringBuffer returnType;
+    private StringBuilder returnType;
 
-    private StringBuffer superclass;
+    private StringBuilder superclass;
 
     private String formalParameters;
 
-    private final Stack<StringBuffer> exceptions = new Stack<>();
+    private final List<StringBuilder> exceptions = new ArrayList<>();
 
-    private final Stack<StringBuffer> interfaces = new Stack<>();
+    private final List<StringBuilder> interfaces = new ArrayList<>();
 
     /**
      * Stack used to keep track of class types that have arguments. Each element
@@ -78,10 +77,10 @@ public final class CustomTraceSignatureVisitor extends SignatureVisitor {
     public CustomTraceSignatureVisitor(final int access) {
         super(Opcodes.ASM9);
         isInterface = (access & Opcodes.ACC_INTERFACE) != 0;
-        this.declaration = new StringBuffer();
+        this.declaration = new StringBuilder();
     }
 
-    private CustomTraceSignatureVisitor(final StringBuffer buf) {
+    private CustomTraceSignatureVisitor(final StringBuilder buf) {
         super(Opcodes.ASM9);
         this.declaration = buf;
     }
@@ -113,7 +112,7 @@ public final class CustomTraceSignatureVisitor extends SignatureVisitor {
         endFormals();
         separator = " extends ";
         if (superclass == null) {
-            superclass = new StringBuffer();
+            superclass = new StringBuilder();
         }
         return new CustomTraceSignatureVisitor(superclass);
     }
@@ -123,8 +122,9 @@ public final class CustomTraceSignatureVisitor extends SignatureVisitor {
         separator = seenInterface ? ", " : isInterface ? " extends "
             : " implements ";
         seenInterface = true;
-        interfaces.push(new StringBuffer());
-        return new CustomTraceSignatureVisitor(interfaces.peek());
+        StringBuilder iface = new StringBuilder();
+        interfaces.add(iface);
+        return new CustomTraceSignatureVisitor(iface);
     }
 
     @Override
@@ -149,14 +149,15 @@ public final class CustomTraceSignatureVisitor extends SignatureVisitor {
             declaration.append('(');
         }
         declaration.append(')');
-        returnType = new StringBuffer();
+        returnType = new StringBuilder();
         return new CustomTraceSignatureVisitor(returnType);
     }
 
     @Override
     public SignatureVisitor visitExceptionType() {
-        exceptions.push(new StringBuffer());
-        return new CustomTraceSignatureVisitor(exceptions.peek());
+        StringBuilder exception = new StringBuilder();
+        exceptions.add(exception);
+        return new CustomTraceSignatureVisitor(exception);
     }
 
     @Override
@@ -287,7 +288,7 @@ public final class CustomTraceSignatureVisitor extends SignatureVisitor {
 
     public Collection<String> getExceptions() {
         List<String> values = new ArrayList<>();
-        exceptions.stream().map(StringBuffer::toString).forEach(values::add);
+        exceptions.stream().map(StringBuilder::toString).forEach(values::add);
         Collections.sort(values);
         return values;
     }
@@ -302,7 +303,7 @@ public final class CustomTraceSignatureVisitor extends SignatureVisitor {
 
     public Collection<String> getInterfaces() {
         List<String> values = new ArrayList<>();
-        interfaces.stream().map(StringBuffer::toString).forEach(values::add);
+        interfaces.stream().map(StringBuilder::toString).forEach(values::add);
         Collections.sort(values);
         return values;
     }
@@ -0,0 +1,147 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.processor;
+
+import org.junit.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.signature.SignatureReader;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+
+public class SignatureDecoderTest {
+    private static final Pattern SIGNATURE_PATTERN = Pattern.compile("(.*)\\((.*)\\)");
+
+    private final SignatureDecoder decoder = new SignatureDecoder();
+
+    @Test
+    public void decodeMethodSignature() {
+        decoder.decode("<T:Ljava/lang/Object;U::Ljava/lang/Comparable<-TU;>;>(Ljava/util/Map<TT;[TU;>;Ljava/lang/Object;)Ljava/util/List<+Ljava/lang/Number;>;^Ljava/io/IOException;");
+        assertThat(decoder.getTypeParameters(), equalTo("<T, U extends java.lang.Comparable<? super U>>"));
+        assertThat(decoder.getArgumentTypes(), equalTo("java.util.Map<T, U[]>, java.lang.Object"));
+        assertThat(decoder.getReturnType(), equalTo("java.util.List<? extends java.lang.Number>"));
+        assertThat(decoder.getExceptions(), equalTo(new String[]{"java.io.IOException"}));
+
+        decoder.decode("()V");
+        assertThat(decoder.getTypeParameters(), equalTo(""));
+        assertThat(decoder.getArgumentTypes(), equalTo(""));
+        assertThat(decoder.getReturnType(), equalTo("void"));
+        assertThat(decoder.getExceptions(), equalTo(new String[0]));
+    }
+
+    @Test
+    public void decodeClassSignature() {
+        decoder.decode("<E:Ljava/lang/Object;>Ljava/util/AbstractList<TE;>;Ljava/util/List<TE;>;Ljava/io/Serializable;");
+        assertThat(decoder.getTypeParameters(), equalTo("<E>"));
+        assertThat(decoder.getType(), equalTo("java.util.AbstractList<E>"));
+        assertThat(decoder.getInterfaces(), equalTo(new String[]{"java.io.Serializable", "java.util.List<E>"}));
+    }
+
+    @Test
+    public void decodeFieldSignature() {
+        decoder.decode("[[Lpkg/Outer<TT;>.Inner<*>;");
+        assertThat(decoder.getType(), equalTo("pkg.Outer<T>.Inner<?>[][]"));
+
+        decoder.decode("J");
+        assertThat(decoder.getType(), equalTo("long"));
+    }
+
+    @Test
+    public void decoderMatchesTraceSignatureVisitorOnJdkClasses() throws IOException {
+        List<String[]> signatures = new ArrayList<>();
+        FileSystem jrt = FileSystems.getFileSystem(URI.create("jrt:/"));
+        for (String pkg : new String[]{"java/util", "java/util/concurrent", "java/util/function", "java/lang/invoke"}) {
+            try (Stream<Path> files = Files.list(jrt.getPath("modules", "java.base", pkg))) {
+                for (Path file : files.filter(p -> p.toString().endsWith(".class")).collect(Collectors.toList())) {
+                    new ClassReader(Files.readAllBytes(file)).accept(new SignatureCollector(signatures), ClassReader.SKIP_CODE);
+                }
+            }
+        }
+
+        assertThat(signatures.size(), greaterThan(1000));
+        for (String[] signature : signatures) {
+            decoder.decode(signature[1]);
+            CustomTraceSignatureVisitor sv = new CustomTraceSignatureVisitor(Opcodes.ACC_PUBLIC);
+            new SignatureReader(signature[1]).accept(sv);
+
+            switch (signature[0]) {
+                case "class":
+                    assertThat(signature[1], decoder.getTypeParameters(), equalTo(sv.getFormalParameters() != null ? sv.getFormalParameters() : ""));
+                    assertThat(signature[1], decoder.getType(), equalTo(sv.getTypeOrSuperclass()));
+                    assertThat(signature[1], decoder.getInterfaces(), equalTo(sv.getInterfaces().toArray(new String[0])));
+                    break;
+                case "method":
+                    Matcher matcher = SIGNATURE_PATTERN.matcher(sv.getDeclaration());
+                    matcher.matches();
+                    assertThat(signature[1], decoder.getTypeParameters(), equalTo(matcher.group(1)));
+                    assertThat(signature[1], decoder.getArgumentTypes(), equalTo(matcher.group(2)));
+                    assertThat(signature[1], decoder.getReturnType(), equalTo(sv.getReturnType()));
+                    assertThat(signature[1], decoder.getExceptions(), equalTo(sv.getExceptions().toArray(new String[0])));
+                    break;
+                default:
+                    assertThat(signature[1], decoder.getType(), equalTo(sv.getTypeOrSuperclass()));
+            }
+        }
+    }
+
+    private static class SignatureCollector extends ClassVisitor {
+        private final List<String[]> signatures;
+
+        private SignatureCollector(List<String[]> signatures) {
+            super(Opcodes.ASM9);
+            this.signatures = signatures;
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            if (signature != null) {
+                signatures.add(new String[]{"class", signature});
+            }
+        }
+
+        @Override
+        public FieldVisitor visitField(int access, String name, String desc, String signature, Object value) {
+            signatures.add(new String[]{"field", signature != null ? signature : desc});
+            return null;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
+            signatures.add(new String[]{"method", signature != null ? signature : desc});
+            return null;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.processor;
+
+import org.junit.Test;
+import org.kordamp.naum.core.model.ClassInfo;
+import org.kordamp.naum.core.model.FieldInfo;
+import org.objectweb.asm.ClassReader;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class SymbolTableTest {
+    @Test
+    public void internReturnsSharedInstances() {
+        SymbolTable symbols = new SymbolTable();
+        String first = symbols.intern(new String("java.lang.String"));
+        String second = symbols.intern(new String("java.lang.String"));
+
+        assertThat(second, sameInstance(first));
+        assertThat(symbols.id("java.lang.String"), equalTo(0));
+        assertThat(symbols.symbol(0), sameInstance(first));
+        assertThat(symbols.intern(null), nullValue());
+    }
+
+    @Test
+    public void internalNamesAndDescriptorsShareBinaryNames() {
+        SymbolTable symbols = new SymbolTable();
+        String name = symbols.intern("java.util.List");
+
+        assertThat(symbols.internalName("java/util/List"), sameInstance(name));
+        assertThat(symbols.descriptor("Ljava/util/List;"), sameInstance(name));
+        assertThat(symbols.internalNames(new String[]{"java/util/List"})[0], sameInstance(name));
+        assertThat(symbols.size(), equalTo(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownIdIsRejected() {
+        new SymbolTable().symbol(3);
+    }
+
+    @Test
+    public void concurrentRegistrationAssignsOneIdPerSymbol() throws Exception {
+        SymbolTable symbols = new SymbolTable();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = IntStream.range(0, 4)
+                .mapToObj(t -> executor.submit(() -> IntStream.range(0, 2000).forEach(i -> symbols.id("symbol" + i))))
+                .collect(Collectors.toList());
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(symbols.size(), equalTo(2000));
+        for (int i = 0; i < 2000; i++) {
+            assertThat(symbols.symbol(symbols.id("symbol" + i)), equalTo("symbol" + i));
+        }
+    }
+
+    @Test
+    public void processorsSharingATableShareTypeNames() throws Exception {
+        SymbolTable symbols = new SymbolTable();
+        ClassInfo first = process("org/kordamp/naum/core/processor/field/PublicReferenceFieldsClass.class", symbols);
+        ClassInfo second = process("org/kordamp/naum/core/processor/field/PrivateReferenceFieldsClass.class", symbols);
+
+        FieldInfo field = first.getFields().get(0);
+        FieldInfo other = second.getFields().stream()
+            .filter(f -> f.getType().equals(field.getType()))
+            .findFirst()
+            .get();
+        assertThat(other.getType(), sameInstance(field.getType()));
+        assertThat(second.getSuperclass(), sameInstance(first.getSuperclass()));
+    }
+
+    private static ClassInfo process(String resource, SymbolTable symbols) throws Exception {
+        try (InputStream stream = SymbolTableTest.class.getClassLoader().getResourceAsStream(resource)) {
+            ClassProcessor processor = new ClassProcessor(symbols);
+            new ClassReader(stream).accept(processor, ClassReader.SKIP_CODE);
+            return processor.getClasses().get(0);
+        }
+    }
+}
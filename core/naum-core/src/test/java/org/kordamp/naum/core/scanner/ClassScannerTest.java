@@ -0,0 +1,223 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.scanner;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kordamp.naum.core.model.ClassInfo;
+import org.kordamp.naum.core.model.MemberInfo;
+import org.kordamp.naum.core.model.Modifiers;
+import org.kordamp.naum.core.processor.ScanProfile;
+import org.kordamp.naum.core.processor.klass.PlainClass;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.kordamp.naum.core.processor.ClassFixtures.classFile;
+
+public class ClassScannerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void scanDirectoryMatchesSequentialParse() throws Exception {
+        Path directory = klassDirectory();
+
+        List<ClassInfo> expected = new ArrayList<>();
+        for (Path file : classFiles(directory)) {
+            expected.addAll(ClassScanner.parse(Files.readAllBytes(file)));
+        }
+        expected.sort(null);
+
+        List<ClassInfo> actual = ClassScanner.classScanner()
+            .parallelism(4)
+            .build()
+            .scan(directory);
+
+        assertThat(actual, hasSize(greaterThan(0)));
+        assertThat(actual, equalTo(expected));
+    }
+
+    @Test
+    public void scanArchiveMatchesDirectory() throws Exception {
+        Path directory = klassDirectory();
+        Path jar = createJar(directory);
+
+        ClassScanner scanner = ClassScanner.classScanner()
+            .parallelism(4)
+            .build();
+
+        assertThat(scanner.scan(jar), equalTo(scanner.scan(directory)));
+    }
+
+    @Test
+    public void scanResultsAreSortedByName() throws Exception {
+        Path directory = klassDirectory();
+
+        List<ClassInfo> classes = ClassScanner.classScanner()
+            .parallelism(3)
+            .build()
+            .scanClasspath(directory + File.pathSeparator + createJar(directory));
+
+        List<String> names = classes.stream()
+            .map(ClassInfo::getName)
+            .collect(Collectors.toList());
+        List<String> sorted = new ArrayList<>(names);
+        sorted.sort(null);
+
+        assertThat(names, equalTo(sorted));
+        assertThat(classes, hasSize(classFiles(directory).size() * 2));
+    }
+
+    @Test
+    public void profilesRecordMembersOfMatchingVisibility() throws Exception {
+        Path directory = klassDirectory();
+        List<ClassInfo> everything = ClassScanner.classScanner().build().scan(directory);
+
+        for (ScanProfile profile : ScanProfile.values()) {
+            List<ClassInfo> classes = ClassScanner.classScanner()
+                .profile(profile)
+                .build()
+                .scan(directory);
+            assertThat(classes, hasSize(everything.size()));
+
+            for (int i = 0; i < classes.size(); i++) {
+                assertThat(members(classes.get(i)), equalTo(members(everything.get(i)).stream()
+                    .filter(member -> profile.includes(member.getModifiers()))
+                    .collect(Collectors.toList())));
+            }
+        }
+    }
+
+    @Test
+    public void multiReleaseJarsAreScannedPerRelease() throws Exception {
+        Path jar = createMultiReleaseJar("multi-release.jar", true);
+
+        Map<Integer, List<ClassInfo>> views = ClassScanner.classScanner()
+            .parallelism(4)
+            .build()
+            .scanReleases(asList(jar), 8, 11, 17, 21);
+
+        assertThat(views.keySet(), equalTo(new LinkedHashSet<>(asList(8, 11, 17, 21))));
+        assertThat(methodsOf(views.get(8)), equalTo(asList("org.example.A#base", "org.example.B#base")));
+        assertThat(methodsOf(views.get(11)), equalTo(asList("org.example.A#r11", "org.example.B#base")));
+        assertThat(methodsOf(views.get(17)), equalTo(asList("org.example.A#r17", "org.example.B#base", "org.example.C#r17")));
+        assertThat(methodsOf(views.get(21)), equalTo(asList("org.example.A#r17", "org.example.B#r21", "org.example.C#r17")));
+        // base entries are shared by every view
+        assertThat(views.get(8).get(1) == views.get(17).get(1), equalTo(true));
+
+        assertThat(ClassScanner.classScanner().release(17).build().scan(jar), equalTo(views.get(17)));
+        assertThat(ClassScanner.classScanner().build().scan(jar), equalTo(views.get(8)));
+    }
+
+    @Test
+    public void versionedEntriesAreIgnoredWithoutMultiReleaseManifest() throws Exception {
+        Path jar = createMultiReleaseJar("plain.jar", false);
+
+        assertThat(methodsOf(ClassScanner.classScanner().release(21).build().scan(jar)),
+            equalTo(asList("org.example.A#base", "org.example.B#base")));
+    }
+
+    private static List<String> methodsOf(List<ClassInfo> classes) {
+        return classes.stream()
+            .map(c -> c.getName() + "#" + c.getMethods().get(0).getName())
+            .collect(Collectors.toList());
+    }
+
+    private Path createMultiReleaseJar(String name, boolean multiRelease) throws Exception {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        if (multiRelease) {
+            manifest.getMainAttributes().put(Attributes.Name.MULTI_RELEASE, "true");
+        }
+
+        File jar = folder.newFile(name);
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar), manifest)) {
+            write(out, "org/example/A.class", classFile("A", "base"));
+            write(out, "org/example/B.class", classFile("B", "base"));
+            write(out, "META-INF/versions/11/org/example/A.class", classFile("A", "r11"));
+            write(out, "META-INF/versions/17/org/example/A.class", classFile("A", "r17"));
+            write(out, "META-INF/versions/17/org/example/C.class", classFile("C", "r17"));
+            write(out, "META-INF/versions/21/org/example/B.class", classFile("B", "r21"));
+            write(out, "META-INF/versions/25/org/example/B.class", classFile("B", "r25"));
+        }
+        return jar.toPath();
+    }
+
+    private static void write(JarOutputStream out, String name, byte[] bytes) throws Exception {
+        out.putNextEntry(new ZipEntry(name));
+        out.write(bytes);
+        out.closeEntry();
+    }
+
+    private static List<MemberInfo<?>> members(ClassInfo classInfo) {
+        List<MemberInfo<?>> members = new ArrayList<>();
+        members.addAll(classInfo.getFields());
+        members.addAll(classInfo.getConstructors());
+        members.addAll(classInfo.getMethods());
+        for (MemberInfo<?> member : members) {
+            assertThat(Modifiers.isSynthetic(member.getModifiers()), equalTo(false));
+        }
+        return members;
+    }
+
+    private Path klassDirectory() throws Exception {
+        String resource = PlainClass.class.getName().replace('.', '/') + ".class";
+        return Paths.get(PlainClass.class.getClassLoader().getResource(resource).toURI()).getParent();
+    }
+
+    private List<Path> classFiles(Path directory) throws Exception {
+        try (Stream<Path> stream = Files.list(directory)) {
+            return stream.filter(file -> file.toString().endsWith(".class"))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+
+    private Path createJar(Path directory) throws Exception {
+        File jar = folder.newFile("classes.jar");
+        String prefix = PlainClass.class.getPackage().getName().replace('.', '/') + "/";
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            for (Path file : classFiles(directory)) {
+                out.putNextEntry(new ZipEntry(prefix + file.getFileName()));
+                out.write(Files.readAllBytes(file));
+                out.closeEntry();
+            }
+        }
+        return jar.toPath();
+    }
+}
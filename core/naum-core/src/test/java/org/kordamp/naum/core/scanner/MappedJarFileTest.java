@@ -0,0 +1,123 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.scanner;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MappedJarFileTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readStoredAndDeflatedEntries() throws Exception {
+        Map<String, byte[]> contents = new LinkedHashMap<>();
+        contents.put("empty.txt", new byte[0]);
+        contents.put("org/example/Small.class", bytes(128, false));
+        contents.put("org/example/Large.class", bytes(200_000, true));
+        contents.put("org/example/Random.class", bytes(50_000, false));
+        File jar = createJar(contents);
+
+        try (MappedJarFile mapped = MappedJarFile.open(jar.toPath());
+             MappedJarFile.Reader reader = new MappedJarFile.Reader();
+             ZipFile zipFile = new ZipFile(jar)) {
+            assertThat(mapped.getEntries().size(), equalTo(zipFile.size()));
+
+            for (Map.Entry<String, byte[]> e : contents.entrySet()) {
+                MappedJarFile.Entry entry = mapped.getEntry(e.getKey());
+                assertThat(entry, notNullValue());
+
+                ZipEntry zipEntry = zipFile.getEntry(e.getKey());
+                assertThat(entry.getCrc(), equalTo(zipEntry.getCrc()));
+                assertThat(entry.getSize(), equalTo(zipEntry.getSize()));
+                assertThat(entry.getMethod(), equalTo(zipEntry.getMethod()));
+
+                byte[] expected;
+                try (InputStream in = zipFile.getInputStream(zipEntry)) {
+                    expected = in.readAllBytes();
+                }
+                assertThat(reader.readAllBytes(mapped, entry), equalTo(expected));
+            }
+        }
+    }
+
+    @Test
+    public void storedEntriesAreServedFromTheMappedBuffer() throws Exception {
+        Map<String, byte[]> contents = new LinkedHashMap<>();
+        byte[] data = bytes(4096, false);
+        contents.put("org/example/Stored.class", data);
+        File jar = createJar(contents);
+
+        try (MappedJarFile mapped = MappedJarFile.open(jar.toPath())) {
+            ByteBuffer slice = mapped.slice(mapped.getEntry("org/example/Stored.class"));
+            byte[] actual = new byte[slice.remaining()];
+            slice.get(actual);
+            assertThat(actual, equalTo(data));
+        }
+    }
+
+    private File createJar(Map<String, byte[]> contents) throws Exception {
+        File jar = folder.newFile();
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar))) {
+            for (Map.Entry<String, byte[]> e : contents.entrySet()) {
+                ZipEntry entry = new ZipEntry(e.getKey());
+                if (e.getKey().contains("Stored")) {
+                    CRC32 crc = new CRC32();
+                    crc.update(e.getValue());
+                    entry.setMethod(ZipEntry.STORED);
+                    entry.setSize(e.getValue().length);
+                    entry.setCompressedSize(e.getValue().length);
+                    entry.setCrc(crc.getValue());
+                }
+                out.putNextEntry(entry);
+                out.write(e.getValue());
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private static byte[] bytes(int size, boolean compressible) {
+        byte[] bytes = new byte[size];
+        if (compressible) {
+            for (int i = 0; i < size; i++) {
+                bytes[i] = (byte) (i % 7);
+            }
+        } else {
+            new Random(size).nextBytes(bytes);
+        }
+        return bytes;
+    }
+}
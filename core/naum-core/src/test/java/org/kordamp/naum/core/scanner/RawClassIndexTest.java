@@ -0,0 +1,179 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.scanner;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kordamp.naum.core.diff.Diff;
+import org.kordamp.naum.core.processor.ClassFixtures;
+import org.kordamp.naum.core.processor.ScanProfile;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.kordamp.naum.core.diff.ArtifactDiffer.artifactDiffer;
+import static org.kordamp.naum.core.scanner.ClassScanner.classScanner;
+
+/**
+ * @author Andres Almiray
+ */
+public class RawClassIndexTest {
+    private static final int CLASSES = 50;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void onlyClassesWithDifferentBytesAreParsed() throws Exception {
+        Map<String, byte[]> previous = new LinkedHashMap<>();
+        Map<String, byte[]> next = new LinkedHashMap<>();
+        for (int i = 0; i < CLASSES; i++) {
+            previous.put("org/example/C" + i + ".class", classFile(i, "m" + i));
+            next.put("org/example/C" + i + ".class", classFile(i, i == 7 || i == 21 ? "changed" : "m" + i));
+        }
+        previous.put("org/example/C" + CLASSES + ".class", classFile(CLASSES, "m"));
+        next.put("org/example/C" + (CLASSES + 1) + ".class", classFile(CLASSES + 1, "m"));
+        Path p = jar("previous.jar", previous);
+        Path n = jar("next.jar", next);
+
+        List<Diff> expected = artifactDiffer()
+            .previous(classScanner().build().scan(p))
+            .next(classScanner().build().scan(n))
+            .build()
+            .diff();
+
+        try (RawClassIndex rp = RawClassIndex.open(p); RawClassIndex rn = RawClassIndex.open(n)) {
+            assertThat(rp.getClassNames().size(), equalTo(CLASSES + 1));
+            assertThat(rp.getHashAlgorithm(), equalTo(RawClassIndex.HASH_ALGORITHM));
+
+            List<Diff> actual = artifactDiffer().previous(rp).next(rn).parallelism(4).build().diff();
+
+            assertThat(actual, equalTo(expected));
+            assertThat(actual.size(), equalTo(6));
+            assertThat(rp.getParsedCount(), equalTo(2));
+            assertThat(rn.getParsedCount(), equalTo(2));
+        }
+    }
+
+    @Test
+    public void recompiledClassesWithTheSameApiAreNotParsed() throws Exception {
+        Map<String, byte[]> previous = new LinkedHashMap<>();
+        Map<String, byte[]> next = new LinkedHashMap<>();
+        for (int i = 0; i < CLASSES; i++) {
+            previous.put("org/example/C" + i + ".class", classFile(i, "m" + i));
+            next.put("org/example/C" + i + ".class", i % 5 == 0 ? recompiled(i, "m" + i) : classFile(i, "m" + i));
+        }
+        next.put("org/example/C3.class", recompiled(3, "changed"));
+        Path p = jar("previous.jar", previous);
+        Path n = jar("next.jar", next);
+
+        try (RawClassIndex rp = RawClassIndex.open(p); RawClassIndex rn = RawClassIndex.open(n)) {
+            List<Diff> actual = artifactDiffer().previous(rp).next(rn).parallelism(2).build().diff();
+
+            assertThat(actual.size(), equalTo(2));
+            assertThat(rp.getParsedCount(), equalTo(1));
+            assertThat(rn.getParsedCount(), equalTo(1));
+        }
+    }
+
+    @Test
+    public void hashesOfDirectoriesMatchHashesOfArchives() throws Exception {
+        Map<String, byte[]> contents = new LinkedHashMap<>();
+        contents.put("org/example/A.class", classFile(1, "a"));
+        contents.put("org/example/inner/B.class", classFile(2, "b"));
+        contents.put("META-INF/versions/9/org/example/A.class", classFile(1, "ignored"));
+        Path archive = jar("classes.jar", contents);
+        Path directory = folder.newFolder("classes").toPath();
+        for (Map.Entry<String, byte[]> e : contents.entrySet()) {
+            Path file = directory.resolve(e.getKey());
+            Files.createDirectories(file.getParent());
+            Files.write(file, e.getValue());
+        }
+
+        try (RawClassIndex a = RawClassIndex.open(archive); RawClassIndex d = RawClassIndex.open(directory)) {
+            assertThat(d.getClassNames(), equalTo(asList("org.example.A", "org.example.inner.B")));
+            assertThat(a.getClassNames(), equalTo(d.getClassNames()));
+            for (String className : a.getClassNames()) {
+                assertThat(a.getContentHash(className), equalTo(d.getContentHash(className)));
+            }
+            assertThat(a.getClassInfo("org.example.A").getName(), equalTo("org.example.C1"));
+            assertThat(a.getClassInfo("org.example.Missing"), nullValue());
+            assertThat(artifactDiffer().previous(a).next(d).build().diff().size(), equalTo(0));
+            assertThat(a.getParsedCount(), equalTo(1));
+            assertThat(d.getParsedCount(), equalTo(0));
+        }
+    }
+
+    @Test
+    public void multiReleaseJarsAreIndexedPerRelease() throws Exception {
+        Map<String, byte[]> contents = new LinkedHashMap<>();
+        contents.put("META-INF/MANIFEST.MF", "Manifest-Version: 1.0\r\nMulti-Release: true\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+        contents.put("org/example/C1.class", classFile(1, "base"));
+        contents.put("org/example/C2.class", classFile(2, "base"));
+        contents.put("META-INF/versions/11/org/example/C1.class", classFile(1, "r11"));
+        contents.put("META-INF/versions/17/org/example/C3.class", classFile(3, "r17"));
+        Path archive = jar("multi-release.jar", contents);
+
+        try (RawClassIndex base = RawClassIndex.open(archive);
+             RawClassIndex r11 = RawClassIndex.open(archive, ScanProfile.EVERYTHING, 11);
+             RawClassIndex r17 = RawClassIndex.open(archive, ScanProfile.EVERYTHING, 17)) {
+            assertThat(base.getClassNames(), equalTo(asList("org.example.C1", "org.example.C2")));
+            assertThat(r11.getClassNames(), equalTo(asList("org.example.C1", "org.example.C2")));
+            assertThat(r17.getClassNames(), equalTo(asList("org.example.C1", "org.example.C2", "org.example.C3")));
+            assertThat(base.getClassInfo("org.example.C1").getMethods().get(0).getName(), equalTo("base"));
+            assertThat(r17.getClassInfo("org.example.C1").getMethods().get(0).getName(), equalTo("r11"));
+            assertThat(r11.getContentHash("org.example.C2"), equalTo(base.getContentHash("org.example.C2")));
+            assertThat(artifactDiffer().previous(r11).next(r17).build().diff().size(), equalTo(1));
+        }
+    }
+
+    private Path jar(String name, Map<String, byte[]> contents) throws Exception {
+        Path jar = folder.getRoot().toPath().resolve(name);
+        try (OutputStream out = Files.newOutputStream(jar); ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (Map.Entry<String, byte[]> e : contents.entrySet()) {
+                zip.putNextEntry(new ZipEntry(e.getKey()));
+                zip.write(e.getValue());
+                zip.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private static byte[] classFile(int index, String method) {
+        return ClassFixtures.classFile("C" + index, method);
+    }
+
+    /**
+     * Same API as {@link #classFile(int, String)}, different bytes.
+     */
+    private static byte[] recompiled(int index, String method) {
+        return ClassFixtures.classFile("C" + index, method, writer -> writer.visitSource("C" + index + ".java", null));
+    }
+}
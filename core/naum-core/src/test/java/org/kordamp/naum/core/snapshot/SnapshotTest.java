@@ -0,0 +1,102 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.core.snapshot;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kordamp.naum.core.model.ClassIndex;
+import org.kordamp.naum.core.model.ClassInfo;
+import org.kordamp.naum.core.model.PackageInfo;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.kordamp.naum.core.diff.ArtifactDiffer.artifactDiffer;
+import static org.kordamp.naum.core.model.AnnotationInfo.annotationInfo;
+import static org.kordamp.naum.core.model.InnerClassInfo.innerClassInfo;
+import static org.kordamp.naum.core.model.PackageInfo.packageInfo;
+import static org.kordamp.naum.core.processor.ClassFixtures.scanFixtures;
+
+public class SnapshotTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void snapshotRoundTripsScannedClasses() throws Exception {
+        List<ClassInfo> classes = scanFixtures();
+        Path file = folder.getRoot().toPath().resolve("api.snapshot");
+        Snapshot.write(file, classes);
+        assertThat(Snapshot.isSnapshot(file), equalTo(true));
+        assertThat(Snapshot.isSnapshot(folder.newFile("empty.snapshot").toPath()), equalTo(false));
+        assertThat(Snapshot.isSnapshot(folder.getRoot().toPath()), equalTo(false));
+
+        try (Snapshot snapshot = Snapshot.open(file)) {
+            assertThat(snapshot.getClassNames(), equalTo(classes.stream()
+                .map(ClassInfo::getName)
+                .distinct()
+                .collect(Collectors.toList())));
+            for (ClassInfo expected : classes) {
+                assertThat(snapshot.getContentHash(expected.getName()), equalTo(expected.getContentHash()));
+                ClassInfo actual = snapshot.getClassInfo(expected.getName());
+                assertThat(actual, equalTo(expected));
+                assertThat(actual.getContentHash(), equalTo(expected.getContentHash()));
+            }
+            assertThat(snapshot.getClassInfo("does.not.Exist"), nullValue());
+        }
+    }
+
+    @Test
+    public void snapshotRoundTripsPackages() throws Exception {
+        PackageInfo packageInfo = packageInfo()
+            .name("org.example")
+            .build()
+            .addToAnnotations(annotationInfo().name("A").value("value", 42).build())
+            .addToClasses(innerClassInfo().name("org.example.Foo").modifiers(1).build());
+        Path file = folder.getRoot().toPath().resolve("package.snapshot");
+        Snapshot.write(file, Collections.emptyList(), Collections.singletonList(packageInfo));
+
+        try (Snapshot snapshot = Snapshot.open(file)) {
+            assertThat(snapshot.getClassNames(), hasSize(0));
+            assertThat(snapshot.getPackageNames(), equalTo(Collections.singletonList("org.example")));
+            assertThat(snapshot.getPackageInfo("org.example"), equalTo(packageInfo));
+            assertThat(snapshot.getPackageContentHash("org.example"), equalTo(packageInfo.getContentHash()));
+        }
+    }
+
+    @Test
+    public void snapshotDiffsCleanlyAgainstItsSource() throws Exception {
+        List<ClassInfo> classes = scanFixtures();
+        Path file = folder.getRoot().toPath().resolve("api.snapshot");
+        Snapshot.write(file, classes);
+
+        try (Snapshot snapshot = Snapshot.open(file)) {
+            assertThat(artifactDiffer()
+                .previous(snapshot)
+                .next(ClassIndex.of(classes))
+                .build()
+                .diff(), hasSize(0));
+        }
+    }
+}
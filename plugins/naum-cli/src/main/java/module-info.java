@@ -25,6 +25,10 @@ module org.kordamp.naum.cli {
     requires org.kordamp.naum.core;
     requires info.picocli;
 
+    exports org.kordamp.naum.cli.daemon to info.picocli;
+    exports org.kordamp.naum.cli.diff to info.picocli;
     exports org.kordamp.naum.cli.internal to info.picocli;
+    opens org.kordamp.naum.cli.daemon to info.picocli;
+    opens org.kordamp.naum.cli.diff to info.picocli;
     opens org.kordamp.naum.cli.internal to info.picocli;
 }
\ No newline at end of file
@@ -17,6 +17,9 @@
  */
 package org.kordamp.naum.cli;
 
+import org.kordamp.naum.cli.daemon.DaemonCommand;
+import org.kordamp.naum.cli.diff.DiffCommand;
+import org.kordamp.naum.cli.diff.FingerprintCommand;
 import org.kordamp.naum.cli.internal.Banner;
 import org.kordamp.naum.cli.internal.BaseCommand;
 import picocli.AutoComplete;
@@ -32,7 +35,10 @@ import static java.util.ResourceBundle.getBundle;
  */
 @CommandLine.Command(name = "naum",
     subcommands = {
-        AutoComplete.GenerateCompletion.class})
+        AutoComplete.GenerateCompletion.class,
+        DaemonCommand.class,
+        DiffCommand.class,
+        FingerprintCommand.class})
 public class Main extends BaseCommand implements Runnable, IO {
     private PrintWriter out;
     private PrintWriter err;
@@ -69,11 +75,7 @@ public class Main extends BaseCommand implements Runnable, IO {
 
     public static int run(String... args) {
         Main cmd = new Main();
-        CommandLine commandLine = new CommandLine(cmd);
-        commandLine.setCaseInsensitiveEnumValuesAllowed(true);
-        commandLine.setUsageHelpWidth(90);
-        commandLine.setUsageHelpLongOptionsMaxWidth(42);
-        commandLine.setResourceBundle(getBundle("org.kordamp.naum.cli.internal.Messages"));
+        CommandLine commandLine = commandLine(cmd);
         cmd.out = commandLine.getOut();
         cmd.err = commandLine.getErr();
         return execute(commandLine, args);
@@ -81,11 +83,7 @@ public class Main extends BaseCommand implements Runnable, IO {
 
     public static int run(PrintWriter out, PrintWriter err, String... args) {
         Main cmd = new Main();
-        CommandLine commandLine = new CommandLine(cmd);
-        commandLine.setCaseInsensitiveEnumValuesAllowed(true);
-        commandLine.setUsageHelpWidth(90);
-        commandLine.setUsageHelpLongOptionsMaxWidth(42);
-        commandLine.setResourceBundle(getBundle("org.kordamp.naum.cli.internal.Messages"));
+        CommandLine commandLine = commandLine(cmd);
         commandLine.setOut(out);
         commandLine.setErr(err);
         cmd.out = out;
@@ -93,6 +91,15 @@ public class Main extends BaseCommand implements Runnable, IO {
         return execute(commandLine, args);
     }
 
+    private static CommandLine commandLine(Main cmd) {
+        CommandLine commandLine = new CommandLine(cmd);
+        commandLine.setCaseInsensitiveEnumValuesAllowed(true);
+        commandLine.setUsageHelpWidth(90);
+        commandLine.setUsageHelpLongOptionsMaxWidth(42);
+        commandLine.setResourceBundle(getBundle("org.kordamp.naum.cli.internal.Messages"));
+        return commandLine;
+    }
+
     private static int execute(CommandLine commandLine, String[] args) {
         return commandLine.execute(args);
     }
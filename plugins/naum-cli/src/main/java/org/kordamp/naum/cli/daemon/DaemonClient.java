@@ -0,0 +1,159 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.cli.daemon;
+
+import org.kordamp.naum.core.NaumException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+import static org.kordamp.naum.cli.daemon.DaemonServer.FRAME_ERR;
+import static org.kordamp.naum.cli.daemon.DaemonServer.FRAME_EXIT;
+import static org.kordamp.naum.cli.daemon.DaemonServer.FRAME_OUT;
+import static org.kordamp.naum.cli.daemon.DaemonServer.MAX_ARGS;
+import static org.kordamp.naum.cli.daemon.DaemonServer.OP_RUN;
+import static org.kordamp.naum.cli.daemon.DaemonServer.OP_STATUS;
+import static org.kordamp.naum.cli.daemon.DaemonServer.OP_STOP;
+
+/**
+ * Submits commands to a running {@link DaemonServer} and relays their output.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+public final class DaemonClient {
+    private static final int CONNECT_TIMEOUT = 1_000;
+
+    private final int port;
+    private final String token;
+
+    private DaemonClient(int port, String token) {
+        this.port = port;
+        this.token = token;
+    }
+
+    /**
+     * @return a client for the running daemon or {@code null} if no daemon is reachable.
+     */
+    public static DaemonClient locate() {
+        return locate(DaemonServer.stateFile());
+    }
+
+    /**
+     * @return a client for the daemon published in the given file or {@code null} if it is not reachable.
+     */
+    static DaemonClient locate(Path stateFile) {
+        Properties state = DaemonServer.readState(stateFile);
+        if (state == null) {
+            return null;
+        }
+
+        DaemonClient client;
+        try {
+            client = new DaemonClient(DaemonServer.portOf(state), DaemonServer.tokenOf(state));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        try {
+            client.connect().close();
+            return client;
+        } catch (IOException e) {
+            // stale state file
+            return null;
+        }
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public int run(PrintWriter out, PrintWriter err, List<String> args) {
+        if (args.size() > MAX_ARGS) {
+            throw new NaumException("Too many arguments for the daemon: " + args.size());
+        }
+        return call(OP_RUN, args, out, err);
+    }
+
+    public int status(PrintWriter out, PrintWriter err) {
+        return call(OP_STATUS, null, out, err);
+    }
+
+    public int stop(PrintWriter out, PrintWriter err) {
+        return call(OP_STOP, null, out, err);
+    }
+
+    private int call(String op, List<String> args, PrintWriter out, PrintWriter err) {
+        try (Socket socket = connect()) {
+            DataOutputStream request = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            request.writeUTF(token);
+            request.writeUTF(op);
+            if (args != null) {
+                request.writeInt(args.size());
+                for (String arg : args) {
+                    request.writeUTF(arg);
+                }
+            }
+            request.flush();
+
+            DataInputStream response = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            while (true) {
+                int kind = response.readUnsignedByte();
+                if (kind == FRAME_EXIT) {
+                    return response.readInt();
+                }
+                if (kind != FRAME_OUT && kind != FRAME_ERR) {
+                    throw new NaumException("Unexpected frame " + kind + " from daemon on port " + port);
+                }
+                byte[] bytes = new byte[response.readInt()];
+                response.readFully(bytes);
+                PrintWriter writer = kind == FRAME_ERR ? err : out;
+                writer.print(new String(bytes, StandardCharsets.UTF_8));
+                writer.flush();
+            }
+        } catch (IOException e) {
+            throw new NaumException("Unexpected error talking to daemon on port " + port, e);
+        }
+    }
+
+    private Socket connect() throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), CONNECT_TIMEOUT);
+            return socket;
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DaemonClient(port=" + port + ")";
+    }
+}
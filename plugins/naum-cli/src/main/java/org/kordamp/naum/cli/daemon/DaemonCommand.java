@@ -0,0 +1,91 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.cli.daemon;
+
+import org.kordamp.naum.cli.Main;
+import org.kordamp.naum.cli.internal.AbstractNaumCommand;
+import org.kordamp.naum.core.NaumException;
+import picocli.CommandLine;
+
+import java.io.PrintWriter;
+
+/**
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+@CommandLine.Command(name = "daemon")
+public class DaemonCommand extends AbstractNaumCommand<Main> {
+    public enum Action {
+        START,
+        STOP,
+        STATUS
+    }
+
+    @CommandLine.Parameters(index = "0", arity = "0..1", paramLabel = "<action>", descriptionKey = "daemon.action")
+    public Action action = Action.STATUS;
+
+    @CommandLine.Option(names = "--port", paramLabel = "<port>", descriptionKey = "daemon.port")
+    public int port;
+
+    @CommandLine.Option(names = "--threads", paramLabel = "<threads>", descriptionKey = "daemon.threads")
+    public int threads = Runtime.getRuntime().availableProcessors();
+
+    @CommandLine.Option(names = "--cache-size", paramLabel = "<size>", descriptionKey = "daemon.cache-size")
+    public int cacheSize = 64;
+
+    @Override
+    protected int execute() {
+        PrintWriter out = parent().getOut();
+        PrintWriter err = parent().getErr();
+        DaemonClient client = DaemonClient.locate();
+
+        switch (action) {
+            case START:
+                if (client != null) {
+                    throw new NaumException($("ERROR_DAEMON_RUNNING", client.getPort()));
+                }
+                if (threads < 1 || cacheSize < 1) {
+                    throw new NaumException($("ERROR_DAEMON_INVALID"));
+                }
+                DaemonServer server = DaemonServer.start(port, threads, cacheSize);
+                Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+                out.println($("daemon.started", String.valueOf(server.getPort()), DaemonServer.stateFile()));
+                out.flush();
+                try {
+                    server.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    server.close();
+                }
+                return 0;
+            case STOP:
+                if (client == null) {
+                    out.println($("daemon.not.running"));
+                    return 1;
+                }
+                return client.stop(out, err);
+            case STATUS:
+            default:
+                if (client == null) {
+                    out.println($("daemon.not.running"));
+                    return 1;
+                }
+                return client.status(out, err);
+        }
+    }
+}
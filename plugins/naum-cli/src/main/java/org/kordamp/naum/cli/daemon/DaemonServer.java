@@ -0,0 +1,323 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.cli.daemon;
+
+import org.kordamp.naum.cli.Main;
+import org.kordamp.naum.cli.diff.ClassIndexes;
+import org.kordamp.naum.core.NaumException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a warm JVM that runs naum commands on behalf of {@link DaemonClient}s. The server
+ * listens on the loopback interface only; its port and a random token are published in
+ * a file readable by the current user alone, requests without the token are rejected.
+ * <p>
+ * Protocol, all numbers big-endian: the client sends the token, an operation and, for
+ * {@link #OP_RUN}, the command arguments. The server answers with {@link #FRAME_OUT} and
+ * {@link #FRAME_ERR} frames followed by a single {@link #FRAME_EXIT} frame.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+public final class DaemonServer implements Closeable {
+    static final String OP_RUN = "run";
+    static final String OP_STATUS = "status";
+    static final String OP_STOP = "stop";
+    static final int FRAME_OUT = 1;
+    static final int FRAME_ERR = 2;
+    static final int FRAME_EXIT = 3;
+    static final int MAX_ARGS = 1024;
+
+    private static final String KEY_PORT = "port";
+    private static final String KEY_TOKEN = "token";
+    private static final String KEY_PID = "pid";
+    private static final int READ_TIMEOUT = 30_000;
+
+    private final ServerSocket socket;
+    private final byte[] token;
+    private final Path stateFile;
+    private final ExecutorService workers;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final long startTime = System.currentTimeMillis();
+
+    private DaemonServer(ServerSocket socket, byte[] token, Path stateFile, int threads) {
+        this.socket = socket;
+        this.token = token;
+        this.stateFile = stateFile;
+        this.workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "naum-daemon-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a daemon listening on the given loopback port, {@code 0} picks a free one.
+     */
+    public static DaemonServer start(int port, int threads, int cacheSize) {
+        return start(port, threads, cacheSize, stateFile());
+    }
+
+    /**
+     * Starts a daemon that publishes its port and token to the given file.
+     */
+    static DaemonServer start(int port, int threads, int cacheSize, Path stateFile) {
+        ServerSocket socket = null;
+        try {
+            socket = new ServerSocket();
+            socket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            byte[] token = new byte[32];
+            new SecureRandom().nextBytes(token);
+            DaemonServer server = new DaemonServer(socket, token, stateFile, threads);
+            server.publish();
+
+            ClassIndexes.install(ClassIndexes.warm(cacheSize));
+            Thread acceptor = new Thread(server::accept, "naum-daemon-acceptor");
+            acceptor.setDaemon(true);
+            acceptor.start();
+            return server;
+        } catch (IOException e) {
+            if (socket != null) {
+                try {
+                    socket.close();
+                } catch (IOException ignored) {
+                    // best effort
+                }
+            }
+            throw new NaumException("Unexpected error starting daemon on port " + port, e);
+        }
+    }
+
+    /**
+     * File where a running daemon publishes its port and token.
+     */
+    public static Path stateFile() {
+        return Paths.get(System.getProperty("user.home"), ".naum", "daemon.properties");
+    }
+
+    static Properties readState(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            return null;
+        }
+        return properties.containsKey(KEY_PORT) && properties.containsKey(KEY_TOKEN) ? properties : null;
+    }
+
+    static int portOf(Properties state) {
+        return Integer.parseInt(state.getProperty(KEY_PORT));
+    }
+
+    static String tokenOf(Properties state) {
+        return state.getProperty(KEY_TOKEN);
+    }
+
+    public int getPort() {
+        return socket.getLocalPort();
+    }
+
+    /**
+     * Blocks until the daemon is stopped.
+     */
+    public void await() throws InterruptedException {
+        stopped.await();
+    }
+
+    @Override
+    public void close() {
+        if (stopped.getCount() == 0) {
+            return;
+        }
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // best effort
+        }
+        workers.shutdown();
+        try {
+            Properties state = readState(stateFile);
+            if (state != null && tokenOf(state).equals(hex(token))) {
+                Files.deleteIfExists(stateFile);
+            }
+        } catch (IOException ignored) {
+            // best effort
+        }
+        stopped.countDown();
+    }
+
+    private void publish() throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(KEY_PORT, String.valueOf(getPort()));
+        properties.setProperty(KEY_TOKEN, hex(token));
+        properties.setProperty(KEY_PID, String.valueOf(ProcessHandle.current().pid()));
+
+        Path parent = stateFile.getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, "daemon", ".tmp");
+        try {
+            if (parent.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+                Files.setPosixFilePermissions(tmp, PosixFilePermissions.fromString("rw-------"));
+            }
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                properties.store(out, "naum daemon");
+            }
+            Files.move(tmp, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private void accept() {
+        while (!socket.isClosed()) {
+            try {
+                Socket client = socket.accept();
+                workers.execute(() -> handle(client));
+            } catch (SocketException e) {
+                // closed
+                break;
+            } catch (IOException e) {
+                // keep serving other clients
+            }
+        }
+    }
+
+    private void handle(Socket client) {
+        try (Socket s = client) {
+            s.setSoTimeout(READ_TIMEOUT);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+
+            byte[] presented = in.readUTF().getBytes(StandardCharsets.US_ASCII);
+            if (!MessageDigest.isEqual(presented, hex(token).getBytes(StandardCharsets.US_ASCII))) {
+                reply(out, FRAME_ERR, "Invalid daemon token");
+                exit(out, 1);
+                return;
+            }
+
+            String op = in.readUTF();
+            if (OP_STOP.equals(op)) {
+                exit(out, 0);
+                close();
+            } else if (OP_STATUS.equals(op)) {
+                reply(out, FRAME_OUT, "pid=" + ProcessHandle.current().pid() +
+                    " port=" + getPort() +
+                    " uptime=" + (System.currentTimeMillis() - startTime) / 1000 + "s" +
+                    " running=" + running.get() +
+                    " completed=" + completed.get() +
+                    " indexes=" + ClassIndexes.current() + System.lineSeparator());
+                exit(out, 0);
+            } else if (OP_RUN.equals(op)) {
+                int count = in.readInt();
+                if (count < 0 || count > MAX_ARGS) {
+                    reply(out, FRAME_ERR, "Invalid argument count " + count);
+                    exit(out, 1);
+                    return;
+                }
+                String[] args = new String[count];
+                for (int i = 0; i < count; i++) {
+                    args[i] = in.readUTF();
+                }
+                exit(out, run(out, args));
+            } else {
+                reply(out, FRAME_ERR, "Unknown operation " + op);
+                exit(out, 1);
+            }
+        } catch (IOException e) {
+            // client went away
+        }
+    }
+
+    private int run(DataOutputStream out, String[] args) throws IOException {
+        running.incrementAndGet();
+        PrintWriter stdout = new PrintWriter(new FrameWriter(out, FRAME_OUT), true);
+        PrintWriter stderr = new PrintWriter(new FrameWriter(out, FRAME_ERR), true);
+        try {
+            return Main.run(stdout, stderr, args);
+        } finally {
+            stdout.flush();
+            stderr.flush();
+            running.decrementAndGet();
+            completed.incrementAndGet();
+        }
+    }
+
+    private static void reply(DataOutputStream out, int kind, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        synchronized (out) {
+            out.writeByte(kind);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static void exit(DataOutputStream out, int code) throws IOException {
+        synchronized (out) {
+            out.writeByte(FRAME_EXIT);
+            out.writeInt(code);
+            out.flush();
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder b = new StringBuilder(bytes.length * 2);
+        for (byte v : bytes) {
+            b.append(Character.forDigit((v >> 4) & 0xF, 16))
+                .append(Character.forDigit(v & 0xF, 16));
+        }
+        return b.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "DaemonServer(port=" + getPort() + ")";
+    }
+}
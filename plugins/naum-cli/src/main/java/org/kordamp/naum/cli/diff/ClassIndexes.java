@@ -0,0 +1,134 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.cli.diff;
+
+import org.kordamp.naum.core.NaumException;
+import org.kordamp.naum.core.model.ClassIndex;
+import org.kordamp.naum.core.processor.ScanProfile;
+import org.kordamp.naum.core.scanner.IncrementalScanner;
+import org.kordamp.naum.core.scanner.RawClassIndex;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.kordamp.naum.core.scanner.ClassScanner.classScanner;
+import static org.kordamp.naum.core.scanner.IncrementalScanner.incrementalScanner;
+
+/**
+ * Turns JARs and directories into class indexes. The default instance opens a
+ * {@link RawClassIndex} on every request, classes are parsed only when their bytes
+ * differ from the other side of a diff; indexes it returns must be closed. A warm
+ * instance, installed by the daemon, remembers indexes of archives by path, size,
+ * modification time, scan profile and release, and rescans directories incrementally.
+ * Releases only apply to multi-release JARs.
+ *
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+public final class ClassIndexes {
+    private static volatile ClassIndexes current = new ClassIndexes(0);
+
+    private final Map<String, ClassIndex> archives;
+    private final Map<String, IncrementalScanner> directories;
+
+    private ClassIndexes(int capacity) {
+        this.archives = capacity > 0 ? lru(capacity) : null;
+        this.directories = capacity > 0 ? lru(capacity) : null;
+    }
+
+    public static ClassIndexes current() {
+        return current;
+    }
+
+    public static void install(ClassIndexes indexes) {
+        current = indexes;
+    }
+
+    /**
+     * @param capacity number of archives and of directories to remember, least recently used first out.
+     */
+    public static ClassIndexes warm(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be greater than 0");
+        }
+        return new ClassIndexes(capacity);
+    }
+
+    public ClassIndex scan(Path path, int threads, ScanProfile profile, int release) {
+        if (archives == null) {
+            return RawClassIndex.open(path, profile, release);
+        }
+
+        if (Files.isDirectory(path)) {
+            Path directory = path.toAbsolutePath().normalize();
+            IncrementalScanner scanner;
+            synchronized (directories) {
+                scanner = directories.computeIfAbsent(directory + "|" + profile,
+                    k -> incrementalScanner().parallelism(threads).profile(profile).build());
+            }
+            return ClassIndex.of(scanner.scan(directory));
+        }
+
+        String key = keyOf(path) + "|" + profile + "|" + release;
+        ClassIndex index;
+        synchronized (archives) {
+            index = archives.get(key);
+        }
+        if (index == null) {
+            index = ClassIndex.of(classScanner().parallelism(threads).profile(profile).release(release).build().scan(path));
+            synchronized (archives) {
+                archives.put(key, index);
+            }
+        }
+        return index;
+    }
+
+    private static String keyOf(Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return path.toAbsolutePath().normalize() + "|" + attributes.size() + "|" + attributes.lastModifiedTime().toMillis();
+        } catch (IOException e) {
+            throw new NaumException("Unexpected error reading attributes of " + path, e);
+        }
+    }
+
+    private static <K, V> Map<K, V> lru(int capacity) {
+        return new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        if (archives == null) {
+            return "ClassIndexes(cold)";
+        }
+        synchronized (archives) {
+            synchronized (directories) {
+                return "ClassIndexes(archives=" + archives.size() + ", directories=" + directories.size() + ")";
+            }
+        }
+    }
+}
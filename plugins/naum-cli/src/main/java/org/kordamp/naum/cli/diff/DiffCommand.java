@@ -0,0 +1,158 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.cli.diff;
+
+import org.kordamp.naum.cli.Main;
+import org.kordamp.naum.cli.daemon.DaemonClient;
+import org.kordamp.naum.cli.internal.AbstractNaumCommand;
+import org.kordamp.naum.core.NaumException;
+import org.kordamp.naum.core.diff.CompatibilityGate;
+import org.kordamp.naum.core.diff.Diff;
+import org.kordamp.naum.core.diff.DiffListener;
+import org.kordamp.naum.core.diff.DiffReportWriter;
+import org.kordamp.naum.core.model.ClassIndex;
+import org.kordamp.naum.core.processor.ScanProfile;
+import org.kordamp.naum.core.snapshot.Snapshot;
+import picocli.CommandLine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.util.Arrays.asList;
+import static org.kordamp.naum.core.diff.ArtifactDiffer.artifactDiffer;
+import static org.kordamp.naum.core.diff.CompatibilityGate.compatibilityGate;
+
+/**
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+@CommandLine.Command(name = "diff")
+public class DiffCommand extends AbstractNaumCommand<Main> {
+    public static final int EXIT_VIOLATIONS = 2;
+
+    public enum Format {
+        TEXT,
+        JSON
+    }
+
+    @CommandLine.Parameters(index = "0", paramLabel = "<previous>", descriptionKey = "diff.previous")
+    public Path previous;
+
+    @CommandLine.Parameters(index = "1", paramLabel = "<next>", descriptionKey = "diff.next")
+    public Path next;
+
+    @CommandLine.Option(names = "--threads", paramLabel = "<threads>", descriptionKey = "diff.threads")
+    public int threads = Runtime.getRuntime().availableProcessors();
+
+    @CommandLine.Option(names = "--fail-on", paramLabel = "<severity>", descriptionKey = "diff.fail-on")
+    public Diff.Severity failOn = Diff.Severity.ERROR;
+
+    @CommandLine.Option(names = "--format", paramLabel = "<format>", descriptionKey = "diff.format")
+    public Format format = Format.TEXT;
+
+    @CommandLine.Option(names = "--profile", paramLabel = "<profile>", descriptionKey = "diff.profile")
+    public ScanProfile profile = ScanProfile.EVERYTHING;
+
+    @CommandLine.Option(names = "--release", paramLabel = "<release>", descriptionKey = "diff.release")
+    public int release;
+
+    @CommandLine.Option(names = "--daemon", descriptionKey = "diff.daemon")
+    public boolean daemon;
+
+    @Override
+    protected int execute() {
+        if (threads < 1) {
+            throw new NaumException($("ERROR_THREADS_INVALID", threads));
+        }
+        if (release < 0) {
+            throw new NaumException($("ERROR_RELEASE_INVALID", release));
+        }
+
+        PrintWriter out = parent().getOut();
+        if (daemon) {
+            DaemonClient client = DaemonClient.locate();
+            if (client != null) {
+                // the daemon runs in another working directory
+                return client.run(out, parent().getErr(), asList("diff",
+                    "--threads=" + threads,
+                    "--fail-on=" + failOn,
+                    "--format=" + format,
+                    "--profile=" + profile,
+                    "--release=" + release,
+                    previous.toAbsolutePath().toString(),
+                    next.toAbsolutePath().toString()));
+            }
+        }
+
+        CompatibilityGate gate = compatibilityGate(failOn);
+        DiffListener printer = diff -> {
+            if (format == Format.JSON) {
+                out.println(DiffReportWriter.toJson(diff));
+            } else {
+                out.println("[" + diff.getSeverity() + "] " + diff.getMessage());
+            }
+            out.flush();
+            gate.onChange(diff.getSeverity());
+        };
+
+        ClassIndex p = null;
+        ClassIndex n = null;
+        try {
+            p = load(previous);
+            n = load(next);
+            artifactDiffer()
+                .previous(p)
+                .next(n)
+                .parallelism(threads)
+                .build()
+                .diff(printer);
+        } finally {
+            close(p);
+            close(n);
+        }
+
+        return gate.isPassed() ? 0 : EXIT_VIOLATIONS;
+    }
+
+    private ClassIndex load(Path path) {
+        if (!Files.exists(path)) {
+            throw new NaumException($("ERROR_PATH_DOES_NOT_EXIST", path));
+        }
+        if (Snapshot.isSnapshot(path)) {
+            try {
+                return Snapshot.open(path);
+            } catch (IOException e) {
+                throw new NaumException($("ERROR_UNEXPECTED_READ", path), e);
+            }
+        }
+        return ClassIndexes.current().scan(path, threads, profile, release);
+    }
+
+    private static void close(ClassIndex index) {
+        if (index instanceof Closeable) {
+            try {
+                ((Closeable) index).close();
+            } catch (IOException ignored) {
+                // best effort
+            }
+        }
+    }
+}
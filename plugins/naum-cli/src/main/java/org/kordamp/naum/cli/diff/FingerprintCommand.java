@@ -0,0 +1,97 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.cli.diff;
+
+import org.kordamp.naum.cli.Main;
+import org.kordamp.naum.cli.internal.AbstractNaumCommand;
+import org.kordamp.naum.core.NaumException;
+import org.kordamp.naum.core.model.ApiTree;
+import org.kordamp.naum.core.model.ClassIndex;
+import org.kordamp.naum.core.processor.ScanProfile;
+import org.kordamp.naum.core.snapshot.Snapshot;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.kordamp.naum.core.scanner.ClassScanner.classScanner;
+
+/**
+ * @author Andres Almiray
+ * @since 0.1.0
+ */
+@CommandLine.Command(name = "fingerprint")
+public class FingerprintCommand extends AbstractNaumCommand<Main> {
+    private static final String DEFAULT_PACKAGE = "<default>";
+
+    @CommandLine.Parameters(arity = "1..*", paramLabel = "<path>", descriptionKey = "fingerprint.paths")
+    public List<Path> paths;
+
+    @CommandLine.Option(names = "--threads", paramLabel = "<threads>", descriptionKey = "fingerprint.threads")
+    public int threads = Runtime.getRuntime().availableProcessors();
+
+    @CommandLine.Option(names = "--profile", paramLabel = "<profile>", descriptionKey = "fingerprint.profile")
+    public ScanProfile profile = ScanProfile.PROTECTED;
+
+    @CommandLine.Option(names = "--release", paramLabel = "<release>", descriptionKey = "fingerprint.release")
+    public int release;
+
+    @CommandLine.Option(names = "--packages", descriptionKey = "fingerprint.packages")
+    public boolean packages;
+
+    @Override
+    protected int execute() {
+        if (threads < 1) {
+            throw new NaumException($("ERROR_THREADS_INVALID", threads));
+        }
+        if (release < 0) {
+            throw new NaumException($("ERROR_RELEASE_INVALID", release));
+        }
+
+        PrintWriter out = parent().getOut();
+        for (Path path : paths) {
+            ApiTree tree = load(path);
+            out.println(tree.getHash() + "  " + path);
+            if (packages) {
+                for (ApiTree.PackageNode node : tree.getPackages()) {
+                    out.println("  " + node.getHash() + "  " + (node.getName().isEmpty() ? DEFAULT_PACKAGE : node.getName()));
+                }
+            }
+            out.flush();
+        }
+        return 0;
+    }
+
+    private ApiTree load(Path path) {
+        if (!Files.exists(path)) {
+            throw new NaumException($("ERROR_PATH_DOES_NOT_EXIST", path));
+        }
+        if (Snapshot.isSnapshot(path)) {
+            // hashes are read from the index, no class is materialized
+            try (Snapshot snapshot = Snapshot.open(path)) {
+                return ApiTree.of(snapshot);
+            } catch (IOException e) {
+                throw new NaumException($("ERROR_UNEXPECTED_READ", path), e);
+            }
+        }
+        return ApiTree.of(ClassIndex.of(classScanner().parallelism(threads).profile(profile).release(release).build().scan(path)));
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.cli.daemon;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kordamp.naum.cli.diff.ClassIndexes;
+import org.kordamp.naum.core.NaumException;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.kordamp.naum.cli.daemon.DaemonServer.FRAME_ERR;
+import static org.kordamp.naum.cli.daemon.DaemonServer.FRAME_EXIT;
+import static org.kordamp.naum.cli.daemon.DaemonServer.MAX_ARGS;
+import static org.kordamp.naum.cli.daemon.DaemonServer.OP_RUN;
+
+/**
+ * @author Andres Almiray
+ */
+public class DaemonServerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ClassIndexes indexes;
+    private Path stateFile;
+    private DaemonServer server;
+
+    @Before
+    public void startDaemon() throws Exception {
+        indexes = ClassIndexes.current();
+        stateFile = folder.getRoot().toPath().resolve("naum").resolve("daemon.properties");
+        server = DaemonServer.start(0, 2, 4, stateFile);
+    }
+
+    @After
+    public void stopDaemon() {
+        server.close();
+        ClassIndexes.install(indexes);
+    }
+
+    @Test
+    public void publishesPortAndTokenToTheStateFile() {
+        Properties state = DaemonServer.readState(stateFile);
+        assertThat(state, notNullValue());
+        assertThat(DaemonServer.portOf(state), equalTo(server.getPort()));
+        assertThat(DaemonServer.tokenOf(state).length(), equalTo(64));
+    }
+
+    @Test
+    public void rejectsRequestsWithAWrongToken() throws Exception {
+        Properties state = new Properties();
+        state.setProperty("port", String.valueOf(server.getPort()));
+        state.setProperty("token", "0123456789abcdef");
+        Path forged = folder.newFile("forged.properties").toPath();
+        try (OutputStream out = Files.newOutputStream(forged)) {
+            state.store(out, null);
+        }
+
+        DaemonClient client = DaemonClient.locate(forged);
+        assertThat(client, notNullValue());
+
+        StringWriter out = new StringWriter();
+        StringWriter err = new StringWriter();
+        assertThat(client.status(new PrintWriter(out), new PrintWriter(err)), equalTo(1));
+        assertThat(out.toString(), equalTo(""));
+        assertThat(err.toString(), equalTo("Invalid daemon token"));
+    }
+
+    @Test(expected = NaumException.class)
+    public void clientRefusesTooManyArguments() {
+        DaemonClient client = DaemonClient.locate(stateFile);
+        client.run(new PrintWriter(new StringWriter()), new PrintWriter(new StringWriter()),
+            Collections.nCopies(MAX_ARGS + 1, "--help"));
+    }
+
+    @Test
+    public void serverRejectsTooManyArguments() throws Exception {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            DataOutputStream request = new DataOutputStream(socket.getOutputStream());
+            request.writeUTF(DaemonServer.tokenOf(DaemonServer.readState(stateFile)));
+            request.writeUTF(OP_RUN);
+            request.writeInt(MAX_ARGS + 1);
+            request.flush();
+
+            DataInputStream response = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            assertThat(response.readUnsignedByte(), equalTo(FRAME_ERR));
+            byte[] bytes = new byte[response.readInt()];
+            response.readFully(bytes);
+            assertThat(new String(bytes, StandardCharsets.UTF_8), equalTo("Invalid argument count " + (MAX_ARGS + 1)));
+            assertThat(response.readUnsignedByte(), equalTo(FRAME_EXIT));
+            assertThat(response.readInt(), equalTo(1));
+        }
+    }
+
+    @Test
+    public void reportsStatusAndStops() throws Exception {
+        DaemonClient client = DaemonClient.locate(stateFile);
+        assertThat(client, notNullValue());
+        assertThat(client.getPort(), equalTo(server.getPort()));
+
+        StringWriter out = new StringWriter();
+        assertThat(client.status(new PrintWriter(out), new PrintWriter(new StringWriter())), equalTo(0));
+        assertThat(out.toString(), containsString(" port=" + server.getPort() + " "));
+        assertThat(out.toString(), containsString(" indexes=ClassIndexes(archives=0, directories=0)"));
+
+        assertThat(client.stop(new PrintWriter(new StringWriter()), new PrintWriter(new StringWriter())), equalTo(0));
+        server.await();
+        assertThat(Files.exists(stateFile), equalTo(false));
+        assertThat(DaemonClient.locate(stateFile), nullValue());
+    }
+
+    @Test
+    public void runsCommandsWithWarmIndexes() throws Exception {
+        DaemonClient client = DaemonClient.locate(stateFile);
+
+        List<String> args = new ArrayList<>();
+        args.add("diff");
+        args.add(folder.newFolder("previous").getAbsolutePath());
+        args.add(folder.newFolder("next").getAbsolutePath());
+        StringWriter out = new StringWriter();
+        StringWriter err = new StringWriter();
+        assertThat(client.run(new PrintWriter(out), new PrintWriter(err), args), equalTo(0));
+        assertThat(err.toString(), equalTo(""));
+
+        out = new StringWriter();
+        assertThat(client.status(new PrintWriter(out), new PrintWriter(err)), equalTo(0));
+        assertThat(out.toString(), containsString(" completed=1 indexes=ClassIndexes(archives=0, directories=2)"));
+    }
+}
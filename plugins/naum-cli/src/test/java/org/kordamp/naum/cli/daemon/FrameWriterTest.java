@@ -0,0 +1,108 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.cli.daemon;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.kordamp.naum.cli.daemon.DaemonServer.FRAME_ERR;
+import static org.kordamp.naum.cli.daemon.DaemonServer.FRAME_OUT;
+
+/**
+ * @author Andres Almiray
+ */
+public class FrameWriterTest {
+    private static final int LINES = 2000;
+
+    @Test
+    public void concurrentFramesAreNotInterleaved() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        CountDownLatch ready = new CountDownLatch(1);
+
+        Thread stdout = writer(new FrameWriter(out, FRAME_OUT), 'o', ready);
+        Thread stderr = writer(new FrameWriter(out, FRAME_ERR), 'e', ready);
+        stdout.start();
+        stderr.start();
+        ready.countDown();
+        stdout.join();
+        stderr.join();
+
+        StringBuilder o = new StringBuilder();
+        StringBuilder e = new StringBuilder();
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        int frames = 0;
+        while (in.available() > 0) {
+            int kind = in.readUnsignedByte();
+            byte[] frame = new byte[in.readInt()];
+            in.readFully(frame);
+            String text = new String(frame, StandardCharsets.UTF_8);
+            // every frame holds whole lines of a single writer
+            assertThat(text.endsWith("\n"), equalTo(true));
+            assertThat(text.replace(kind == FRAME_OUT ? "o" : "e", "").replace("\n", ""), equalTo(""));
+            (kind == FRAME_OUT ? o : e).append(text);
+            frames++;
+        }
+
+        assertThat(frames, equalTo(2 * LINES));
+        assertThat(o.toString(), equalTo(expected('o')));
+        assertThat(e.toString(), equalTo(expected('e')));
+    }
+
+    private static Thread writer(FrameWriter frameWriter, char c, CountDownLatch ready) {
+        return new Thread(() -> {
+            PrintWriter writer = new PrintWriter(frameWriter);
+            try {
+                ready.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            String line = line(c);
+            for (int i = 0; i < LINES; i++) {
+                writer.print(line);
+                writer.print('\n');
+                writer.flush();
+            }
+        });
+    }
+
+    private static String line(char c) {
+        char[] chars = new char[100];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    private static String expected(char c) {
+        StringBuilder b = new StringBuilder();
+        for (int i = 0; i < LINES; i++) {
+            b.append(line(c)).append('\n');
+        }
+        return b.toString();
+    }
+}
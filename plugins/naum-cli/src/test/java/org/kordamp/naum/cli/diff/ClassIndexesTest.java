@@ -0,0 +1,92 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2016-2023 The Naum authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kordamp.naum.cli.diff;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kordamp.naum.core.model.ClassIndex;
+import org.kordamp.naum.core.processor.ScanProfile;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author Andres Almiray
+ */
+public class ClassIndexesTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void warmIndexesAreReusedUntilTheArchiveChanges() throws Exception {
+        ClassIndexes indexes = ClassIndexes.warm(4);
+        Path jar = folder.getRoot().toPath().resolve("lib.jar");
+        FileTime modified = FileTime.fromMillis(1_600_000_000_000L);
+
+        jar(jar, ClassIndexes.class);
+        Files.setLastModifiedTime(jar, modified);
+        ClassIndex first = indexes.scan(jar, 1, ScanProfile.EVERYTHING, 0);
+        assertThat(first.getClassNames(), equalTo(asList(ClassIndexes.class.getName())));
+        assertThat(indexes.scan(jar, 1, ScanProfile.EVERYTHING, 0), sameInstance(first));
+        assertThat(indexes.scan(jar, 1, ScanProfile.PUBLIC, 0), not(sameInstance(first)));
+
+        // same size, different modification time
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(modified.toMillis() + 10_000L));
+        ClassIndex touched = indexes.scan(jar, 1, ScanProfile.EVERYTHING, 0);
+        assertThat(touched, not(sameInstance(first)));
+        assertThat(touched.getClassNames(), equalTo(first.getClassNames()));
+
+        // different size, same modification time
+        jar(jar, ClassIndexes.class, DiffCommand.class);
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(modified.toMillis() + 10_000L));
+        ClassIndex grown = indexes.scan(jar, 1, ScanProfile.EVERYTHING, 0);
+        assertThat(grown, not(sameInstance(touched)));
+        assertThat(grown.getClassNames(), equalTo(asList(ClassIndexes.class.getName(), DiffCommand.class.getName())));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void warmIndexesRequireCapacity() {
+        ClassIndexes.warm(0);
+    }
+
+    private static void jar(Path jar, Class<?>... classes) throws Exception {
+        try (OutputStream out = Files.newOutputStream(jar);
+             JarOutputStream zip = new JarOutputStream(out)) {
+            for (Class<?> type : classes) {
+                String name = type.getName().replace('.', '/') + ".class";
+                zip.putNextEntry(new JarEntry(name));
+                try (InputStream in = type.getClassLoader().getResourceAsStream(name)) {
+                    in.transferTo(zip);
+                }
+                zip.closeEntry();
+            }
+        }
+    }
+}